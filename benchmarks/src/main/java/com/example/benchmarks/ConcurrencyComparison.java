@@ -0,0 +1,175 @@
+package com.example.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load against a running dna-demo: each simulated client posts a matrix to
+ * {@code /mutant/}, waits for the answer and posts the next one, for a fixed duration per level.
+ * Prints throughput and latency percentiles per number of concurrent clients, so the same run
+ * against the platform-thread pool and against {@code --spring.profiles.active=virtual} can be compared.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.benchmarks.ConcurrencyComparison \
+ *     [url] [clients,...] [seconds per level] [matrix size]
+ * </pre>
+ *
+ * Not a JMH benchmark: the cost measured is the server's, the client only keeps requests in flight.
+ */
+public final class ConcurrencyComparison {
+
+    private static final int DISTINCT_MATRICES = 10_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final URI uri;
+    private final byte[][] bodies;
+
+    private ConcurrencyComparison(HttpClient client, URI uri, byte[][] bodies) {
+        this.client = client;
+        this.uri = uri;
+        this.bodies = bodies;
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/mutant/");
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : "1000,2000,5000,10000").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+
+        // A fixed pool of matrices: the first pass over it inserts, later requests hit the dedup path
+        Random random = new Random(42);
+        byte[][] bodies = new byte[DISTINCT_MATRICES][];
+        for (int i = 0; i < bodies.length; i++) {
+            String json = "{\"dna\":[\"" + String.join("\",\"", DnaInputs.random(size, random)) + "\"]}";
+            bodies[i] = json.getBytes(StandardCharsets.UTF_8);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .executor(executor)
+                .build();
+            ConcurrencyComparison comparison = new ConcurrencyComparison(client, uri, bodies);
+
+            System.out.printf("%8s %10s %9s %9s %9s %9s %8s%n",
+                "clients", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+            for (int clients : levels) {
+                comparison.run(clients, duration).print(clients, duration);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result run(int clients, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Client> running = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Client c = new Client(deadline);
+            running.add(c);
+            c.next();
+        }
+        running.forEach(c -> c.done.join());
+
+        Result result = new Result();
+        for (Client c : running) {
+            result.add(c);
+        }
+        return result;
+    }
+
+    /**
+     * One simulated user with at most one request in flight. Its callbacks never overlap,
+     * so the latency buffer needs no synchronization.
+     */
+    private final class Client {
+
+        private final long deadline;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private long[] latencies = new long[64];
+        private int count;
+        private int errors;
+
+        Client(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void next() {
+            if (System.nanoTime() >= deadline) {
+                done.complete(null);
+                return;
+            }
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                    bodies[ThreadLocalRandom.current().nextInt(bodies.length)]))
+                .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((response, failure) -> {
+                    // 200 and 403 are both verdicts
+                    if (failure != null || (response.statusCode() != 200 && response.statusCode() != 403)) {
+                        errors++;
+                    } else {
+                        record(System.nanoTime() - start);
+                    }
+                    next();
+                }, client.executor().orElseThrow());
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[0];
+        private long errors;
+
+        void add(Client client) {
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + client.count);
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            errors += client.errors;
+        }
+
+        void print(int clients, Duration duration) {
+            Arrays.sort(latencies);
+            System.out.printf("%8d %10.0f %9.1f %9.1f %9.1f %9.1f %8d%n",
+                clients,
+                latencies.length / (duration.toMillis() / 1000.0),
+                percentile(0.50), percentile(0.99), percentile(0.999),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6,
+                errors);
+        }
+
+        private double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1)] / 1e6;
+        }
+    }
+}
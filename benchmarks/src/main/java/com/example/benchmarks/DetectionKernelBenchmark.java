@@ -0,0 +1,77 @@
+package com.example.benchmarks;
+
+import com.example.dna_demo.detector.DetectionKernel;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.detector.FourPassKernel;
+import com.example.dna_demo.detector.FusedScanKernel;
+import com.example.dna_demo.detector.ParallelKernel;
+import com.example.dna_demo.detector.VectorKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the detection kernels on human DNA, where no kernel can exit early.
+ * FOUR_PASS is the baseline: the original countHorizontal/Vertical/Diagonal loops.
+ * PARALLEL always scans in fork/join row bands, one worker per available processor.
+ * The rule parameter checks that custom rule sets cost about the same as the default 4/2 rule.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class DetectionKernelBenchmark {
+
+    @Param({"64", "512", "2048"})
+    private int n;
+
+    @Param({"FOUR_PASS", "FUSED", "VECTOR", "PARALLEL"})
+    private String kernel;
+
+    @Param({"4/2", "5/3"})
+    private String rule;
+
+    private DetectionKernel detectionKernel;
+    private DnaMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        matrix = DnaMatrix.of(DnaInputs.human(n));
+        String[] parts = rule.split("/");
+        DetectionRule detectionRule = new DetectionRule(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        detectionKernel = switch (kernel) {
+            case "FOUR_PASS" -> new FourPassKernel(detectionRule);
+            case "FUSED" -> new FusedScanKernel(detectionRule);
+            case "VECTOR" -> new VectorKernel(detectionRule);
+            case "PARALLEL" -> new ParallelKernel(new FusedScanKernel(detectionRule),
+                Runtime.getRuntime().availableProcessors(), 0);
+            default -> throw new IllegalArgumentException("Unknown kernel: " + kernel);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (detectionKernel instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public boolean isMutant() {
+        return detectionKernel.isMutant(matrix);
+    }
+}
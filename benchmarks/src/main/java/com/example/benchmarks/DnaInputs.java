@@ -0,0 +1,152 @@
+package com.example.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Deterministic DNA matrices for benchmarks.
+ */
+public final class DnaInputs {
+
+    private DnaInputs() {
+    }
+
+    /**
+     * Worst case for every detector: no sequence anywhere, so no early exit.
+     * (row + 2 * col) % 4 never repeats a base horizontally, vertically or diagonally.
+     *
+     * @param n matrix size
+     * @return NxN human DNA
+     */
+    public static String[] human(int n) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            char[] chars = new char[n];
+            for (int col = 0; col < n; col++) {
+                chars[col] = "ACGT".charAt((row + 2 * col) % 4);
+            }
+            dna[row] = new String(chars);
+        }
+        return dna;
+    }
+
+    /**
+     * Best case: two horizontal sequences at the start of the first two rows,
+     * so a kernel scanning in row order can decide almost immediately.
+     *
+     * @param n matrix size, at least 4
+     * @return NxN mutant DNA
+     */
+    public static String[] earlyMutant(int n) {
+        String[] dna = human(n);
+        dna[0] = "AAAA" + dna[0].substring(4);
+        dna[1] = "CCCC" + dna[1].substring(4);
+        return dna;
+    }
+
+    /**
+     * Mutant found only at the end: the two sequences sit at the end of the last two rows,
+     * so detection costs about as much as on human DNA before it succeeds.
+     *
+     * @param n matrix size, at least 4
+     * @return NxN mutant DNA
+     */
+    public static String[] lateMutant(int n) {
+        String[] dna = human(n);
+        dna[n - 2] = dna[n - 2].substring(0, n - 4) + "GGGG";
+        dna[n - 1] = dna[n - 1].substring(0, n - 4) + "TTTT";
+        return dna;
+    }
+
+    /**
+     * Uniformly random bases; most matrices of size 6 and above are human.
+     *
+     * @param n matrix size
+     * @param random source of bases, seeded by the caller for repeatable runs
+     * @return NxN DNA
+     */
+    public static String[] random(int n, Random random) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            char[] chars = new char[n];
+            for (int col = 0; col < n; col++) {
+                chars[col] = "ACGT".charAt(random.nextInt(4));
+            }
+            dna[row] = new String(chars);
+        }
+        return dna;
+    }
+
+    /**
+     * Random human DNA: each base is drawn among those that would not complete a run of four
+     * horizontally, vertically or diagonally, so no rule set finds a sequence.
+     *
+     * @param n matrix size
+     * @param random source of bases, seeded by the caller for repeatable runs
+     * @return NxN human DNA, distinct per draw
+     */
+    public static String[] randomHuman(int n, Random random) {
+        int[][] bases = new int[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                int excluded = completedRun(bases, row, col, 0, -1)
+                    | completedRun(bases, row, col, -1, 0)
+                    | completedRun(bases, row, col, -1, -1)
+                    | completedRun(bases, row, col, -1, 1);
+                if (excluded == 0b1111) {
+                    // Four different runs of three meet here, start over
+                    return randomHuman(n, random);
+                }
+                int base;
+                do {
+                    base = random.nextInt(4);
+                } while ((excluded & 1 << base) != 0);
+                bases[row][col] = base;
+            }
+        }
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            char[] chars = new char[n];
+            for (int col = 0; col < n; col++) {
+                chars[col] = "ACGT".charAt(bases[row][col]);
+            }
+            dna[row] = new String(chars);
+        }
+        return dna;
+    }
+
+    /**
+     * Random mutant DNA: random human DNA with two horizontal sequences planted on two random rows.
+     *
+     * @param n matrix size, at least 4
+     * @param random source of bases, seeded by the caller for repeatable runs
+     * @return NxN mutant DNA, distinct per draw
+     */
+    public static String[] randomMutant(int n, Random random) {
+        String[] dna = randomHuman(n, random);
+        int first = random.nextInt(n);
+        int second = (first + 1 + random.nextInt(n - 1)) % n;
+        dna[first] = plant(dna[first], "AAAA", random.nextInt(n - 3));
+        dna[second] = plant(dna[second], "CCCC", random.nextInt(n - 3));
+        return dna;
+    }
+
+    /**
+     * @return bit of the base repeated by the three cells before (row, col) in direction (rowStep, colStep), or 0
+     */
+    private static int completedRun(int[][] bases, int row, int col, int rowStep, int colStep) {
+        int lastRow = row + 3 * rowStep;
+        int lastCol = col + 3 * colStep;
+        if (lastRow < 0 || lastCol < 0 || lastCol >= bases.length) {
+            return 0;
+        }
+        int base = bases[row + rowStep][col + colStep];
+        if (bases[row + 2 * rowStep][col + 2 * colStep] != base || bases[lastRow][lastCol] != base) {
+            return 0;
+        }
+        return 1 << base;
+    }
+
+    private static String plant(String row, String sequence, int col) {
+        return row.substring(0, col) + sequence + row.substring(col + sequence.length());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.benchmarks;
+
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedup key and storage string of every verified DNA, from {@code String[]} rows and from a packed matrix.
+ * {@code hash*} return the binary key the service stores, {@code generateHash*} its hex form,
+ * {@code fingerprintPacked} the MurmurHash3 key of {@code dna.hash.algorithm=murmur3-128}
+ * and {@code canonicalPacked} the orientation {@code dna.hash.canonical=true} hashes.
+ * Hashing does not depend on the verdict, so only human DNA is used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashingBenchmark {
+
+    @Param({"6", "64", "512", "4096"})
+    private int n;
+
+    private String[] dna;
+    private DnaMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        dna = DnaInputs.human(n);
+        matrix = DnaMatrix.of(dna);
+    }
+
+    @Benchmark
+    public DnaHash hashRows() {
+        return DnaHashUtil.hash(dna);
+    }
+
+    @Benchmark
+    public DnaHash hashPacked() {
+        return DnaHashUtil.hash(matrix, DetectionRule.DEFAULT);
+    }
+
+    @Benchmark
+    public DnaHash fingerprintPacked() {
+        return DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+    }
+
+    @Benchmark
+    public DnaMatrix canonicalPacked() {
+        return matrix.canonical();
+    }
+
+    @Benchmark
+    public String generateHashRows() {
+        return DnaHashUtil.generateHash(dna);
+    }
+
+    @Benchmark
+    public String generateHashPacked() {
+        return DnaHashUtil.generateHash(matrix, DetectionRule.DEFAULT);
+    }
+
+    @Benchmark
+    public String dnaToStringRows() {
+        return DnaHashUtil.dnaToString(dna);
+    }
+
+    @Benchmark
+    public String dnaToStringPacked() {
+        return DnaHashUtil.dnaToString(matrix);
+    }
+}
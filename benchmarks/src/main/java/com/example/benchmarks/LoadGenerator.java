@@ -0,0 +1,245 @@
+package com.example.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load against running services: {@code POST /mutant/} on dna-demo (or dna-reactive)
+ * and {@code GET /stats/} on stats-service, sent at the times fixed by a {@link Workload},
+ * whether or not earlier requests have been answered.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.benchmarks.LoadGenerator generate workload.tsv [spec options]
+ * java -cp target/benchmarks.jar com.example.benchmarks.LoadGenerator run [workload.tsv] [spec options] [run options]
+ *
+ * spec options: --rate=200 --seconds=60 --stats-ratio=0.05 --mutant-ratio=0.4
+ *               --duplicate-ratio=0.3 --sizes=6:90,64:9,512:1 --seed=42
+ * run options:  --mutant-url=http://localhost:8080/mutant/ --stats-url=http://localhost:8081/stats/
+ *               --save=workload.tsv --hgrm=prefix --max-in-flight=10000
+ * </pre>
+ *
+ * Latency is measured from the time a request was due, not from when it was sent, so a stalled
+ * server or dispatcher shows up in the percentiles instead of silently lowering the load.
+ * Latencies are recorded in HdrHistograms; {@code --hgrm} also writes their full percentile distributions.
+ */
+public final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final Map<Workload.Kind, URI> uris;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Map<Workload.Kind, Endpoint> endpoints = new EnumMap<>(Workload.Kind.class);
+    private long maxLagNanos;
+
+    private LoadGenerator(HttpClient client, Map<Workload.Kind, URI> uris, int maxInFlight) {
+        this.client = client;
+        this.uris = uris;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        for (Workload.Kind kind : Workload.Kind.values()) {
+            endpoints.put(kind, new Endpoint());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("generate") || args[0].equals("run"))) {
+            System.err.println("Usage: LoadGenerator generate <file> [options] | run [<file>] [options]");
+            System.exit(2);
+        }
+        Map<String, String> options = new HashMap<>();
+        String file = null;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                int eq = args[i].indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Options take a value: " + args[i]);
+                }
+                options.put(args[i].substring(2, eq), args[i].substring(eq + 1));
+            } else {
+                file = args[i];
+            }
+        }
+
+        if (args[0].equals("generate")) {
+            if (file == null) {
+                throw new IllegalArgumentException("generate needs a workload file");
+            }
+            Workload workload = Workload.generate(spec(options));
+            workload.save(Path.of(file));
+            System.out.printf("Saved %d requests over %.1f s to %s%n",
+                workload.steps().size(), workload.durationMicros() / 1e6, file);
+            return;
+        }
+
+        Workload workload = file != null ? Workload.load(Path.of(file)) : Workload.generate(spec(options));
+        if (options.containsKey("save")) {
+            workload.save(Path.of(options.get("save")));
+        }
+        Map<Workload.Kind, URI> uris = new EnumMap<>(Workload.Kind.class);
+        uris.put(Workload.Kind.MUTANT, URI.create(options.getOrDefault("mutant-url", "http://localhost:8080/mutant/")));
+        uris.put(Workload.Kind.STATS, URI.create(options.getOrDefault("stats-url", "http://localhost:8081/stats/")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .executor(executor)
+                .build();
+            LoadGenerator generator = new LoadGenerator(client, uris, maxInFlight);
+            long elapsedNanos = generator.run(workload);
+            generator.print(workload, elapsedNanos, System.out);
+            if (options.containsKey("hgrm")) {
+                generator.writeDistributions(options.get("hgrm"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Workload.Spec spec(Map<String, String> options) {
+        int[][] sizes = Workload.Spec.parseSizes(options.getOrDefault("sizes", "6:90,64:9,512:1"));
+        return new Workload.Spec(
+            Double.parseDouble(options.getOrDefault("rate", "200")),
+            Integer.parseInt(options.getOrDefault("seconds", "60")),
+            Double.parseDouble(options.getOrDefault("stats-ratio", "0.05")),
+            Double.parseDouble(options.getOrDefault("mutant-ratio", "0.4")),
+            Double.parseDouble(options.getOrDefault("duplicate-ratio", "0.3")),
+            sizes[0], sizes[1],
+            Long.parseLong(options.getOrDefault("seed", "42")));
+    }
+
+    /**
+     * Sends every step at its due time and waits for the last answer.
+     *
+     * @return nanoseconds from the start of the run to the last answer
+     */
+    private long run(Workload workload) throws InterruptedException {
+        // Encode bodies up front so large matrices do not delay the dispatcher; duplicates share theirs
+        Map<String, byte[]> bodies = new HashMap<>();
+        HttpRequest[] requests = new HttpRequest[workload.steps().size()];
+        for (int i = 0; i < requests.length; i++) {
+            Workload.Step step = workload.steps().get(i);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uris.get(step.kind())).timeout(REQUEST_TIMEOUT);
+            requests[i] = step.kind() == Workload.Kind.STATS
+                ? builder.GET().build()
+                : builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(bodies.computeIfAbsent(step.dna(), LoadGenerator::json)))
+                    .build();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests.length; i++) {
+            Workload.Step step = workload.steps().get(i);
+            long due = start + TimeUnit.MICROSECONDS.toNanos(step.offsetMicros());
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxLagNanos = Math.max(maxLagNanos, -wait);
+
+            Endpoint endpoint = endpoints.get(step.kind());
+            endpoint.sent.increment();
+            if (!inFlight.tryAcquire()) {
+                // The client itself is saturated; count it rather than stall the schedule
+                endpoint.dropped.increment();
+                continue;
+            }
+            client.sendAsync(requests[i], HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                        endpoint.statuses.computeIfAbsent(cause.getClass().getSimpleName(), k -> new LongAdder())
+                            .increment();
+                    } else {
+                        endpoint.statuses.computeIfAbsent(Integer.toString(response.statusCode()), k -> new LongAdder())
+                            .increment();
+                        if (isSuccess(step.kind(), response.statusCode())) {
+                            endpoint.latencies.recordValue(latencyMicros);
+                        }
+                    }
+                    inFlight.release();
+                });
+        }
+        inFlight.acquire(maxInFlight);
+        return System.nanoTime() - start;
+    }
+
+    private static boolean isSuccess(Workload.Kind kind, int status) {
+        // 200 and 403 are both verdicts
+        return status == 200 || (kind == Workload.Kind.MUTANT && status == 403);
+    }
+
+    private static byte[] json(String dna) {
+        return ("{\"dna\":[\"" + dna.replace("|", "\",\"") + "\"]}").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private void print(Workload workload, long elapsedNanos, PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%d requests scheduled over %.1f s (%.1f req/s), finished in %.1f s, dispatcher max lag %.1f ms%n",
+            workload.steps().size(), workload.durationMicros() / 1e6,
+            workload.steps().size() / Math.max(workload.durationMicros() / 1e6, 1e-9),
+            seconds, maxLagNanos / 1e6);
+        out.printf("%-8s %8s %8s %8s %10s %9s %9s %9s %9s%n",
+            "endpoint", "sent", "ok", "dropped", "ok/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        endpoints.forEach((kind, endpoint) -> {
+            Histogram latencies = endpoint.latencies;
+            out.printf("%-8s %8d %8d %8d %10.1f %9.1f %9.1f %9.1f %9.1f%n",
+                kind, endpoint.sent.sum(), latencies.getTotalCount(), endpoint.dropped.sum(),
+                latencies.getTotalCount() / seconds,
+                latencies.getValueAtPercentile(50) / 1e3, latencies.getValueAtPercentile(99) / 1e3,
+                latencies.getValueAtPercentile(99.9) / 1e3, latencies.getMaxValue() / 1e3);
+        });
+        endpoints.forEach((kind, endpoint) -> {
+            Map<String, Long> statuses = new TreeMap<>();
+            endpoint.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            out.printf("%-8s responses %s%n", kind, statuses);
+        });
+    }
+
+    private void writeDistributions(String prefix) throws IOException {
+        for (Map.Entry<Workload.Kind, Endpoint> entry : endpoints.entrySet()) {
+            Path path = Path.of(prefix + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(path), false, StandardCharsets.US_ASCII)) {
+                // Values are recorded in microseconds, the file reports milliseconds
+                entry.getValue().latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static final class Endpoint {
+
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.service.MutantDetector;
+import com.example.dna_demo.validator.DnaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code MutantDetector.isMutant} as the service calls it, with the default kernel and rule.
+ * {@code rows} includes validation and packing of {@code String[]} rows, {@code packed}
+ * starts from an already packed matrix, as the JSON and binary request paths do.
+ * EARLY_MUTANT can stop after a few bases, LATE_MUTANT and HUMAN scan (almost) everything.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MutantDetectorBenchmark {
+
+    @Param({"6", "64", "512", "4096"})
+    private int n;
+
+    @Param({"EARLY_MUTANT", "LATE_MUTANT", "HUMAN"})
+    private String input;
+
+    private final MutantDetector detector = new MutantDetector(new DnaValidator());
+    private String[] dna;
+    private DnaMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        dna = switch (input) {
+            case "EARLY_MUTANT" -> DnaInputs.earlyMutant(n);
+            case "LATE_MUTANT" -> DnaInputs.lateMutant(n);
+            case "HUMAN" -> DnaInputs.human(n);
+            default -> throw new IllegalArgumentException("Unknown input: " + input);
+        };
+        matrix = DnaMatrix.of(dna);
+        if (detector.isMutant(matrix) == input.equals("HUMAN")) {
+            throw new IllegalStateException("Unexpected verdict for " + input + " at n=" + n);
+        }
+    }
+
+    @Benchmark
+    public boolean rows() {
+        return detector.isMutant(dna);
+    }
+
+    @Benchmark
+    public boolean packed() {
+        return detector.isMutant(matrix);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.benchmarks;
+
+import com.example.dna_demo.config.VerdictRedisSerializer;
+import com.example.stats_service.config.StatsResponseRedisSerializer;
+import com.example.stats_service.dto.StatsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis cache value round trip (serialize, then deserialize) for a verdict and for {@link StatsResponse}:
+ * JDK serialization, which both cache managers used, Jackson with type info as the {@code RedisTemplate}s use,
+ * and the compact codecs. Encoded sizes are printed once per trial; run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisCodecBenchmark {
+
+    @Param({"jdk", "jackson", "compact"})
+    private String codec;
+
+    private final Boolean verdict = Boolean.TRUE;
+    private final StatsResponse stats = new StatsResponse(40_213, 100_877, 0.2850);
+
+    private RedisSerializer<Object> verdictSerializer;
+    private RedisSerializer<Object> statsSerializer;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        switch (codec) {
+            case "jdk" -> {
+                verdictSerializer = new JdkSerializationRedisSerializer();
+                statsSerializer = verdictSerializer;
+            }
+            case "jackson" -> {
+                verdictSerializer = (RedisSerializer<Object>) (RedisSerializer<?>) new GenericJackson2JsonRedisSerializer();
+                statsSerializer = verdictSerializer;
+            }
+            case "compact" -> {
+                verdictSerializer = (RedisSerializer<Object>) (RedisSerializer<?>) VerdictRedisSerializer.INSTANCE;
+                statsSerializer = (RedisSerializer<Object>) (RedisSerializer<?>) StatsResponseRedisSerializer.INSTANCE;
+            }
+            default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+        }
+        System.out.printf("%n%s: verdict %d bytes, stats %d bytes%n",
+            codec, verdictSerializer.serialize(verdict).length, statsSerializer.serialize(stats).length);
+    }
+
+    @Benchmark
+    public Object verdict() {
+        return verdictSerializer.deserialize(verdictSerializer.serialize(verdict));
+    }
+
+    @Benchmark
+    public Object stats() {
+        return statsSerializer.deserialize(statsSerializer.serialize(stats));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.benchmarks;
+
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.dto.DnaMatrixDeserializer;
+import com.example.dna_demo.dto.DnaRequest;
+import com.example.dna_demo.dto.PackedDnaMessageConverter;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.validator.DnaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body to dedup hash: JSON decoding, validation, packing and SHA-256.
+ * {@code stringArray} binds {@code String[]} rows first, as the controller used to;
+ * {@code packed} streams the rows straight into the packed matrix, and
+ * {@code binary} reads an {@code application/x-dna-packed} body instead of JSON.
+ * Run with {@code -prof gc} to compare allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestDecodingBenchmark {
+
+    /**
+     * Shape of the request body before it was decoded into a packed matrix.
+     */
+    public record StringArrayRequest(String[] dna) {
+    }
+
+    private record Body(byte[] bytes) implements HttpInputMessage {
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+    }
+
+    @Param({"6", "64", "512"})
+    private int n;
+
+    private final DnaValidator validator = new DnaValidator();
+    private final DnaMetrics metrics = new DnaMetrics(new SimpleMeterRegistry());
+    // Registered as in the services, where it is a Jackson component
+    private final JsonMapper mapper = JsonMapper.builder()
+        .addModule(new SimpleModule().addDeserializer(DnaMatrix.class, new DnaMatrixDeserializer(validator, metrics)))
+        .build();
+    private final PackedDnaMessageConverter converter = new PackedDnaMessageConverter(validator, metrics);
+    private byte[] body;
+    private byte[] packedBody;
+
+    @Setup
+    public void setUp() {
+        String json = "{\"dna\":[\"" + String.join("\",\"", DnaInputs.human(n)) + "\"]}";
+        body = json.getBytes(StandardCharsets.UTF_8);
+        packedBody = PackedDnaMessageConverter.toBytes(DnaMatrix.of(DnaInputs.human(n)));
+    }
+
+    @Benchmark
+    public String stringArray() {
+        String[] dna = mapper.readValue(body, StringArrayRequest.class).dna();
+        validator.validateAndEncode(dna);
+        return DnaHashUtil.generateHash(dna);
+    }
+
+    @Benchmark
+    public String packed() {
+        DnaRequest request = mapper.readValue(body, DnaRequest.class);
+        return DnaHashUtil.generateHash(request.dna(), DetectionRule.DEFAULT);
+    }
+
+    @Benchmark
+    public String binary() throws IOException {
+        DnaMatrix matrix = converter.read(DnaMatrix.class, new Body(packedBody));
+        return DnaHashUtil.generateHash(matrix, DetectionRule.DEFAULT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.benchmarks;
+
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.validator.DnaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of turning a request body into a packed matrix, before any detection.
+ * {@code regexThenPack} reproduces the previous validator: a shape loop, one
+ * {@code ^[ATCG]+$} match per row, then packing. {@code validateAndEncode} is the
+ * current single pass that checks the alphabet through a lookup table while packing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final Pattern VALID_DNA_PATTERN = Pattern.compile("^[ATCG]+$");
+
+    @Param({"6", "64", "512", "4096"})
+    private int n;
+
+    private final DnaValidator validator = new DnaValidator();
+    private String[] dna;
+
+    @Setup
+    public void setUp() {
+        dna = DnaInputs.human(n);
+    }
+
+    @Benchmark
+    public DnaMatrix regexThenPack() {
+        for (String row : dna) {
+            if (row == null || row.length() != dna.length) {
+                throw new IllegalArgumentException("DNA matrix must be NxN (square)");
+            }
+        }
+        for (int i = 0; i < dna.length; i++) {
+            if (!VALID_DNA_PATTERN.matcher(dna[i]).matches()) {
+                throw new IllegalArgumentException("Invalid character found in row " + i);
+            }
+        }
+        return DnaMatrix.of(dna);
+    }
+
+    @Benchmark
+    public DnaMatrix validateAndEncode() {
+        return validator.validateAndEncode(dna);
+    }
+}
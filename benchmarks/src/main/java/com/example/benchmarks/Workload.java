@@ -0,0 +1,177 @@
+package com.example.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests of a load test and the time each one is due, relative to the start of the run.
+ * A workload is generated once from a {@link Spec} and can be saved, so later runs replay exactly
+ * the same arrivals and matrices.
+ *
+ * File format, one request per line, tab separated:
+ * <pre>
+ * 1532    MUTANT  ATGCGA|CAGTGC|TTATGT|AGAAGG|CCCCTA|TCACTG
+ * 4210    STATS
+ * </pre>
+ * The first column is the due time in microseconds, lines starting with {@code #} are comments.
+ */
+public record Workload(List<Step> steps) {
+
+    public enum Kind {
+        MUTANT,
+        STATS
+    }
+
+    /**
+     * @param offsetMicros due time, relative to the start of the run
+     * @param dna matrix rows joined with '|', null for {@link Kind#STATS}
+     */
+    public record Step(long offsetMicros, Kind kind, String dna) {
+    }
+
+    /**
+     * Shape of a generated workload.
+     *
+     * @param rate mean arrival rate in requests per second; arrivals are Poisson, independent of responses
+     * @param seconds duration of the schedule
+     * @param statsRatio share of {@code GET /stats/} requests
+     * @param mutantRatio share of mutant matrices among new ones
+     * @param duplicateRatio share of {@code POST /mutant/} requests repeating an earlier matrix
+     * @param sizes matrix sizes
+     * @param weights relative weight of each size
+     * @param seed seed of every random choice
+     */
+    public record Spec(double rate, int seconds, double statsRatio, double mutantRatio, double duplicateRatio,
+                       int[] sizes, int[] weights, long seed) {
+
+        public Spec {
+            if (rate <= 0 || seconds <= 0) {
+                throw new IllegalArgumentException("rate and seconds must be positive");
+            }
+            if (sizes.length == 0 || sizes.length != weights.length) {
+                throw new IllegalArgumentException("sizes need one weight each");
+            }
+            if (Arrays.stream(weights).sum() <= 0) {
+                throw new IllegalArgumentException("At least one size needs a positive weight");
+            }
+        }
+
+        /**
+         * @param sizes weighted sizes such as {@code 6:90,64:9,512:1}
+         */
+        public static int[][] parseSizes(String sizes) {
+            String[] entries = sizes.split(",");
+            int[][] parsed = new int[2][entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                String[] parts = entries[i].split(":");
+                parsed[0][i] = Integer.parseInt(parts[0].trim());
+                parsed[1][i] = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                if (parsed[0][i] < 4 || parsed[1][i] < 0) {
+                    throw new IllegalArgumentException("Invalid size entry: " + entries[i]);
+                }
+            }
+            return parsed;
+        }
+    }
+
+    /**
+     * Generates the arrivals and matrices described by a spec.
+     */
+    public static Workload generate(Spec spec) {
+        Random random = new Random(spec.seed());
+        int totalWeight = Arrays.stream(spec.weights()).sum();
+
+        List<Step> steps = new ArrayList<>();
+        List<String> sent = new ArrayList<>();
+        long end = TimeUnit.SECONDS.toMicros(spec.seconds());
+        double meanGapMicros = 1_000_000 / spec.rate();
+        double offset = 0;
+        while (true) {
+            // Exponential gaps give Poisson arrivals at the requested mean rate
+            offset += -Math.log(1 - random.nextDouble()) * meanGapMicros;
+            if (offset >= end) {
+                break;
+            }
+            long offsetMicros = (long) offset;
+            if (random.nextDouble() < spec.statsRatio()) {
+                steps.add(new Step(offsetMicros, Kind.STATS, null));
+                continue;
+            }
+            String dna;
+            if (!sent.isEmpty() && random.nextDouble() < spec.duplicateRatio()) {
+                dna = sent.get(random.nextInt(sent.size()));
+            } else {
+                int size = pickSize(spec, totalWeight, random);
+                dna = String.join("|", random.nextDouble() < spec.mutantRatio()
+                    ? DnaInputs.randomMutant(size, random)
+                    : DnaInputs.randomHuman(size, random));
+                sent.add(dna);
+            }
+            steps.add(new Step(offsetMicros, Kind.MUTANT, dna));
+        }
+        return new Workload(steps);
+    }
+
+    public void save(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writer.write("# offset_us\tkind\tdna");
+            writer.newLine();
+            for (Step step : steps) {
+                writer.write(Long.toString(step.offsetMicros()));
+                writer.write('\t');
+                writer.write(step.kind().name());
+                if (step.dna() != null) {
+                    writer.write('\t');
+                    writer.write(step.dna());
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    public static Workload load(Path path) throws IOException {
+        List<Step> steps = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                Kind kind = Kind.valueOf(parts[1]);
+                if (kind == Kind.MUTANT && parts.length < 3) {
+                    throw new IOException("MUTANT step without DNA: " + line);
+                }
+                steps.add(new Step(Long.parseLong(parts[0]), kind, kind == Kind.MUTANT ? parts[2] : null));
+            }
+        }
+        return new Workload(steps);
+    }
+
+    /**
+     * @return scheduled duration in microseconds
+     */
+    public long durationMicros() {
+        return steps.isEmpty() ? 0 : steps.get(steps.size() - 1).offsetMicros();
+    }
+
+    private static int pickSize(Spec spec, int totalWeight, Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < spec.sizes().length; i++) {
+            pick -= spec.weights()[i];
+            if (pick < 0) {
+                return spec.sizes()[i];
+            }
+        }
+        throw new IllegalStateException("Size weights must be positive");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.dna_demo.config;
+
+import com.example.dna_demo.detector.DetectionKernel;
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.FourPassKernel;
+import com.example.dna_demo.detector.FusedScanKernel;
+import com.example.dna_demo.detector.ParallelKernel;
+import com.example.dna_demo.detector.VectorKernel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(DetectorProperties.class)
+@Slf4j
+public class DetectorConfig {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    @Bean
+    public DetectionKernels detectionKernels(DetectorProperties properties) {
+        int parallelism = properties.parallelism() > 0
+            ? properties.parallelism()
+            : Runtime.getRuntime().availableProcessors();
+        log.info("Using {} mutant detection kernel, parallel scan from {} rows on {} threads",
+            properties.mode(), properties.parallelThreshold(), parallelism);
+
+        Map<String, DetectionRule> rules = new LinkedHashMap<>();
+        rules.put(DetectionKernels.DEFAULT_RULE_SET, DetectionRule.DEFAULT);
+        properties.rules().forEach((name, rule) -> {
+            if (DetectionKernels.DEFAULT_RULE_SET.equals(name)) {
+                throw new IllegalArgumentException("Rule set '" + name + "' is built in and cannot be redefined");
+            }
+            rules.put(name, rule);
+        });
+
+        // One kernel instance per rule set, each with its own loop bounds
+        Map<String, DetectionKernel> kernels = new LinkedHashMap<>();
+        rules.forEach((name, rule) -> {
+            log.info("Detection rule set '{}': sequences of {}, {} required", name,
+                rule.sequenceLength(), rule.requiredSequences());
+            DetectionKernel sequentialKernel = sequentialKernel(properties.mode(), rule);
+            // Closed with the context, which shuts down its fork/join pool
+            kernels.put(name, new ParallelKernel(sequentialKernel, parallelism, properties.parallelThreshold()));
+        });
+        return new DetectionKernels(kernels);
+    }
+
+    private DetectionKernel sequentialKernel(DetectorProperties.Mode mode, DetectionRule rule) {
+        return switch (mode) {
+            case FOUR_PASS -> new FourPassKernel(rule);
+            case FUSED -> new FusedScanKernel(rule);
+            case VECTOR -> vectorKernel(rule);
+        };
+    }
+
+    private DetectionKernel vectorKernel(DetectionRule rule) {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.warn("Module {} is not available, start the JVM with --add-modules {}. Falling back to FOUR_PASS",
+                VECTOR_MODULE, VECTOR_MODULE);
+            return new FourPassKernel(rule);
+        }
+        return new VectorKernel(rule);
+    }
+}
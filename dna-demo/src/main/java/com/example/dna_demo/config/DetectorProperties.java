@@ -0,0 +1,43 @@
+package com.example.dna_demo.config;
+
+import com.example.dna_demo.detector.DetectionRule;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Mutant detector settings bound from {@code dna.detector.*}.
+ *
+ * @param mode detection kernel used for every request
+ * @param parallelThreshold matrices with at least this many rows are scanned in parallel bands
+ * @param parallelism worker threads for parallel scans, 0 uses all available processors
+ * @param rules extra rule sets by name, selectable per request next to the built-in {@code default} (4/2)
+ */
+@ConfigurationProperties(prefix = "dna.detector")
+public record DetectorProperties(
+    @DefaultValue("four-pass")
+    Mode mode,
+
+    @DefaultValue("2048")
+    int parallelThreshold,
+
+    @DefaultValue("0")
+    int parallelism,
+
+    Map<String, DetectionRule> rules
+) {
+
+    public DetectorProperties {
+        rules = rules == null ? Map.of() : Map.copyOf(rules);
+    }
+
+    public enum Mode {
+        /** One scan per direction (reference implementation) */
+        FOUR_PASS,
+        /** Single row-major scan with rolling run-length counters */
+        FUSED,
+        /** SIMD kernel on jdk.incubator.vector, falls back to FOUR_PASS when the module is missing */
+        VECTOR
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.dna_demo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HashProperties.class)
+public class HashConfig {
+}
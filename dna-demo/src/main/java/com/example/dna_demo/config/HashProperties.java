@@ -0,0 +1,23 @@
+package com.example.dna_demo.config;
+
+import com.example.dna_demo.util.DnaHashUtil;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Dedup key settings bound from {@code dna.hash.*}.
+ *
+ * @param algorithm {@code sha-256} or {@code murmur3-128}; keys of one algorithm do not find
+ *                  verdicts stored under the other, so switching verifies known DNA once more
+ * @param canonical key every rotation and reflection of a matrix as one DNA, stored in its
+ *                  canonical orientation; like switching algorithm, enabling it verifies known DNA once more
+ */
+@ConfigurationProperties(prefix = "dna.hash")
+public record HashProperties(
+    @DefaultValue("sha-256")
+    DnaHashUtil.Algorithm algorithm,
+
+    @DefaultValue("false")
+    boolean canonical
+) {
+}
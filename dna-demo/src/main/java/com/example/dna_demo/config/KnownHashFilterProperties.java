@@ -0,0 +1,39 @@
+package com.example.dna_demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Bloom filter of stored hashes bound from {@code dna.bloom.*}.
+ *
+ * @param enabled consult the filter before looking a hash up in {@code dna_records}
+ * @param initialCapacity hashes held at the target rate before the filter adds a stage
+ * @param falsePositiveRate share of new DNA that is still looked up; bounds the whole filter as it grows
+ * @param snapshot file the filter is saved to and loaded from, so a restart reads only rows stored since;
+ *                 unset rebuilds it from {@code dna_records} on every start
+ */
+@ConfigurationProperties(prefix = "dna.bloom")
+public record KnownHashFilterProperties(
+    @DefaultValue("true")
+    boolean enabled,
+
+    @DefaultValue("1000000")
+    long initialCapacity,
+
+    @DefaultValue("0.01")
+    double falsePositiveRate,
+
+    Path snapshot
+) {
+
+    public KnownHashFilterProperties {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Bloom filter capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Bloom filter false positive rate must be between 0 and 1");
+        }
+    }
+}
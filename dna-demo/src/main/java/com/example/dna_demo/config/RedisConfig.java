@@ -1,12 +1,20 @@
 package com.example.dna_demo.config;
 
+import com.example.dna_demo.event.VerdictNotice;
+import com.example.dna_demo.event.VerdictNoticeListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -53,4 +61,26 @@ public class RedisConfig {
             .cacheDefaults(config)
             .build();
     }
+
+    /**
+     * Message listener container for verdict notices from other instances.
+     * Listens to the "dna-verdicts" channel, so verdicts stored elsewhere land in this instance's near cache.
+     * With spring.threads.virtual.enabled (Java 21+) each notice is handled on a virtual thread, as stats-service does.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "dna.cache.shared", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer verdictNoticeListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            VerdictNoticeListener listener,
+            Environment environment) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(listener, new ChannelTopic(VerdictNotice.CHANNEL));
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dna-verdicts-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
+        return container;
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.dna_demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * NDJSON bulk ingest settings bound from {@code dna.stream.*}.
+ *
+ * @param chunkSize items read, verified and answered together; bounds the work in flight per upload
+ */
+@ConfigurationProperties(prefix = "dna.stream")
+public record StreamProperties(
+    @DefaultValue("256")
+    int chunkSize
+) {
+
+    public StreamProperties {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Stream chunk size must be at least 1");
+        }
+    }
+}
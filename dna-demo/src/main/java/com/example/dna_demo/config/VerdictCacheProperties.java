@@ -0,0 +1,43 @@
+package com.example.dna_demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Verdict cache settings bound from {@code dna.cache.*}.
+ *
+ * @param maximumSize estimated heap held by the in-process (near) tier; 0 disables it
+ * @param ttl how long the near tier serves a verdict without reading {@code dna_records} again
+ * @param shared whether verdicts are also read from and written to Redis, and announced to other instances
+ * @param sharedTtl how long a verdict is kept in Redis
+ */
+@ConfigurationProperties(prefix = "dna.cache")
+public record VerdictCacheProperties(
+    @DefaultValue("64MB")
+    DataSize maximumSize,
+
+    @DefaultValue("1h")
+    Duration ttl,
+
+    @DefaultValue("true")
+    boolean shared,
+
+    @DefaultValue("1h")
+    Duration sharedTtl
+) {
+
+    public VerdictCacheProperties {
+        if (maximumSize.isNegative()) {
+            throw new IllegalArgumentException("Verdict cache size must not be negative");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Verdict cache TTL must be positive");
+        }
+        if (sharedTtl.isNegative() || sharedTtl.isZero()) {
+            throw new IllegalArgumentException("Shared verdict cache TTL must be positive");
+        }
+    }
+}
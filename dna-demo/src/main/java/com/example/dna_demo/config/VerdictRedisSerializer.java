@@ -0,0 +1,66 @@
+package com.example.dna_demo.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis value codec for cached verdicts: one byte, '1' for mutant and '0' for human.
+ * These are the bytes of the shared verdict cache tier ({@code dna:verdict:<hash>}), which dna-demo and
+ * dna-reactive both write and decode through it, so a verdict reads the same whichever of them wrote it
+ * and anything else reads as a miss. JDK serialization takes 47 bytes for a {@code Boolean}.
+ */
+public final class VerdictRedisSerializer implements RedisSerializer<Boolean> {
+
+    public static final VerdictRedisSerializer INSTANCE = new VerdictRedisSerializer();
+
+    private static final byte MUTANT = '1';
+    private static final byte HUMAN = '0';
+
+    private static final byte[] MUTANT_BYTES = {MUTANT};
+    private static final byte[] HUMAN_BYTES = {HUMAN};
+
+    private VerdictRedisSerializer() {
+    }
+
+    /**
+     * @return a shared array; callers must not modify it
+     */
+    @Override
+    public byte[] serialize(Boolean mutant) {
+        if (mutant == null) {
+            return new byte[0];
+        }
+        return mutant ? MUTANT_BYTES : HUMAN_BYTES;
+    }
+
+    @Override
+    public Boolean deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length == 1 && bytes[0] == MUTANT) {
+            return true;
+        }
+        if (bytes.length == 1 && bytes[0] == HUMAN) {
+            return false;
+        }
+        throw new SerializationException("Not a cached verdict: " + bytes.length + " bytes");
+    }
+
+    /**
+     * Decodes a value read through a {@code StringRedisTemplate}, as the shared verdict tier is.
+     *
+     * @return verdict, or null for a missing value
+     * @throws SerializationException if the value is not '1' or '0'
+     */
+    public Boolean decode(String value) {
+        return value == null ? null : deserialize(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return Boolean.class;
+    }
+}
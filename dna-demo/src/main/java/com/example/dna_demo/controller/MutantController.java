@@ -1,15 +1,27 @@
 package com.example.dna_demo.controller;
 
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.dto.DnaBatchRequest;
+import com.example.dna_demo.dto.DnaBatchResponse;
 import com.example.dna_demo.dto.DnaRequest;
+import com.example.dna_demo.dto.PackedDnaMessageConverter;
 import com.example.dna_demo.service.DnaService;
+import com.example.dna_demo.service.DnaStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/mutant")
@@ -17,11 +29,42 @@ import org.springframework.web.bind.annotation.RestController;
 public class MutantController {
 
     private final DnaService dnaService;
+    private final DnaStreamService dnaStreamService;
 
     @PostMapping("/")
-    public ResponseEntity<Void> checkMutant(@Valid @RequestBody DnaRequest request) {
-        boolean isMutant = dnaService.verifyAndSave(request.dna());
+    public ResponseEntity<Void> checkMutant(
+            @Valid @RequestBody DnaRequest request,
+            @RequestParam(name = "rules", defaultValue = DetectionKernels.DEFAULT_RULE_SET) String ruleSet) {
+        return verdict(dnaService.verifyAndSave(request.dna(), ruleSet));
+    }
+
+    @PostMapping(value = "/", consumes = PackedDnaMessageConverter.MEDIA_TYPE_VALUE)
+    public ResponseEntity<Void> checkMutantPacked(
+            @RequestBody DnaMatrix matrix,
+            @RequestParam(name = "rules", defaultValue = DetectionKernels.DEFAULT_RULE_SET) String ruleSet) {
+        return verdict(dnaService.verifyAndSave(matrix, ruleSet));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<DnaBatchResponse> checkMutantBatch(
+            @Valid @RequestBody DnaBatchRequest request,
+            @RequestParam(name = "rules", defaultValue = DetectionKernels.DEFAULT_RULE_SET) String ruleSet) {
+        List<DnaMatrix> matrices = request.items().stream().map(DnaRequest::dna).toList();
+        return ResponseEntity.ok(new DnaBatchResponse(dnaService.verifyAndSaveAll(matrices, ruleSet)));
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> checkMutantStream(
+            InputStream body,
+            @RequestParam(name = "rules", defaultValue = DetectionKernels.DEFAULT_RULE_SET) String ruleSet) {
+        dnaStreamService.checkRuleSet(ruleSet);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(output -> dnaStreamService.ingest(body, output, ruleSet));
+    }
 
+    private ResponseEntity<Void> verdict(boolean isMutant) {
         if (isMutant) {
             return ResponseEntity.ok().build();
         } else {
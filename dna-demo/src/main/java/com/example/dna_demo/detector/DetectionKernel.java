@@ -0,0 +1,22 @@
+package com.example.dna_demo.detector;
+
+/**
+ * Strategy that scans a packed DNA matrix for sequences of identical bases.
+ * Every implementation must return the same verdict as {@link FourPassKernel}
+ * built for the same {@link DetectionRule}: a row or column counts at most once,
+ * while each diagonal counts every non-overlapping sequence it contains.
+ */
+public interface DetectionKernel {
+
+    /**
+     * Determines if a packed DNA matrix belongs to a mutant
+     * @param matrix DNA matrix packed at 2 bits per base
+     * @return true if at least {@link DetectionRule#requiredSequences()} sequences are found
+     */
+    boolean isMutant(DnaMatrix matrix);
+
+    /**
+     * @return the rule this kernel was built for
+     */
+    DetectionRule rule();
+}
@@ -0,0 +1,53 @@
+package com.example.dna_demo.detector;
+
+import java.util.Map;
+
+/**
+ * Detection kernels by rule set name, one kernel instance per configured rule.
+ * The {@value #DEFAULT_RULE_SET} rule set always exists and uses {@link DetectionRule#DEFAULT}.
+ */
+public final class DetectionKernels implements AutoCloseable {
+
+    public static final String DEFAULT_RULE_SET = "default";
+
+    private final Map<String, DetectionKernel> kernels;
+
+    public DetectionKernels(Map<String, DetectionKernel> kernels) {
+        DetectionKernel defaultKernel = kernels.get(DEFAULT_RULE_SET);
+        if (defaultKernel == null || !defaultKernel.rule().isDefault()) {
+            throw new IllegalArgumentException("Rule set '" + DEFAULT_RULE_SET + "' must use the default rule "
+                + DetectionRule.DEFAULT);
+        }
+        this.kernels = Map.copyOf(kernels);
+    }
+
+    /**
+     * Registry holding only the default rule set
+     * @param defaultKernel kernel built for {@link DetectionRule#DEFAULT}
+     */
+    public static DetectionKernels of(DetectionKernel defaultKernel) {
+        return new DetectionKernels(Map.of(DEFAULT_RULE_SET, defaultKernel));
+    }
+
+    /**
+     * @param ruleSet rule set name
+     * @return kernel specialized for that rule set
+     * @throws IllegalArgumentException if no such rule set is configured
+     */
+    public DetectionKernel get(String ruleSet) {
+        DetectionKernel kernel = kernels.get(ruleSet);
+        if (kernel == null) {
+            throw new IllegalArgumentException("Unknown detection rule set: " + ruleSet);
+        }
+        return kernel;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DetectionKernel kernel : kernels.values()) {
+            if (kernel instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
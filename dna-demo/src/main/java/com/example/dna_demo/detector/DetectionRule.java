@@ -0,0 +1,33 @@
+package com.example.dna_demo.detector;
+
+/**
+ * Counting rule applied by a detection kernel.
+ * Kernels copy both values into final fields at construction, so each rule set
+ * gets its own kernel instance instead of reading the rule on every cell.
+ *
+ * @param sequenceLength identical bases in a row that make one sequence
+ * @param requiredSequences sequences needed for a mutant verdict
+ */
+public record DetectionRule(int sequenceLength, int requiredSequences) {
+
+    /** Four identical bases, more than one sequence */
+    public static final DetectionRule DEFAULT = new DetectionRule(4, 2);
+
+    public DetectionRule {
+        if (sequenceLength < 2) {
+            throw new IllegalArgumentException("Sequence length must be at least 2");
+        }
+        if (requiredSequences < 1) {
+            throw new IllegalArgumentException("Required sequences must be at least 1");
+        }
+    }
+
+    public boolean isDefault() {
+        return equals(DEFAULT);
+    }
+
+    @Override
+    public String toString() {
+        return sequenceLength + "/" + requiredSequences;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.dna_demo.detector;
+
+/**
+ * Incremental detector fed one row at a time, for matrices that are never held in memory as a whole.
+ * Only rolling run lengths are kept: the previous row plus one counter per column, per diagonal (↘)
+ * and per anti-diagonal (↙) ending on that row, so working memory is O(N) whatever the row count.
+ *
+ * Rows are arrays of one byte per base in any consistent encoding
+ * (ASCII letters or {@link DnaMatrix} codes); the session only compares bases.
+ * Counting rules match {@link FourPassKernel}: a row or column counts once,
+ * a diagonal counts each non-overlapping sequence (its run restarts after a hit).
+ *
+ * The mutant verdict is final as soon as the rule's threshold is reached,
+ * so callers may stop sending rows once {@link #acceptRow(byte[])} returns true.
+ * A session is not thread-safe.
+ */
+public final class DetectionSession {
+
+    private static final String NOT_SQUARE = "DNA matrix must be NxN (square)";
+
+    private final int rows;
+    private final int cols;
+    private final int sequenceLength;
+    private final int requiredSequences;
+
+    private final byte[] previous;
+    private final int[] columnRuns;
+    private final boolean[] columnFound;
+    // Run lengths ending on the previous row, indexed by column, swapped with the next row's
+    private int[] diagonalRuns;
+    private int[] nextDiagonalRuns;
+    private int[] antiDiagonalRuns;
+    private int[] nextAntiDiagonalRuns;
+
+    private int rowsAccepted;
+    private int sequencesFound;
+
+    /**
+     * @param size N, the number of rows and of bases per row
+     * @param rule detection rule to apply
+     */
+    public DetectionSession(int size, DetectionRule rule) {
+        this(size, size, rule);
+    }
+
+    DetectionSession(int rows, int cols, DetectionRule rule) {
+        this.rows = rows;
+        this.cols = cols;
+        this.sequenceLength = rule.sequenceLength();
+        this.requiredSequences = rule.requiredSequences();
+        this.previous = new byte[cols];
+        this.columnRuns = new int[cols];
+        this.columnFound = new boolean[cols];
+        this.diagonalRuns = new int[cols];
+        this.nextDiagonalRuns = new int[cols];
+        this.antiDiagonalRuns = new int[cols];
+        this.nextAntiDiagonalRuns = new int[cols];
+    }
+
+    /**
+     * Scans the next row. Rows after a mutant verdict are ignored.
+     * @param current bases of the row, one byte each; not retained
+     * @return true once the matrix is known to be mutant
+     * @throws IllegalArgumentException if the row length or the row count does not fit the matrix
+     */
+    public boolean acceptRow(byte[] current) {
+        if (isMutant()) {
+            return true;
+        }
+        if (current.length != cols || rowsAccepted == rows) {
+            throw new IllegalArgumentException(NOT_SQUARE);
+        }
+
+        boolean first = rowsAccepted == 0;
+        int rowRun = 0;
+        boolean rowFound = false;
+
+        for (int col = 0; col < cols; col++) {
+            byte base = current[col];
+
+            // Horizontal: run continues from the cell to the left
+            rowRun = col > 0 && base == current[col - 1] ? rowRun + 1 : 1;
+            if (rowRun == sequenceLength && !rowFound) {
+                rowFound = true;
+                if (found()) {
+                    return true;
+                }
+            }
+
+            // Vertical: run continues from the cell above
+            int columnRun = !first && base == previous[col] ? columnRuns[col] + 1 : 1;
+            columnRuns[col] = columnRun;
+            if (columnRun == sequenceLength && !columnFound[col]) {
+                columnFound[col] = true;
+                if (found()) {
+                    return true;
+                }
+            }
+
+            // Diagonal ↘: run continues from the cell up-left
+            int diagonalRun = !first && col > 0 && base == previous[col - 1] ? diagonalRuns[col - 1] + 1 : 1;
+            if (diagonalRun == sequenceLength) {
+                // Restart the run to avoid counting overlapping sequences
+                diagonalRun = 0;
+                if (found()) {
+                    return true;
+                }
+            }
+            nextDiagonalRuns[col] = diagonalRun;
+
+            // Anti-diagonal ↙: run continues from the cell up-right
+            int antiDiagonalRun = !first && col < cols - 1 && base == previous[col + 1]
+                ? antiDiagonalRuns[col + 1] + 1 : 1;
+            if (antiDiagonalRun == sequenceLength) {
+                antiDiagonalRun = 0;
+                if (found()) {
+                    return true;
+                }
+            }
+            nextAntiDiagonalRuns[col] = antiDiagonalRun;
+        }
+
+        System.arraycopy(current, 0, previous, 0, cols);
+        int[] swap = diagonalRuns;
+        diagonalRuns = nextDiagonalRuns;
+        nextDiagonalRuns = swap;
+        swap = antiDiagonalRuns;
+        antiDiagonalRuns = nextAntiDiagonalRuns;
+        nextAntiDiagonalRuns = swap;
+        rowsAccepted++;
+        return false;
+    }
+
+    /**
+     * Ends the session.
+     * @return the final verdict
+     * @throws IllegalArgumentException if rows are missing and no mutant verdict was reached
+     */
+    public boolean finish() {
+        if (isMutant()) {
+            return true;
+        }
+        if (rowsAccepted != rows) {
+            throw new IllegalArgumentException(NOT_SQUARE);
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the threshold has already been reached
+     */
+    public boolean isMutant() {
+        return sequencesFound >= requiredSequences;
+    }
+
+    public int rowsAccepted() {
+        return rowsAccepted;
+    }
+
+    private boolean found() {
+        return ++sequencesFound >= requiredSequences;
+    }
+}
@@ -0,0 +1,477 @@
+package com.example.dna_demo.detector;
+
+import java.util.Arrays;
+
+/**
+ * Immutable DNA matrix packed at 2 bits per base.
+ * Bases are stored row-major in a single contiguous {@code long[]}; every row starts
+ * on a word boundary so a row can be scanned without touching its neighbours.
+ *
+ * Encoding: A=0, C=1, G=2, T=3.
+ */
+public final class DnaMatrix {
+
+    public static final int BASE_A = 0;
+    public static final int BASE_C = 1;
+    public static final int BASE_G = 2;
+    public static final int BASE_T = 3;
+
+    static final int BASES_PER_WORD = 32;
+
+    private static final int SYMMETRIES = 8;
+    private static final int TRANSPOSED = 4;
+    // Bases whose column has bit 16, 8, 4, 2 or 1 clear
+    private static final long[] TRANSPOSE_MASKS = {
+        0x00000000FFFFFFFFL, 0x0000FFFF0000FFFFL, 0x00FF00FF00FF00FFL, 0x0F0F0F0F0F0F0F0FL, 0x3333333333333333L
+    };
+    // Candidate bits of orientations 4..7
+    private static final int TRANSPOSED_CANDIDATES = 0xF0;
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    // 2-bit code per character, -1 for anything that is not a base
+    private static final byte[] CODES = new byte[256];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        for (int code = 0; code < BASES.length; code++) {
+            CODES[BASES[code]] = (byte) code;
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    DnaMatrix(int rows, int cols, long[] words) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = wordsPerRow(cols);
+        this.words = words;
+    }
+
+    /**
+     * Packs a DNA array into a matrix, checking every base through a 256-entry lookup table
+     * while it is packed, so the alphabet needs no separate pass.
+     * Shape checks (null rows, square, minimum size) belong to {@code DnaValidator};
+     * the column count is taken from the first row.
+     *
+     * @param dna Array of DNA strings
+     * @return packed matrix
+     * @throws IllegalArgumentException if a row has a different length or an invalid base
+     */
+    public static DnaMatrix of(String[] dna) {
+        int rows = dna.length;
+        int cols = rows == 0 ? 0 : dna[0].length();
+        int wordsPerRow = wordsPerRow(cols);
+        long[] words = new long[rows * wordsPerRow];
+        char[] chars = new char[cols];
+
+        for (int row = 0; row < rows; row++) {
+            String str = dna[row];
+            if (str.length() != cols) {
+                throw new IllegalArgumentException("DNA matrix must be NxN (square)");
+            }
+            str.getChars(0, cols, chars, 0);
+            if (!packRow(chars, 0, cols, words, row * wordsPerRow)) {
+                throw invalidCharacter(row);
+            }
+        }
+        return new DnaMatrix(rows, cols, words);
+    }
+
+    /**
+     * Packs one row of characters into consecutive words.
+     *
+     * @return false if the row holds a character other than A, C, G or T
+     */
+    static boolean packRow(char[] chars, int offset, int cols, long[] words, int wordOffset) {
+        // Invalid characters map to -1, so any of them sets bits above the 2-bit codes
+        int invalid = 0;
+        for (int w = 0, base = 0; base < cols; w++, base += BASES_PER_WORD) {
+            int end = Math.min(cols - base, BASES_PER_WORD);
+            long word = 0;
+            for (int i = 0; i < end; i++) {
+                char c = chars[offset + base + i];
+                int code = c < CODES.length ? CODES[c] : -1;
+                invalid |= code;
+                word |= (long) (code & 3) << (i << 1);
+            }
+            words[wordOffset + w] = word;
+        }
+        return (invalid & ~3) == 0;
+    }
+
+    /**
+     * Unpacks a matrix from its byte form: each row starts on a byte boundary and holds
+     * four bases per byte, the first base in the two lowest bits. This is the in-memory
+     * word layout read byte by byte, so every 2-bit value is a valid base and no alphabet
+     * check is needed. Padding bits after the last base of a row are ignored.
+     *
+     * @param rows number of rows
+     * @param cols number of bases per row
+     * @param bytes source holding {@code rows * packedRowBytes(cols)} bytes from {@code offset}
+     * @param offset index of the first row's first byte
+     * @return packed matrix
+     */
+    public static DnaMatrix fromPackedBytes(int rows, int cols, byte[] bytes, int offset) {
+        int wordsPerRow = wordsPerRow(cols);
+        int rowBytes = packedRowBytes(cols);
+        int tailBases = cols % BASES_PER_WORD;
+        long tailMask = tailBases == 0 ? -1L : (1L << (tailBases << 1)) - 1;
+        long[] words = new long[rows * wordsPerRow];
+
+        for (int row = 0; row < rows; row++) {
+            int rowStart = offset + row * rowBytes;
+            for (int w = 0; w < wordsPerRow; w++) {
+                int from = w * Long.BYTES;
+                int end = Math.min(rowBytes - from, Long.BYTES);
+                long word = 0;
+                for (int i = 0; i < end; i++) {
+                    word |= (bytes[rowStart + from + i] & 0xFFL) << (i << 3);
+                }
+                words[row * wordsPerRow + w] = word;
+            }
+            if (wordsPerRow > 0) {
+                words[row * wordsPerRow + wordsPerRow - 1] &= tailMask;
+            }
+        }
+        return new DnaMatrix(rows, cols, words);
+    }
+
+    /**
+     * Writes the matrix in the byte form read by {@link #fromPackedBytes(int, int, byte[], int)}.
+     *
+     * @param target buffer of at least {@code rows() * packedRowBytes(cols())} bytes from {@code offset}
+     * @param offset index of the first byte to write
+     */
+    public void toPackedBytes(byte[] target, int offset) {
+        int rowBytes = packedRowBytes(cols);
+        for (int row = 0; row < rows; row++) {
+            int rowStart = offset + row * rowBytes;
+            for (int b = 0; b < rowBytes; b++) {
+                long word = words[row * wordsPerRow + b / Long.BYTES];
+                target[rowStart + b] = (byte) (word >>> ((b % Long.BYTES) << 3));
+            }
+        }
+    }
+
+    /**
+     * @return bytes taken by one row in the byte form, four bases per byte
+     */
+    public static int packedRowBytes(int cols) {
+        return (cols + 3) / 4;
+    }
+
+    private static IllegalArgumentException invalidCharacter(int row) {
+        return new IllegalArgumentException(
+            String.format("Invalid character found in row %d. Only A, T, C, G are allowed", row)
+        );
+    }
+
+    static int wordsPerRow(int cols) {
+        return (cols + BASES_PER_WORD - 1) / BASES_PER_WORD;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the 2-bit code of the base at the given position.
+     */
+    public int get(int row, int col) {
+        long word = words[row * wordsPerRow + (col >>> 5)];
+        return (int) (word >>> ((col & 31) << 1)) & 3;
+    }
+
+    /**
+     * Unpacks a row into one 2-bit code per byte, reading each packed word once.
+     *
+     * @param row row index
+     * @param target buffer of at least {@link #cols()} bytes
+     */
+    public void decodeRow(int row, byte[] target) {
+        int offset = row * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = words[offset + w];
+            int base = w * BASES_PER_WORD;
+            int end = Math.min(cols - base, BASES_PER_WORD);
+            for (int i = 0; i < end; i++) {
+                target[base + i] = (byte) (word & 3);
+                word >>>= 2;
+            }
+        }
+    }
+
+    /**
+     * Unpacks a row into its ASCII letters, one byte per base.
+     *
+     * @param row row index
+     * @param target buffer of at least {@link #cols()} bytes
+     */
+    public void decodeRowAscii(int row, byte[] target) {
+        decodeRow(row, target);
+        for (int col = 0; col < cols; col++) {
+            target[col] = (byte) BASES[target[col]];
+        }
+    }
+
+    /**
+     * Returns the base character at the given position.
+     */
+    public char charAt(int row, int col) {
+        return BASES[get(row, col)];
+    }
+
+    /**
+     * Unpacks a single row back into its string form.
+     */
+    public String rowString(int row) {
+        char[] chars = new char[cols];
+        for (int col = 0; col < cols; col++) {
+            chars[col] = charAt(row, col);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Unpacks the matrix back into an array of DNA strings.
+     */
+    public String[] toStrings() {
+        String[] dna = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            dna[row] = rowString(row);
+        }
+        return dna;
+    }
+
+    /**
+     * Number of packed words, {@code rows * ceil(cols / 32)}.
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Returns a packed word: 32 bases of one row, the first one in the two lowest bits,
+     * unused bits after the last base of a row set to zero.
+     */
+    public long word(int index) {
+        return words[index];
+    }
+
+    /**
+     * Returns the orientation of this matrix that every rotation and reflection of it shares:
+     * of the 8 symmetries of a square (identity, 3 rotations, transpose and 3 reflections),
+     * the one whose bases are lexicographically smallest in row-major order.
+     * Detection counts rows and columns alike and both diagonal families alike,
+     * so all 8 orientations get the same verdict.
+     *
+     * The first row is compared base by base, which settles almost every matrix within a few bases.
+     * Orientations still tied after it (the matrix is symmetric, or nearly) are compared a packed
+     * row at a time, reading transposed orientations from a transposed copy.
+     *
+     * @return canonical orientation, {@code this} if it already is one or the matrix is not square
+     */
+    public DnaMatrix canonical() {
+        int n = rows;
+        if (cols != n || n < 2) {
+            return this;
+        }
+        // Bit t set while orientation t is still tied for the smallest
+        int candidates = (1 << SYMMETRIES) - 1;
+        int[] bases = new int[SYMMETRIES];
+        for (int col = 0; col < n && Integer.bitCount(candidates) > 1; col++) {
+            int min = BASES.length;
+            for (int t = 0; t < SYMMETRIES; t++) {
+                if ((candidates & 1 << t) != 0) {
+                    bases[t] = getOriented(t, 0, col);
+                    min = Math.min(min, bases[t]);
+                }
+            }
+            for (int t = 0; t < SYMMETRIES; t++) {
+                if ((candidates & 1 << t) != 0 && bases[t] != min) {
+                    candidates &= ~(1 << t);
+                }
+            }
+        }
+
+        DnaMatrix transposed = (candidates & TRANSPOSED_CANDIDATES) != 0 ? transpose() : null;
+        long[] best = new long[wordsPerRow];
+        long[] row = new long[wordsPerRow];
+        for (int r = 1; r < n && Integer.bitCount(candidates) > 1; r++) {
+            int tied = 0;
+            for (int t = 0; t < SYMMETRIES; t++) {
+                if ((candidates & 1 << t) == 0) {
+                    continue;
+                }
+                if (tied == 0) {
+                    orientedRow(t, r, transposed, best, 0);
+                    tied = 1 << t;
+                    continue;
+                }
+                orientedRow(t, r, transposed, row, 0);
+                int order = compareRows(row, best);
+                if (order < 0) {
+                    candidates &= ~tied;
+                    tied = 1 << t;
+                    long[] swap = best;
+                    best = row;
+                    row = swap;
+                } else if (order == 0) {
+                    tied |= 1 << t;
+                } else {
+                    candidates &= ~(1 << t);
+                }
+            }
+        }
+
+        // Orientations still tied hold the same bases, so the lowest one is as good as any
+        int orientation = Integer.numberOfTrailingZeros(candidates);
+        if (orientation == 0) {
+            return this;
+        }
+        if ((orientation & TRANSPOSED) != 0 && transposed == null) {
+            transposed = transpose();
+        }
+        long[] oriented = new long[words.length];
+        for (int r = 0; r < n; r++) {
+            orientedRow(orientation, r, transposed, oriented, r * wordsPerRow);
+        }
+        return new DnaMatrix(n, n, oriented);
+    }
+
+    /**
+     * Base at (row, col) of orientation t of a square matrix: bit 0 flips columns, bit 1 flips rows,
+     * bit 2 ({@link #TRANSPOSED}) reads the transpose.
+     */
+    private int getOriented(int orientation, int row, int col) {
+        int r = (orientation & 2) != 0 ? rows - 1 - row : row;
+        int c = (orientation & 1) != 0 ? cols - 1 - col : col;
+        return (orientation & TRANSPOSED) != 0 ? get(c, r) : get(r, c);
+    }
+
+    /**
+     * Copies a packed row of orientation t to {@code target}, reversing its bases when columns are flipped.
+     */
+    private void orientedRow(int orientation, int row, DnaMatrix transposed, long[] target, int targetOffset) {
+        DnaMatrix source = (orientation & TRANSPOSED) != 0 ? transposed : this;
+        int sourceOffset = ((orientation & 2) != 0 ? rows - 1 - row : row) * wordsPerRow;
+        if ((orientation & 1) == 0) {
+            System.arraycopy(source.words, sourceOffset, target, targetOffset, wordsPerRow);
+            return;
+        }
+        for (int w = 0; w < wordsPerRow; w++) {
+            target[targetOffset + w] = reverseBases(source.words[sourceOffset + wordsPerRow - 1 - w]);
+        }
+        // The reversed row starts with the padding of its last word: shift it out
+        int shift = (wordsPerRow * BASES_PER_WORD - cols) << 1;
+        if (shift == 0) {
+            return;
+        }
+        for (int w = 0; w < wordsPerRow; w++) {
+            long next = w + 1 < wordsPerRow ? target[targetOffset + w + 1] : 0;
+            target[targetOffset + w] = target[targetOffset + w] >>> shift | next << (Long.SIZE - shift);
+        }
+    }
+
+    private static long reverseBases(long word) {
+        long reversed = Long.reverse(word);
+        // Long.reverse also swaps the two bits of each base: swap them back
+        return (reversed >>> 1) & 0x5555555555555555L | (reversed & 0x5555555555555555L) << 1;
+    }
+
+    /**
+     * Lexicographic order of two packed rows, first base first.
+     */
+    private static int compareRows(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            long diff = a[w] ^ b[w];
+            if (diff != 0) {
+                int shift = Long.numberOfTrailingZeros(diff) & ~1;
+                return Long.compare(a[w] >>> shift & 3, b[w] >>> shift & 3);
+            }
+        }
+        return 0;
+    }
+
+    private DnaMatrix transpose() {
+        long[] transposed = new long[words.length];
+        long[] block = new long[BASES_PER_WORD];
+        // 32x32 blocks: one word from each of 32 rows becomes one word of each of 32 columns
+        for (int rowBlock = 0; rowBlock < wordsPerRow; rowBlock++) {
+            for (int colBlock = 0; colBlock < wordsPerRow; colBlock++) {
+                for (int i = 0; i < BASES_PER_WORD; i++) {
+                    int row = rowBlock * BASES_PER_WORD + i;
+                    block[i] = row < rows ? words[row * wordsPerRow + colBlock] : 0;
+                }
+                transposeBlock(block);
+                for (int i = 0; i < BASES_PER_WORD && colBlock * BASES_PER_WORD + i < cols; i++) {
+                    transposed[(colBlock * BASES_PER_WORD + i) * wordsPerRow + rowBlock] = block[i];
+                }
+            }
+        }
+        return new DnaMatrix(cols, rows, transposed);
+    }
+
+    /**
+     * Transposes 32 words of 32 bases in place by swapping ever smaller off-diagonal quadrants
+     * (the bit matrix transpose of Hacker's Delight, on 2-bit elements).
+     */
+    private static void transposeBlock(long[] block) {
+        for (int j = 16, m = 0; j != 0; j >>= 1, m++) {
+            long mask = TRANSPOSE_MASKS[m];
+            int shift = j << 1;
+            for (int r = 0; r < BASES_PER_WORD; r = (r + j + 1) & ~j) {
+                long swap = ((block[r] >>> shift) ^ block[r + j]) & mask;
+                block[r + j] ^= swap;
+                block[r] ^= swap << shift;
+            }
+        }
+    }
+
+    /**
+     * Compares the matrix with its storage form, rows joined with '|', without building that String.
+     *
+     * @param sequence stored DNA sequence
+     * @return true if the sequence holds exactly these bases
+     */
+    public boolean matchesSequence(CharSequence sequence) {
+        int expectedLength = rows == 0 ? 0 : rows * (cols + 1) - 1;
+        if (sequence == null || sequence.length() != expectedLength) {
+            return false;
+        }
+        for (int row = 0; row < rows; row++) {
+            int offset = row * (cols + 1);
+            if (row > 0 && sequence.charAt(offset - 1) != '|') {
+                return false;
+            }
+            for (int col = 0; col < cols; col++) {
+                if (sequence.charAt(offset + col) != charAt(row, col)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof DnaMatrix other
+            && rows == other.rows && cols == other.cols && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.dna_demo.detector;
+
+import java.util.Arrays;
+
+/**
+ * Packs rows into a {@link DnaMatrix} as they are read, without building a String per row.
+ * Rows are appended from any char buffer (for example a JSON parser's text buffer),
+ * which is not retained.
+ *
+ * Shape problems and invalid characters are only recorded, never thrown here,
+ * so {@code DnaValidator} can report them in its usual order once all rows are in.
+ */
+public final class DnaMatrixBuilder {
+
+    private static final int NULL_ROW = -1;
+    private static final int INITIAL_ROWS = 16;
+
+    private int cols = -1;
+    private int wordsPerRow;
+    private int rows;
+    private int[] rowLengths = new int[INITIAL_ROWS];
+    private long[] words = new long[0];
+    private int firstInvalidRow = -1;
+
+    /**
+     * Appends the next row and packs it if the matrix can still be square: its length matches
+     * the first row and no more rows than that length have been read.
+     */
+    public void appendRow(char[] chars, int offset, int length) {
+        int row = nextRow(length);
+        if (cols < 0) {
+            cols = length;
+            wordsPerRow = DnaMatrix.wordsPerRow(cols);
+        }
+        if (length != cols || row >= cols) {
+            return;
+        }
+        // Grown with the rows actually read rather than sized from the first one,
+        // so a single long row cannot reserve a whole N x N buffer
+        int capacity = words.length / wordsPerRow;
+        if (row >= capacity) {
+            int grown = Math.min(cols, Math.max(row + 1, Math.max(INITIAL_ROWS, capacity * 2)));
+            words = Arrays.copyOf(words, grown * wordsPerRow);
+        }
+        int wordOffset = row * wordsPerRow;
+        if (!DnaMatrix.packRow(chars, offset, length, words, wordOffset) && firstInvalidRow < 0) {
+            firstInvalidRow = row;
+        }
+    }
+
+    /**
+     * Appends a missing row.
+     */
+    public void appendNullRow() {
+        nextRow(NULL_ROW);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * @return length of the given row, or -1 if it was null
+     */
+    public int rowLength(int row) {
+        return rowLengths[row];
+    }
+
+    /**
+     * @return index of the first row holding a character other than A, C, G or T, or -1
+     */
+    public int firstInvalidRow() {
+        return firstInvalidRow;
+    }
+
+    /**
+     * @return the packed matrix
+     * @throws IllegalStateException if rows were null, uneven, not square or held invalid characters
+     */
+    public DnaMatrix build() {
+        for (int row = 0; row < rows; row++) {
+            if (rowLengths[row] != cols) {
+                throw new IllegalStateException("Rows must all have the same length");
+            }
+        }
+        if (rows > 0 && rows != cols) {
+            throw new IllegalStateException("Matrix must be square");
+        }
+        if (firstInvalidRow >= 0) {
+            throw new IllegalStateException("Row " + firstInvalidRow + " holds an invalid character");
+        }
+        if (rows == 0) {
+            return new DnaMatrix(0, 0, new long[0]);
+        }
+        int size = rows * wordsPerRow;
+        return new DnaMatrix(rows, cols, words.length == size ? words : Arrays.copyOf(words, size));
+    }
+
+    private int nextRow(int length) {
+        if (rows == rowLengths.length) {
+            rowLengths = Arrays.copyOf(rowLengths, rows * 2);
+        }
+        rowLengths[rows] = length;
+        return rows++;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.dna_demo.detector;
+
+/**
+ * Reference detection kernel.
+ * Scans the matrix once per direction (horizontal, vertical, diagonal ↘, anti-diagonal ↙),
+ * stopping as soon as enough sequences are found.
+ */
+public class FourPassKernel implements DetectionKernel {
+
+    private final DetectionRule rule;
+    private final int sequenceLength;
+    private final int requiredSequences;
+
+    public FourPassKernel() {
+        this(DetectionRule.DEFAULT);
+    }
+
+    public FourPassKernel(DetectionRule rule) {
+        this.rule = rule;
+        this.sequenceLength = rule.sequenceLength();
+        this.requiredSequences = rule.requiredSequences();
+    }
+
+    @Override
+    public boolean isMutant(DnaMatrix matrix) {
+        int sequencesFound = 0;
+
+        // Check horizontal sequences
+        sequencesFound += countHorizontalSequences(matrix);
+        if (sequencesFound >= requiredSequences) {
+            return true;
+        }
+
+        // Check vertical sequences
+        sequencesFound += countVerticalSequences(matrix);
+        if (sequencesFound >= requiredSequences) {
+            return true;
+        }
+
+        // Check diagonal sequences (top-left to bottom-right)
+        sequencesFound += countDiagonalTLBRSequences(matrix);
+        if (sequencesFound >= requiredSequences) {
+            return true;
+        }
+
+        // Check diagonal sequences (top-right to bottom-left)
+        sequencesFound += countDiagonalTRBLSequences(matrix);
+
+        return sequencesFound >= requiredSequences;
+    }
+
+    private int countHorizontalSequences(DnaMatrix matrix) {
+        int count = 0;
+        for (int row = 0; row < matrix.rows(); row++) {
+            for (int col = 0; col <= matrix.cols() - sequenceLength; col++) {
+                if (hasSequence(matrix, row, col)) {
+                    count++;
+                    if (count >= requiredSequences) {
+                        return count;
+                    }
+                    // Skip remaining positions in this row to avoid counting overlapping sequences
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean hasSequence(DnaMatrix matrix, int row, int startPos) {
+        int firstBase = matrix.get(row, startPos);
+        for (int i = 1; i < sequenceLength; i++) {
+            if (matrix.get(row, startPos + i) != firstBase) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int countVerticalSequences(DnaMatrix matrix) {
+        int count = 0;
+        for (int col = 0; col < matrix.cols(); col++) {
+            for (int row = 0; row <= matrix.rows() - sequenceLength; row++) {
+                if (hasVerticalSequence(matrix, row, col)) {
+                    count++;
+                    if (count >= requiredSequences) {
+                        return count;
+                    }
+                    // Skip remaining positions in this column to avoid counting overlapping sequences
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean hasVerticalSequence(DnaMatrix matrix, int startRow, int col) {
+        int firstBase = matrix.get(startRow, col);
+        for (int i = 1; i < sequenceLength; i++) {
+            if (matrix.get(startRow + i, col) != firstBase) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int countDiagonalTLBRSequences(DnaMatrix matrix) {
+        int count = 0;
+
+        // Check diagonals starting from first row
+        for (int col = 0; col <= matrix.cols() - sequenceLength; col++) {
+            count += countDiagonalTLBRFromPosition(matrix, 0, col);
+            if (count >= requiredSequences) {
+                return count;
+            }
+        }
+
+        // Check diagonals starting from first column (excluding [0,0] already checked)
+        for (int row = 1; row <= matrix.rows() - sequenceLength; row++) {
+            count += countDiagonalTLBRFromPosition(matrix, row, 0);
+            if (count >= requiredSequences) {
+                return count;
+            }
+        }
+
+        return count;
+    }
+
+    private int countDiagonalTLBRFromPosition(DnaMatrix matrix, int startRow, int startCol) {
+        int count = 0;
+        int row = startRow;
+        int col = startCol;
+
+        while (row <= matrix.rows() - sequenceLength && col <= matrix.cols() - sequenceLength) {
+            if (hasDiagonalTLBRSequence(matrix, row, col)) {
+                count++;
+                if (count >= requiredSequences) {
+                    return count;
+                }
+                // Skip to avoid overlapping
+                row += sequenceLength;
+                col += sequenceLength;
+            } else {
+                row++;
+                col++;
+            }
+        }
+
+        return count;
+    }
+
+    private boolean hasDiagonalTLBRSequence(DnaMatrix matrix, int startRow, int startCol) {
+        int firstBase = matrix.get(startRow, startCol);
+        for (int i = 1; i < sequenceLength; i++) {
+            if (matrix.get(startRow + i, startCol + i) != firstBase) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int countDiagonalTRBLSequences(DnaMatrix matrix) {
+        int count = 0;
+        int lastCol = matrix.cols() - 1;
+
+        // Check diagonals starting from first row
+        for (int col = sequenceLength - 1; col <= lastCol; col++) {
+            count += countDiagonalTRBLFromPosition(matrix, 0, col);
+            if (count >= requiredSequences) {
+                return count;
+            }
+        }
+
+        // Check diagonals starting from last column (excluding [0, n-1] already checked)
+        for (int row = 1; row <= matrix.rows() - sequenceLength; row++) {
+            count += countDiagonalTRBLFromPosition(matrix, row, lastCol);
+            if (count >= requiredSequences) {
+                return count;
+            }
+        }
+
+        return count;
+    }
+
+    private int countDiagonalTRBLFromPosition(DnaMatrix matrix, int startRow, int startCol) {
+        int count = 0;
+        int row = startRow;
+        int col = startCol;
+
+        while (row <= matrix.rows() - sequenceLength && col >= sequenceLength - 1) {
+            if (hasDiagonalTRBLSequence(matrix, row, col)) {
+                count++;
+                if (count >= requiredSequences) {
+                    return count;
+                }
+                // Skip to avoid overlapping
+                row += sequenceLength;
+                col -= sequenceLength;
+            } else {
+                row++;
+                col--;
+            }
+        }
+
+        return count;
+    }
+
+    private boolean hasDiagonalTRBLSequence(DnaMatrix matrix, int startRow, int startCol) {
+        int firstBase = matrix.get(startRow, startCol);
+        for (int i = 1; i < sequenceLength; i++) {
+            if (matrix.get(startRow + i, startCol - i) != firstBase) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public DetectionRule rule() {
+        return rule;
+    }
+}
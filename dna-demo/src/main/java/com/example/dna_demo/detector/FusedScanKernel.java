@@ -0,0 +1,44 @@
+package com.example.dna_demo.detector;
+
+/**
+ * Single-pass detection kernel.
+ * Walks the matrix once in row-major order, keeping rolling run lengths for the
+ * current row, every column, every diagonal (↘) and every anti-diagonal (↙).
+ * Each packed word is read exactly once, so a human DNA scan (no early exit)
+ * touches a quarter of the memory the four-pass kernel does.
+ *
+ * Counting rules match {@link FourPassKernel}: a row or column counts once,
+ * a diagonal counts each non-overlapping sequence (its run restarts after a hit).
+ * The scan itself is a {@link DetectionSession} fed with the decoded rows.
+ */
+public class FusedScanKernel implements DetectionKernel {
+
+    private final DetectionRule rule;
+
+    public FusedScanKernel() {
+        this(DetectionRule.DEFAULT);
+    }
+
+    public FusedScanKernel(DetectionRule rule) {
+        this.rule = rule;
+    }
+
+    @Override
+    public boolean isMutant(DnaMatrix matrix) {
+        DetectionSession session = new DetectionSession(matrix.rows(), matrix.cols(), rule);
+        byte[] row = new byte[matrix.cols()];
+
+        for (int r = 0; r < matrix.rows(); r++) {
+            matrix.decodeRow(r, row);
+            if (session.acceptRow(row)) {
+                return true;
+            }
+        }
+        return session.finish();
+    }
+
+    @Override
+    public DetectionRule rule() {
+        return rule;
+    }
+}
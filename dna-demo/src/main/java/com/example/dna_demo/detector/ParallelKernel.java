@@ -0,0 +1,274 @@
+package com.example.dna_demo.detector;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fork/join detection kernel for very large matrices.
+ * Matrices with fewer rows than the threshold go straight to the sequential kernel.
+ * Larger ones are split into row bands scanned concurrently on a dedicated fork/join pool.
+ * The counting rule is taken from the sequential kernel.
+ *
+ * A band owns the window start rows [from, to) and reads a halo of
+ * {@code sequenceLength - 1} rows below it, plus one row above to find run starts.
+ * Counting follows the sequential rules exactly:
+ * <ul>
+ *   <li>a row lies in a single band and counts once;</li>
+ *   <li>a column counts once, claimed through a shared flag by the first band that sees it;</li>
+ *   <li>a diagonal run counts {@code length / sequenceLength} non-overlapping sequences and
+ *       belongs to the band holding its first cell, which follows it past the halo if needed.</li>
+ * </ul>
+ * All bands add to one shared counter and stop as soon as it reaches {@code requiredSequences}.
+ */
+public class ParallelKernel implements DetectionKernel, AutoCloseable {
+
+    private static final int MIN_BAND_ROWS = 64;
+
+    private final DetectionKernel sequentialKernel;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final int minBandRows;
+    private final int sequenceLength;
+    private final int requiredSequences;
+
+    public ParallelKernel(DetectionKernel sequentialKernel, int parallelism, int threshold) {
+        this(sequentialKernel, parallelism, threshold, MIN_BAND_ROWS);
+    }
+
+    ParallelKernel(DetectionKernel sequentialKernel, int parallelism, int threshold, int minBandRows) {
+        this.sequentialKernel = sequentialKernel;
+        this.pool = new ForkJoinPool(parallelism);
+        this.threshold = threshold;
+        this.minBandRows = minBandRows;
+        this.sequenceLength = sequentialKernel.rule().sequenceLength();
+        this.requiredSequences = sequentialKernel.rule().requiredSequences();
+    }
+
+    @Override
+    public boolean isMutant(DnaMatrix matrix) {
+        if (matrix.rows() < threshold) {
+            return sequentialKernel.isMutant(matrix);
+        }
+
+        // Aim for a few bands per worker so stragglers can be balanced by work stealing
+        int bandRows = Math.max(minBandRows, matrix.rows() / (pool.getParallelism() * 4));
+        Scan scan = new Scan(matrix, sequenceLength, requiredSequences);
+        pool.invoke(new BandTask(scan, 0, matrix.rows(), bandRows));
+        return scan.sequencesFound.get() >= requiredSequences;
+    }
+
+    @Override
+    public DetectionRule rule() {
+        return sequentialKernel.rule();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * State shared by all bands of one request.
+     */
+    private static final class Scan {
+        private final DnaMatrix matrix;
+        private final int sequenceLength;
+        private final int requiredSequences;
+        private final boolean defaultLength;
+        private final AtomicInteger sequencesFound = new AtomicInteger();
+        private final AtomicIntegerArray columnFound;
+
+        Scan(DnaMatrix matrix, int sequenceLength, int requiredSequences) {
+            this.matrix = matrix;
+            this.sequenceLength = sequenceLength;
+            this.requiredSequences = requiredSequences;
+            this.defaultLength = sequenceLength == DetectionRule.DEFAULT.sequenceLength();
+            this.columnFound = new AtomicIntegerArray(matrix.cols());
+        }
+
+        boolean done() {
+            return sequencesFound.get() >= requiredSequences;
+        }
+
+        void found(int sequences) {
+            sequencesFound.addAndGet(sequences);
+        }
+    }
+
+    private static final class BandTask extends RecursiveAction {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+        private final int bandRows;
+
+        BandTask(Scan scan, int from, int to, int bandRows) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (scan.done()) {
+                return;
+            }
+            if (to - from > bandRows) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BandTask(scan, from, middle, bandRows), new BandTask(scan, middle, to, bandRows));
+                return;
+            }
+            scanBand();
+        }
+
+        private void scanBand() {
+            DnaMatrix matrix = scan.matrix;
+            int rows = matrix.rows();
+            int cols = matrix.cols();
+            int sequenceLength = scan.sequenceLength;
+
+            // Rolling window over the row above, the current row and the halo rows below it
+            int ringSize = sequenceLength + 1;
+            byte[][] ring = new byte[ringSize][cols];
+            byte[][] window = new byte[sequenceLength][];
+            int nextToDecode = Math.max(from - 1, 0);
+
+            for (int row = from; row < to; row++) {
+                if (scan.done()) {
+                    return;
+                }
+                for (int needed = Math.min(row + sequenceLength, rows); nextToDecode < needed; nextToDecode++) {
+                    matrix.decodeRow(nextToDecode, ring[nextToDecode % ringSize]);
+                }
+                byte[] current = ring[row % ringSize];
+                byte[] above = row > 0 ? ring[(row - 1) % ringSize] : null;
+                scanRow(current);
+
+                if (row > rows - sequenceLength) {
+                    continue;
+                }
+                if (scan.defaultLength) {
+                    scanDefaultWindows(row, above, current,
+                        ring[(row + 1) % ringSize], ring[(row + 2) % ringSize], ring[(row + 3) % ringSize]);
+                } else {
+                    for (int i = 0; i < sequenceLength; i++) {
+                        window[i] = ring[(row + i) % ringSize];
+                    }
+                    scanWindows(row, above, window);
+                }
+            }
+        }
+
+        /**
+         * Windows of the default length, compared without a loop like the original fixed-size kernel.
+         */
+        private void scanDefaultWindows(int row, byte[] above, byte[] current, byte[] r1, byte[] r2, byte[] r3) {
+            int cols = current.length;
+            for (int col = 0; col < cols; col++) {
+                byte base = current[col];
+
+                if (base == r1[col] && base == r2[col] && base == r3[col]) {
+                    columnHit(col);
+                }
+                if (col <= cols - 4
+                    && base == r1[col + 1] && base == r2[col + 2] && base == r3[col + 3]) {
+                    diagonalHit(row, col, 1, above, base);
+                }
+                if (col >= 3
+                    && base == r1[col - 1] && base == r2[col - 2] && base == r3[col - 3]) {
+                    diagonalHit(row, col, -1, above, base);
+                }
+            }
+        }
+
+        private void scanWindows(int row, byte[] above, byte[][] window) {
+            int cols = window[0].length;
+            int sequenceLength = window.length;
+            for (int col = 0; col < cols; col++) {
+                byte base = window[0][col];
+
+                if (matches(window, col, 0)) {
+                    columnHit(col);
+                }
+                if (col <= cols - sequenceLength && matches(window, col, 1)) {
+                    diagonalHit(row, col, 1, above, base);
+                }
+                if (col >= sequenceLength - 1 && matches(window, col, -1)) {
+                    diagonalHit(row, col, -1, above, base);
+                }
+            }
+        }
+
+        private void columnHit(int col) {
+            if (scan.columnFound.compareAndSet(col, 0, 1)) {
+                scan.found(1);
+            }
+        }
+
+        /**
+         * Counts a diagonal ↘ (colStep 1) or anti-diagonal ↙ (colStep -1) window only where its run starts,
+         * i.e. the previous cell on the line (up-left or up-right) differs or is outside the matrix.
+         */
+        private void diagonalHit(int row, int col, int colStep, byte[] above, byte base) {
+            int previousCol = col - colStep;
+            if (above == null || previousCol < 0 || previousCol >= above.length || above[previousCol] != base) {
+                scan.found(runLength(row, col, colStep, base) / scan.sequenceLength);
+            }
+        }
+
+        private void scanRow(byte[] current) {
+            for (int col = 0; col <= current.length - scan.sequenceLength; col++) {
+                byte base = current[col];
+                boolean found = scan.defaultLength
+                    ? base == current[col + 1] && base == current[col + 2] && base == current[col + 3]
+                    : matchesInRow(current, col);
+                if (found) {
+                    scan.found(1);
+                    return;
+                }
+            }
+        }
+
+        private boolean matchesInRow(byte[] row, int col) {
+            for (int i = 1; i < scan.sequenceLength; i++) {
+                if (row[col + i] != row[col]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Checks the window starting at the given column of its first row,
+         * where row i of the window is read {@code i * colStep} columns away.
+         */
+        private boolean matches(byte[][] window, int col, int colStep) {
+            byte base = window[0][col];
+            for (int i = 1; i < window.length; i++) {
+                if (window[i][col + i * colStep] != base) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Follows a diagonal run that is known to have at least {@code sequenceLength} cells,
+         * reading past the halo when the run is longer.
+         */
+        private int runLength(int row, int col, int colStep, byte base) {
+            DnaMatrix matrix = scan.matrix;
+            int length = scan.sequenceLength;
+            int r = row + length;
+            int c = col + length * colStep;
+            while (r < matrix.rows() && c >= 0 && c < matrix.cols() && matrix.get(r, c) == base) {
+                length++;
+                r++;
+                c += colStep;
+            }
+            return length;
+        }
+    }
+}
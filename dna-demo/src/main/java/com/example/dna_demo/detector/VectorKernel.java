@@ -0,0 +1,233 @@
+package com.example.dna_demo.detector;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD detection kernel built on the incubating JDK Vector API.
+ * For every window start row k it compares row k against rows k+1..k+L-1 lane by lane:
+ * unshifted for vertical windows, shifted by one lane per row for diagonal windows,
+ * and row k against itself shifted for horizontal windows.
+ *
+ * Each window hit is then attributed to its line: a row or column counts once,
+ * and a diagonal counts a hit only if it starts after the previous counted sequence,
+ * which is exactly the greedy non-overlap rule of {@link FourPassKernel}.
+ * Columns that do not fill a whole vector are handled by the scalar tail loops.
+ * Hit masks are tested with {@code anyTrue()} before extracting lane bits, since
+ * {@code toLong()} is not intrinsified on JDK 17 and most vectors have no hit.
+ * The window length comes from the {@link DetectionRule}; the default length 4 keeps an
+ * unrolled comparison.
+ *
+ * Requires {@code --add-modules jdk.incubator.vector}; only instantiate when the module is present.
+ */
+public class VectorKernel implements DetectionKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private final DetectionRule rule;
+    private final int sequenceLength;
+    private final int requiredSequences;
+
+    public VectorKernel() {
+        this(DetectionRule.DEFAULT);
+    }
+
+    public VectorKernel(DetectionRule rule) {
+        this.rule = rule;
+        this.sequenceLength = rule.sequenceLength();
+        this.requiredSequences = rule.requiredSequences();
+    }
+
+    @Override
+    public boolean isMutant(DnaMatrix matrix) {
+        return new Scan(matrix, sequenceLength, requiredSequences).run();
+    }
+
+    @Override
+    public DetectionRule rule() {
+        return rule;
+    }
+
+    /**
+     * Per-request scan state.
+     */
+    private static final class Scan {
+        private final DnaMatrix matrix;
+        private final int rows;
+        private final int cols;
+        private final int sequenceLength;
+        private final int requiredSequences;
+        private final byte[][] ring;
+        private final boolean defaultLength;
+        // Rows k..k+L-1 of the current window, in order
+        private final byte[][] window;
+        // The current row repeated, so horizontal windows share the window comparison
+        private final byte[][] rowWindow;
+        private final boolean[] columnFound;
+        private final int[] nextDiagonalRow;
+        private final int[] nextAntiDiagonalRow;
+        private int sequencesFound;
+
+        Scan(DnaMatrix matrix, int sequenceLength, int requiredSequences) {
+            this.matrix = matrix;
+            this.rows = matrix.rows();
+            this.cols = matrix.cols();
+            this.sequenceLength = sequenceLength;
+            this.requiredSequences = requiredSequences;
+            this.ring = new byte[sequenceLength][cols];
+            this.defaultLength = sequenceLength == DetectionRule.DEFAULT.sequenceLength();
+            this.window = new byte[sequenceLength][];
+            this.rowWindow = new byte[sequenceLength][];
+            this.columnFound = new boolean[cols];
+            this.nextDiagonalRow = new int[rows + cols - 1];
+            this.nextAntiDiagonalRow = new int[rows + cols - 1];
+        }
+
+        boolean run() {
+            // Prime the ring with rows 0..L-2; each row is decoded exactly once
+            for (int i = 0; i < sequenceLength - 1 && i < rows; i++) {
+                matrix.decodeRow(i, ring[i]);
+            }
+
+            for (int k = 0; k < rows; k++) {
+                byte[] r0 = ring[k % sequenceLength];
+                if (scanHorizontal(r0)) {
+                    return true;
+                }
+                if (k > rows - sequenceLength) {
+                    continue;
+                }
+
+                int last = k + sequenceLength - 1;
+                matrix.decodeRow(last, ring[last % sequenceLength]);
+                for (int i = 0; i < sequenceLength; i++) {
+                    window[i] = ring[(k + i) % sequenceLength];
+                }
+
+                if (scanVertical() || scanDiagonal(k) || scanAntiDiagonal(k)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean scanHorizontal(byte[] r) {
+            Arrays.fill(rowWindow, r);
+            int limit = cols - sequenceLength;
+            int col = 0;
+            for (; col + SPECIES.length() - 1 <= limit; col += SPECIES.length()) {
+                if (windowMask(rowWindow, col, 1).anyTrue()) {
+                    return found();
+                }
+            }
+            for (; col <= limit; col++) {
+                if (windowMatches(rowWindow, col, 1)) {
+                    return found();
+                }
+            }
+            return false;
+        }
+
+        private boolean scanVertical() {
+            return scanWindows(0, 0, cols, 0);
+        }
+
+        private boolean scanDiagonal(int k) {
+            return scanWindows(1, 0, cols - sequenceLength + 1, k);
+        }
+
+        private boolean scanAntiDiagonal(int k) {
+            return scanWindows(-1, sequenceLength - 1, cols, k);
+        }
+
+        /**
+         * Scans the windows starting on row k at columns [from, to), where row k+i is read
+         * {@code i * colStep} columns away. Vertical windows (colStep 0) count per column,
+         * diagonal ones per line.
+         */
+        private boolean scanWindows(int colStep, int from, int to, int k) {
+            int col = from;
+            for (; col + SPECIES.length() <= to; col += SPECIES.length()) {
+                VectorMask<Byte> mask = windowMask(window, col, colStep);
+                if (!mask.anyTrue()) {
+                    continue;
+                }
+                for (long hits = mask.toLong(); hits != 0; hits &= hits - 1) {
+                    if (windowHit(col + Long.numberOfTrailingZeros(hits), colStep, k)) {
+                        return true;
+                    }
+                }
+            }
+            for (; col < to; col++) {
+                if (windowMatches(window, col, colStep) && windowHit(col, colStep, k)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Lanes whose window matches: row 0 of the window at col, row i at {@code col + i * colStep}.
+         * The default length is compared without a loop, so it keeps the cost of the original
+         * fixed-size kernel; other lengths loop over the window rows.
+         */
+        private VectorMask<Byte> windowMask(byte[][] rows, int col, int colStep) {
+            ByteVector a = ByteVector.fromArray(SPECIES, rows[0], col);
+            if (defaultLength) {
+                return a.eq(ByteVector.fromArray(SPECIES, rows[1], col + colStep))
+                    .and(a.eq(ByteVector.fromArray(SPECIES, rows[2], col + 2 * colStep)))
+                    .and(a.eq(ByteVector.fromArray(SPECIES, rows[3], col + 3 * colStep)));
+            }
+            VectorMask<Byte> mask = a.eq(ByteVector.fromArray(SPECIES, rows[1], col + colStep));
+            for (int i = 2; i < sequenceLength; i++) {
+                mask = mask.and(a.eq(ByteVector.fromArray(SPECIES, rows[i], col + i * colStep)));
+            }
+            return mask;
+        }
+
+        private boolean windowMatches(byte[][] rows, int col, int colStep) {
+            byte base = rows[0][col];
+            for (int i = 1; i < sequenceLength; i++) {
+                if (rows[i][col + i * colStep] != base) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean windowHit(int col, int colStep, int k) {
+            if (colStep == 0) {
+                return columnHit(col);
+            }
+            return colStep > 0
+                ? lineHit(nextDiagonalRow, col - k + rows - 1, k)
+                : lineHit(nextAntiDiagonalRow, col + k, k);
+        }
+
+        private boolean columnHit(int col) {
+            if (columnFound[col]) {
+                return false;
+            }
+            columnFound[col] = true;
+            return found();
+        }
+
+        /**
+         * Counts a diagonal window only if it does not overlap the last counted one on that line.
+         */
+        private boolean lineHit(int[] nextRow, int line, int row) {
+            if (row < nextRow[line]) {
+                return false;
+            }
+            nextRow[line] = row + sequenceLength;
+            return found();
+        }
+
+        private boolean found() {
+            return ++sequencesFound >= requiredSequences;
+        }
+    }
+}
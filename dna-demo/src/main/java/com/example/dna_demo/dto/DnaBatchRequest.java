@@ -0,0 +1,16 @@
+package com.example.dna_demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record DnaBatchRequest(
+    @NotEmpty(message = "DNA batch cannot be empty")
+    @Size(max = DnaBatchRequest.MAX_ITEMS, message = "DNA batch cannot hold more than 1000 items")
+    List<@Valid @NotNull(message = "DNA batch item cannot be null") DnaRequest> items
+) {
+    public static final int MAX_ITEMS = 1000;
+}
@@ -0,0 +1,8 @@
+package com.example.dna_demo.dto;
+
+import java.util.List;
+
+/**
+ * Verdict per batch item, in request order: true if mutant, false if human.
+ */
+public record DnaBatchResponse(List<Boolean> verdicts) {}
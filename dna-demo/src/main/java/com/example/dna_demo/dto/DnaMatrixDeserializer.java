@@ -0,0 +1,60 @@
+package com.example.dna_demo.dto;
+
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.detector.DnaMatrixBuilder;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.metrics.DnaMetrics.Stage;
+import com.example.dna_demo.validator.DnaValidator;
+import org.springframework.boot.jackson.JacksonComponent;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Reads a JSON array of DNA rows straight into a packed {@link DnaMatrix}.
+ * Each row is packed from the parser's own text buffer, so no String is created per row,
+ * then the result goes through the same {@link DnaValidator} bean as a {@code String[]} body.
+ * Registered for every {@link DnaMatrix} property as a Jackson component.
+ *
+ * This is where JSON requests are validated, so the {@code validation} stage is timed here:
+ * from the opening bracket to the packed matrix, reading the rows included.
+ */
+@JacksonComponent
+public class DnaMatrixDeserializer extends ValueDeserializer<DnaMatrix> {
+
+    private final DnaValidator dnaValidator;
+    private final DnaMetrics dnaMetrics;
+
+    public DnaMatrixDeserializer(DnaValidator dnaValidator, DnaMetrics dnaMetrics) {
+        this.dnaValidator = dnaValidator;
+        this.dnaMetrics = dnaMetrics;
+    }
+
+    @Override
+    public DnaMatrix deserialize(JsonParser parser, DeserializationContext context) {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (DnaMatrix) context.handleUnexpectedToken(DnaMatrix.class, parser);
+        }
+        return dnaMetrics.time(Stage.VALIDATION, () -> readRows(parser, context));
+    }
+
+    private DnaMatrix readRows(JsonParser parser, DeserializationContext context) {
+        DnaMatrixBuilder rows = new DnaMatrixBuilder();
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == JsonToken.VALUE_STRING) {
+                rows.appendRow(parser.getStringCharacters(), parser.getStringOffset(), parser.getStringLength());
+            } else if (token == JsonToken.VALUE_NULL) {
+                rows.appendNullRow();
+            } else {
+                return (DnaMatrix) context.handleUnexpectedToken(String.class, parser);
+            }
+        }
+        return dnaValidator.validateAndEncode(rows);
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return DnaMatrix.class;
+    }
+}
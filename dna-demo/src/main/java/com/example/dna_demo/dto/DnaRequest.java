@@ -1,8 +1,9 @@
 package com.example.dna_demo.dto;
 
+import com.example.dna_demo.detector.DnaMatrix;
 import jakarta.validation.constraints.NotNull;
 
 public record DnaRequest(
     @NotNull(message = "DNA sequence cannot be null")
-    String[] dna
+    DnaMatrix dna
 ) {}
@@ -0,0 +1,99 @@
+package com.example.dna_demo.dto;
+
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.exception.InvalidDnaException;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.metrics.DnaMetrics.Stage;
+import com.example.dna_demo.validator.DnaValidator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@code application/x-dna-packed} bodies for callers that already hold
+ * DNA in binary form.
+ *
+ * Layout: N as a 4-byte big-endian integer, then N rows of {@code ceil(N / 4)} bytes.
+ * Each byte holds four bases, the first one in the two lowest bits, coded A=0, C=1, G=2, T=3;
+ * unused bits at the end of a row are ignored. A 6x6 matrix takes 4 + 6 * 2 = 16 bytes.
+ * Checking and unpacking a read body is timed as the {@code validation} stage.
+ */
+@Component
+public class PackedDnaMessageConverter extends AbstractHttpMessageConverter<DnaMatrix> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-dna-packed";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int HEADER_BYTES = Integer.BYTES;
+
+    private final DnaValidator dnaValidator;
+    private final DnaMetrics dnaMetrics;
+
+    public PackedDnaMessageConverter(DnaValidator dnaValidator, DnaMetrics dnaMetrics) {
+        super(MEDIA_TYPE);
+        this.dnaValidator = dnaValidator;
+        this.dnaMetrics = dnaMetrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DnaMatrix.class == clazz;
+    }
+
+    @Override
+    protected DnaMatrix readInternal(Class<? extends DnaMatrix> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        return dnaMetrics.time(Stage.VALIDATION, () -> decode(body));
+    }
+
+    private DnaMatrix decode(byte[] body) {
+        if (body.length < HEADER_BYTES) {
+            throw malformed();
+        }
+
+        int n = (body[0] & 0xFF) << 24 | (body[1] & 0xFF) << 16 | (body[2] & 0xFF) << 8 | (body[3] & 0xFF);
+        // long arithmetic so a forged header cannot overflow into a matching length
+        if (n < 0 || HEADER_BYTES + (long) n * DnaMatrix.packedRowBytes(n) != body.length) {
+            throw malformed();
+        }
+        return dnaValidator.validateShape(DnaMatrix.fromPackedBytes(n, n, body, HEADER_BYTES));
+    }
+
+    @Override
+    protected void writeInternal(DnaMatrix matrix, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(toBytes(matrix));
+    }
+
+    @Override
+    protected Long getContentLength(DnaMatrix matrix, MediaType contentType) {
+        return size(matrix);
+    }
+
+    /**
+     * Encodes a square matrix in the {@code application/x-dna-packed} layout.
+     */
+    public static byte[] toBytes(DnaMatrix matrix) {
+        int n = matrix.rows();
+        byte[] bytes = new byte[Math.toIntExact(size(matrix))];
+        bytes[0] = (byte) (n >>> 24);
+        bytes[1] = (byte) (n >>> 16);
+        bytes[2] = (byte) (n >>> 8);
+        bytes[3] = (byte) n;
+        matrix.toPackedBytes(bytes, HEADER_BYTES);
+        return bytes;
+    }
+
+    private static long size(DnaMatrix matrix) {
+        return HEADER_BYTES + (long) matrix.rows() * DnaMatrix.packedRowBytes(matrix.cols());
+    }
+
+    private static InvalidDnaException malformed() {
+        return new InvalidDnaException(
+            "Packed DNA body must be a 4-byte size N followed by N rows of N 2-bit bases");
+    }
+}
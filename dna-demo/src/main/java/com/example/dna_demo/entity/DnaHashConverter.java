@@ -0,0 +1,22 @@
+package com.example.dna_demo.entity;
+
+import com.example.dna_demo.util.DnaHash;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link DnaHash} to its 32-byte {@code BINARY(32)} column value.
+ */
+@Converter
+public class DnaHashConverter implements AttributeConverter<DnaHash, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(DnaHash dnaHash) {
+        return dnaHash == null ? null : dnaHash.toBytes();
+    }
+
+    @Override
+    public DnaHash convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : DnaHash.fromBytes(bytes);
+    }
+}
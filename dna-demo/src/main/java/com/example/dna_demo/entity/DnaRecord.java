@@ -1,5 +1,6 @@
 package com.example.dna_demo.entity;
 
+import com.example.dna_demo.util.DnaHash;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,8 +22,9 @@ public class DnaRecord {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "dna_hash", nullable = false, unique = true, length = 64)
-    private String dnaHash;
+    @Convert(converter = DnaHashConverter.class)
+    @Column(name = "dna_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private DnaHash dnaHash;
 
     @Column(name = "dna_sequence", nullable = false, columnDefinition = "TEXT")
     private String dnaSequence;
@@ -34,7 +36,7 @@ public class DnaRecord {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    public DnaRecord(String dnaHash, String dnaSequence, Boolean isMutant) {
+    public DnaRecord(DnaHash dnaHash, String dnaSequence, Boolean isMutant) {
         this.dnaHash = dnaHash;
         this.dnaSequence = dnaSequence;
         this.isMutant = isMutant;
@@ -0,0 +1,13 @@
+package com.example.dna_demo.entity;
+
+import com.example.dna_demo.util.DnaHash;
+
+/**
+ * Projection of a stored verdict: reads the key and {@code is_mutant} without the DNA sequence.
+ */
+public interface DnaVerdict {
+
+    DnaHash getDnaHash();
+
+    Boolean getIsMutant();
+}
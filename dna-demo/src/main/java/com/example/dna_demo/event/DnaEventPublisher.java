@@ -2,9 +2,13 @@ package com.example.dna_demo.event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Publisher for DNA verification events.
  * Publishes events to Redis Pub/Sub channel for consumption by stats-service.
@@ -33,4 +37,32 @@ public class DnaEventPublisher {
             throw new RuntimeException("Event publishing failed", e);
         }
     }
+
+    /**
+     * Publishes several DNA verification events in one pipelined round trip.
+     * Each event is serialized and sent to the same channel exactly as {@link #publish(DnaVerifiedEvent)} does.
+     *
+     * @param events the events to publish, in order
+     * @throws RuntimeException if event publishing fails
+     */
+    @SuppressWarnings("unchecked")
+    public void publishAll(List<DnaVerifiedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            byte[] channel = redisTemplate.getStringSerializer().serialize(DNA_EVENTS_CHANNEL);
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (DnaVerifiedEvent event : events) {
+                    connection.publish(channel, valueSerializer.serialize(event));
+                }
+                return null;
+            });
+            log.info("Published {} DNA verification events", events.size());
+        } catch (Exception e) {
+            log.error("Failed to publish {} DNA events", events.size(), e);
+            throw new RuntimeException("Event publishing failed", e);
+        }
+    }
 }
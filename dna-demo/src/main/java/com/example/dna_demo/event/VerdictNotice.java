@@ -0,0 +1,67 @@
+package com.example.dna_demo.event;
+
+import com.example.dna_demo.util.DnaHash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verdict cache notice exchanged on {@link #CHANNEL} between dna-demo instances and dna-reactive.
+ * A fill carries a verdict that was just stored, so other instances answer it from heap;
+ * an invalidation (null verdict) drops a hash whose record was removed.
+ *
+ * A message holds one or more entries separated by spaces: the verdict as the shared cache stores it
+ * ("1" mutant, "0" human) or "x" for an invalidation, followed by the hash in hex.
+ *
+ * @param dnaHash dedup key
+ * @param mutant stored verdict, or null if the hash is no longer stored
+ */
+public record VerdictNotice(DnaHash dnaHash, Boolean mutant) {
+
+    public static final String CHANNEL = "dna-verdicts";
+
+    private static final int ENTRY_CHARS = 1 + DnaHash.BYTES * 2;
+
+    public static VerdictNotice fill(DnaHash dnaHash, boolean mutant) {
+        return new VerdictNotice(dnaHash, mutant);
+    }
+
+    public static VerdictNotice invalidation(DnaHash dnaHash) {
+        return new VerdictNotice(dnaHash, null);
+    }
+
+    public boolean isInvalidation() {
+        return mutant == null;
+    }
+
+    public static String encode(List<VerdictNotice> notices) {
+        StringBuilder message = new StringBuilder(notices.size() * (ENTRY_CHARS + 1));
+        for (VerdictNotice notice : notices) {
+            if (!message.isEmpty()) {
+                message.append(' ');
+            }
+            message.append(notice.isInvalidation() ? 'x' : notice.mutant() ? '1' : '0').append(notice.dnaHash().toHex());
+        }
+        return message.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the message was not written by {@link #encode(List)}
+     */
+    public static List<VerdictNotice> decode(String message) {
+        List<VerdictNotice> notices = new ArrayList<>();
+        for (String entry : message.split(" ")) {
+            if (entry.length() != ENTRY_CHARS) {
+                throw new IllegalArgumentException("Malformed verdict notice: " + entry);
+            }
+            DnaHash dnaHash = DnaHash.fromHex(entry.substring(1));
+            notices.add(switch (entry.charAt(0)) {
+                case '1' -> fill(dnaHash, true);
+                case '0' -> fill(dnaHash, false);
+                case 'x' -> invalidation(dnaHash);
+                default -> throw new IllegalArgumentException("Malformed verdict notice: " + entry);
+            });
+        }
+        return notices;
+    }
+}
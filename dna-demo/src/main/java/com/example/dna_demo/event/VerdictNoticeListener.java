@@ -0,0 +1,64 @@
+package com.example.dna_demo.event;
+
+import com.example.dna_demo.config.HashProperties;
+import com.example.dna_demo.repository.KnownHashFilter;
+import com.example.dna_demo.repository.VerdictCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscriber for verdict notices from other dna-demo instances and dna-reactive.
+ * Fills go to the near verdict cache and the known-hash filter, so this instance answers them without
+ * Redis or the database; invalidations drop the near copy.
+ * Meter: {@code dna.cache.notices} tagged {@code type=fill|invalidation}.
+ */
+@Component
+@Slf4j
+public class VerdictNoticeListener implements MessageListener {
+
+    private final VerdictCache verdictCache;
+    private final KnownHashFilter knownHashFilter;
+    private final HashProperties hashProperties;
+    private final Counter fills;
+    private final Counter invalidations;
+
+    public VerdictNoticeListener(VerdictCache verdictCache, KnownHashFilter knownHashFilter,
+                                 HashProperties hashProperties, MeterRegistry meterRegistry) {
+        this.verdictCache = verdictCache;
+        this.knownHashFilter = knownHashFilter;
+        this.hashProperties = hashProperties;
+        this.fills = Counter.builder("dna.cache.notices")
+            .description("Verdict notices received from other instances")
+            .tag("type", "fill")
+            .register(meterRegistry);
+        this.invalidations = Counter.builder("dna.cache.notices")
+            .description("Verdict notices received from other instances")
+            .tag("type", "invalidation")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            for (VerdictNotice notice : VerdictNotice.decode(new String(message.getBody(), StandardCharsets.US_ASCII))) {
+                if (notice.isInvalidation()) {
+                    invalidations.increment();
+                    verdictCache.apply(notice, hashProperties.algorithm());
+                } else if (!hashProperties.algorithm().verifiesSequence()) {
+                    // Fills are keyed by SHA-256; instances keyed by fingerprint have no use for them
+                    fills.increment();
+                    verdictCache.apply(notice, hashProperties.algorithm());
+                    knownHashFilter.put(notice.dnaHash());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring verdict notice: {}", e.getMessage());
+        }
+    }
+}
@@ -32,6 +32,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, String>> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
+        // DNA validation runs while the body is decoded, keep its message; other decoding errors stay generic
+        if (ex.getMostSpecificCause() instanceof InvalidDnaException cause) {
+            return handleIllegalArgumentException(cause);
+        }
         Map<String, String> error = new HashMap<>();
         error.put("error", "Invalid request body format");
         return ResponseEntity.badRequest().body(error);
@@ -40,7 +44,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<Map<String, String>> handleHttpMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex) {
         Map<String, String> error = new HashMap<>();
-        error.put("error", "Content type not supported. Use application/json");
+        error.put("error", "Content type not supported. Use application/json or application/x-dna-packed");
         return ResponseEntity.badRequest().body(error);
     }
 }
@@ -0,0 +1,12 @@
+package com.example.dna_demo.exception;
+
+/**
+ * DNA in a request body that fails validation. Its message is written for the caller,
+ * so it is returned as the 400 body even when the body decoder wraps it.
+ */
+public class InvalidDnaException extends IllegalArgumentException {
+
+    public InvalidDnaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.dna_demo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the verification hot path, exposed at {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code dna.verify.stage} timer, tagged {@code stage}: one per {@link Stage}</li>
+ *   <li>{@code dna.verify.dedup} counter, tagged {@code result=hit|miss}: requests answered from a stored verdict or verified anew</li>
+ *   <li>{@code dna.verify.collision} counter: fingerprint matches whose stored sequence was another DNA</li>
+ *   <li>{@code dna.verify.coalesced} counter: requests that waited for a concurrent verification of the same DNA</li>
+ *   <li>{@code dna.matrix.size} summary: N of each verified matrix</li>
+ * </ul>
+ *
+ * Every meter is registered once up front, so recording is a clock read and an atomic update,
+ * without a registry lookup or tag allocation per request.
+ */
+@Component
+public class DnaMetrics {
+
+    public enum Stage {
+        VALIDATION("validation"),
+        HASH("hash"),
+        SHARED_LOOKUP("shared-lookup"),
+        LOOKUP("lookup"),
+        DETECTION("detection"),
+        SAVE("save"),
+        PUBLISH("publish");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+    private final Counter dedupHits;
+    private final Counter dedupMisses;
+    private final Counter collisions;
+    private final Counter coalesced;
+    private final DistributionSummary matrixSize;
+
+    public DnaMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("dna.verify.stage")
+                .description("Time spent in each stage of DNA verification")
+                .tag("stage", stage.tag)
+                .register(registry);
+        }
+        dedupHits = Counter.builder("dna.verify.dedup")
+            .description("Verifications answered from a stored verdict (hit) or verified anew (miss)")
+            .tag("result", "hit")
+            .register(registry);
+        dedupMisses = Counter.builder("dna.verify.dedup")
+            .description("Verifications answered from a stored verdict (hit) or verified anew (miss)")
+            .tag("result", "miss")
+            .register(registry);
+        collisions = Counter.builder("dna.verify.collision")
+            .description("Fingerprint matches whose stored sequence was another DNA")
+            .register(registry);
+        coalesced = Counter.builder("dna.verify.coalesced")
+            .description("Verifications that shared the verdict of a concurrent verification of the same DNA")
+            .register(registry);
+        matrixSize = DistributionSummary.builder("dna.matrix.size")
+            .description("Size N of verified NxN matrices")
+            .baseUnit("rows")
+            .register(registry);
+    }
+
+    /**
+     * Runs a stage and records its duration, also when it throws
+     */
+    public <T> T time(Stage stage, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            stageTimers[stage.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Runs a stage without a result and records its duration, also when it throws
+     */
+    public void time(Stage stage, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            stageTimers[stage.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void dedupHit(int count) {
+        dedupHits.increment(count);
+    }
+
+    public void dedupMiss(int count) {
+        dedupMisses.increment(count);
+    }
+
+    public void collision() {
+        collisions.increment();
+    }
+
+    public void coalesced() {
+        coalesced.increment();
+    }
+
+    public void matrixSize(int rows) {
+        matrixSize.record(rows);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.dna_demo.migration;
+
+import com.example.dna_demo.util.DnaHash;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Converts {@code dna_records.dna_hash} from 64 hex characters to {@code BINARY(32)}.
+ * H2 has no SQL function that parses hex into bytes, so existing rows are converted here
+ * in batches through a temporary column, which then replaces the old one under the same unique index.
+ */
+public class V2__BinaryDnaHash extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        migrate(context.getConnection());
+    }
+
+    static void migrate(Connection connection) throws SQLException {
+        if (isBinary(connection)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE dna_records ADD COLUMN dna_hash_bin BINARY(32)");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, dna_hash FROM dna_records");
+             PreparedStatement update = connection.prepareStatement(
+                 "UPDATE dna_records SET dna_hash_bin = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                update.setBytes(1, DnaHash.fromHex(rows.getString(2)).toBytes());
+                update.setLong(2, rows.getLong(1));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            // Also drops the unique constraint and idx_dna_hash, whatever names Hibernate gave them
+            statement.execute("ALTER TABLE dna_records DROP COLUMN dna_hash");
+            statement.execute("ALTER TABLE dna_records ALTER COLUMN dna_hash_bin RENAME TO dna_hash");
+            statement.execute("ALTER TABLE dna_records ALTER COLUMN dna_hash SET NOT NULL");
+            statement.execute("CREATE UNIQUE INDEX idx_dna_hash ON dna_records (dna_hash)");
+        }
+    }
+
+    /**
+     * @return true if the column is already binary, e.g. created by another service against the new schema
+     */
+    private static boolean isBinary(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT data_type FROM information_schema.columns "
+                    + "WHERE UPPER(table_name) = 'DNA_RECORDS' AND UPPER(column_name) = 'DNA_HASH'")) {
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getString(1).contains("BINARY");
+            }
+        }
+    }
+}
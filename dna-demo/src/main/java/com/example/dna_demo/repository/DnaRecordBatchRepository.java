@@ -0,0 +1,97 @@
+package com.example.dna_demo.repository;
+
+import com.example.dna_demo.entity.DnaRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC writes for {@link DnaRecord}.
+ * Each insert is a single {@code MERGE} that only inserts a hash {@code idx_dna_hash} does not hold yet,
+ * so checking for a duplicate and storing a new DNA take one round trip. Hibernate cannot batch inserts
+ * into an identity column, so records are sent as a JDBC batch that joins the surrounding transaction.
+ *
+ * {@code MERGE} checks and inserts without locking the key: when two transactions insert the same new hash,
+ * H2 makes the second wait for the first to commit and then reports a unique violation.
+ * That violation means the record is stored, so it is reported as not inserted rather than thrown.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DnaRecordBatchRepository {
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+        MERGE INTO dna_records r
+        USING (VALUES (CAST(? AS BINARY(32)), CAST(? AS VARCHAR), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP)))
+            AS s(dna_hash, dna_sequence, is_mutant, created_at)
+        ON r.dna_hash = s.dna_hash
+        WHEN NOT MATCHED THEN
+            INSERT (dna_hash, dna_sequence, is_mutant, created_at)
+            VALUES (s.dna_hash, s.dna_sequence, s.is_mutant, s.created_at)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts a record unless its hash is already stored
+     * @param record record to store
+     * @return true if inserted, false if the hash was stored already (possibly by a concurrent transaction)
+     */
+    public boolean insertIfAbsent(DnaRecord record) {
+        try {
+            return jdbcTemplate.update(INSERT_IF_ABSENT_SQL, record.getDnaHash().toBytes(), record.getDnaSequence(),
+                record.getIsMutant(), Timestamp.valueOf(LocalDateTime.now())) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Inserts new records in one batch, skipping hashes that are already stored
+     * @param records records whose hashes were not found
+     * @return the records actually inserted, in order
+     */
+    public List<DnaRecord> insertAll(List<DnaRecord> records) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    DnaRecord record = records.get(i);
+                    statement.setBytes(1, record.getDnaHash().toBytes());
+                    statement.setString(2, record.getDnaSequence());
+                    statement.setBoolean(3, record.getIsMutant());
+                    statement.setTimestamp(4, createdAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return records.size();
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            // H2 runs the rest of the batch and reports every row; failed rows were stored concurrently
+            if (!(e.getCause() instanceof BatchUpdateException batchUpdateException)) {
+                throw e;
+            }
+            counts = batchUpdateException.getUpdateCounts();
+        }
+        List<DnaRecord> inserted = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (i < counts.length && counts[i] == 1) {
+                inserted.add(records.get(i));
+            }
+        }
+        return inserted;
+    }
+}
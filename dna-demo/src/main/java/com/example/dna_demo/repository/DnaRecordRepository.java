@@ -1,9 +1,13 @@
 package com.example.dna_demo.repository;
 
 import com.example.dna_demo.entity.DnaRecord;
+import com.example.dna_demo.entity.DnaVerdict;
+import com.example.dna_demo.util.DnaHash;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,12 +18,33 @@ public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
      * @param dnaHash SHA-256 hash of the DNA sequence
      * @return true if exists, false otherwise
      */
-    boolean existsByDnaHash(String dnaHash);
+    boolean existsByDnaHash(DnaHash dnaHash);
 
     /**
      * Finds a DNA record by its hash
      * @param dnaHash SHA-256 hash of the DNA sequence
      * @return Optional containing the record if found
      */
-    Optional<DnaRecord> findByDnaHash(String dnaHash);
+    Optional<DnaRecord> findByDnaHash(DnaHash dnaHash);
+
+    /**
+     * Finds the stored verdict of a DNA without loading its sequence
+     * @param dnaHash SHA-256 hash of the DNA sequence
+     * @return Optional containing the verdict if found
+     */
+    Optional<DnaVerdict> findVerdictByDnaHash(DnaHash dnaHash);
+
+    /**
+     * Finds the stored verdicts among a set of hashes in a single query, without loading sequences
+     * @param dnaHashes SHA-256 hashes of DNA sequences
+     * @return verdicts found, in no particular order
+     */
+    List<DnaVerdict> findVerdictsByDnaHashIn(Collection<DnaHash> dnaHashes);
+
+    /**
+     * Finds all DNA records among a set of hashes in a single query
+     * @param dnaHashes SHA-256 hashes of DNA sequences
+     * @return records found, in no particular order
+     */
+    List<DnaRecord> findAllByDnaHashIn(Collection<DnaHash> dnaHashes);
 }
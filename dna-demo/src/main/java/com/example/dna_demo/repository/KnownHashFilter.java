@@ -0,0 +1,195 @@
+package com.example.dna_demo.repository;
+
+import com.example.dna_demo.config.KnownHashFilterProperties;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.ScalableBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scalable Bloom filter over every {@code dna_hash} in {@code dna_records}, read before the dedup lookup.
+ * Most submitted DNA is new, and "definitely absent" lets it go straight to detection and the insert-if-absent,
+ * skipping a query that would find nothing.
+ *
+ * The filter is filled from {@code dna_records} on startup, and every hash this instance stores or another
+ * instance announces in a verdict notice is added as it is stored. Other rows stored since are not seen until
+ * the next start; for those the filter answers "absent", and the insert-if-absent reports them as already stored,
+ * so a stale filter costs a detection, never a duplicate. With {@code dna.bloom.snapshot} the filter is saved with
+ * the highest row id it has read, on startup and shutdown, and the next start reads only the rows after it.
+ *
+ * Until it is loaded, or when {@code dna.bloom.enabled=false}, every hash "might be present".
+ * Meters: {@code dna.bloom.lookups} tagged {@code result=absent|maybe}, {@code dna.bloom.keys}, {@code dna.bloom.bytes}.
+ */
+@Component
+@Slf4j
+public class KnownHashFilter {
+
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM dna_records";
+    private static final String HASHES_SINCE_SQL = "SELECT id, dna_hash FROM dna_records WHERE id > ? ORDER BY id";
+
+    private final KnownHashFilterProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter absent;
+    private final Counter maybe;
+
+    // Held across JDBC and file I/O, so a lock rather than a monitor that would pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile ScalableBloomFilter filter;
+    // Highest dna_records.id whose hash is in the filter; guarded by lock
+    private long readUpTo;
+
+    public KnownHashFilter(KnownHashFilterProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.absent = Counter.builder("dna.bloom.lookups")
+            .description("Dedup lookups answered by the Bloom filter (absent) or passed on to dna_records (maybe)")
+            .tag("result", "absent")
+            .register(meterRegistry);
+        this.maybe = Counter.builder("dna.bloom.lookups")
+            .description("Dedup lookups answered by the Bloom filter (absent) or passed on to dna_records (maybe)")
+            .tag("result", "maybe")
+            .register(meterRegistry);
+        Gauge.builder("dna.bloom.keys", this, known -> known.filter == null ? 0 : known.filter.size())
+            .description("Hashes added to the Bloom filter")
+            .register(meterRegistry);
+        Gauge.builder("dna.bloom.bytes", this, known -> known.filter == null ? 0 : known.filter.bytes())
+            .description("Heap held by the Bloom filter bits")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return false only if no record with this hash existed when the filter was loaded or was stored since
+     */
+    public boolean mightContain(DnaHash dnaHash) {
+        ScalableBloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        boolean found = current.mightContain(dnaHash);
+        (found ? maybe : absent).increment();
+        return found;
+    }
+
+    /**
+     * Records a hash that was stored, or found stored by the insert-if-absent
+     */
+    public void put(DnaHash dnaHash) {
+        ScalableBloomFilter current = filter;
+        if (current != null) {
+            current.put(dnaHash);
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!properties.enabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            loadLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loadLocked() {
+        long start = System.nanoTime();
+        ScalableBloomFilter loaded = readSnapshot();
+        long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        if (loaded == null || readUpTo > maxId) {
+            // No snapshot, or one taken of another database
+            loaded = new ScalableBloomFilter(properties.initialCapacity(), properties.falsePositiveRate());
+            readUpTo = 0;
+        }
+        long rows = catchUp(loaded);
+        filter = loaded;
+        log.info("Bloom filter loaded - Keys: {}, Rows read: {}, Stages: {}, Bytes: {}, Millis: {}",
+            loaded.size(), rows, loaded.stageCount(), loaded.bytes(), (System.nanoTime() - start) / 1_000_000);
+        if (rows > 0) {
+            writeSnapshot(loaded);
+        }
+    }
+
+    /**
+     * Reads rows stored since the filter was loaded, including other writers', and saves the filter
+     */
+    @PreDestroy
+    public void snapshot() {
+        ScalableBloomFilter current = filter;
+        if (current == null || properties.snapshot() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            catchUp(current);
+            writeSnapshot(current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long catchUp(ScalableBloomFilter target) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(HASHES_SINCE_SQL, resultSet -> {
+            target.put(DnaHash.fromBytes(resultSet.getBytes(2)));
+            readUpTo = resultSet.getLong(1);
+            rows[0]++;
+        }, readUpTo);
+        return rows[0];
+    }
+
+    private ScalableBloomFilter readSnapshot() {
+        Path path = properties.snapshot();
+        if (path == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long snapshotUpTo = in.readLong();
+            ScalableBloomFilter loaded = ScalableBloomFilter.readFrom(in);
+            readUpTo = snapshotUpTo;
+            return loaded;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable Bloom filter snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSnapshot(ScalableBloomFilter current) {
+        Path path = properties.snapshot();
+        if (path == null) {
+            return;
+        }
+        // Written aside and moved over the old one, so a crash mid-write leaves the previous snapshot
+        Path written = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(written)))) {
+                out.writeLong(readUpTo);
+                current.writeTo(out);
+            }
+            Files.move(written, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write Bloom filter snapshot {}: {}", path, e.getMessage());
+        }
+    }
+}
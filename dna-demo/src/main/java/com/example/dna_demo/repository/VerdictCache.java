@@ -0,0 +1,279 @@
+package com.example.dna_demo.repository;
+
+import com.example.dna_demo.config.VerdictCacheProperties;
+import com.example.dna_demo.config.VerdictRedisSerializer;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.event.VerdictNotice;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Two-tier copy of stored verdicts, read before {@code dna_records}: a bounded in-heap (near) tier in each
+ * instance, backed by a tier in Redis shared with the other dna-demo instances and dna-reactive.
+ *
+ * Near tier: Caffeine evicts by W-TinyLFU, so DNA submitted again and again stays cached while a stream of
+ * one-off submissions passes through. A verdict never changes once stored under its key, so entries
+ * are only ever added; they are added once the record is committed, so the cache never answers
+ * for a row that a rollback removed. Entries expire after {@code dna.cache.ttl}.
+ *
+ * Shared tier: {@code dna:verdict:<hash>} holding "1" (mutant) or "0" (human), the keys dna-reactive reads
+ * and writes, expiring after {@code dna.cache.shared-ttl}. A verdict stored here is also announced on
+ * {@link VerdictNotice#CHANNEL}, in the same pipelined round trip, so the other instances put it in their
+ * near tier and a repeat submission is a local hit wherever it lands. The shared tier is only an accelerator:
+ * Redis errors count as misses. With {@code dna.cache.shared=false} each instance keeps its near tier only.
+ *
+ * Fingerprint keys ({@code murmur3-128}) also keep the packed matrix, so a hit is confirmed
+ * the same way a database hit is; the shared tier holds no matrix, so they stay in the near tier.
+ * Meters: {@code cache.gets} tagged {@code cache=dna.verdicts} and {@code cache=dna.verdicts.shared},
+ * {@code cache.evictions} and {@code cache.size} tagged {@code cache=dna.verdicts}.
+ */
+@Component
+@Slf4j
+public class VerdictCache {
+
+    public static final String NAME = "dna.verdicts";
+    public static final String SHARED_NAME = "dna.verdicts.shared";
+
+    private static final String KEY_PREFIX = "dna:verdict:";
+
+    // Rough heap per entry: Caffeine node, DnaHash key and the value holder
+    private static final int ENTRY_BYTES = 160;
+
+    private record Verdict(boolean mutant, DnaMatrix matrix) {
+    }
+
+    private final Cache<DnaHash, Verdict> cache;
+    private final boolean enabled;
+    private final boolean shared;
+    private final Expiration sharedTtl;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+
+    public VerdictCache(VerdictCacheProperties properties, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.enabled = properties.maximumSize().toBytes() > 0;
+        this.shared = properties.shared();
+        this.sharedTtl = Expiration.from(properties.sharedTtl());
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.maximumSize().toBytes())
+            .weigher((DnaHash key, Verdict verdict) -> weigh(verdict))
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        this.sharedHits = Counter.builder("cache.gets")
+            .description("Verdict lookups answered by the shared Redis tier (hit) or passed on to dna_records (miss)")
+            .tags("cache", SHARED_NAME, "result", "hit")
+            .register(meterRegistry);
+        this.sharedMisses = Counter.builder("cache.gets")
+            .description("Verdict lookups answered by the shared Redis tier (hit) or passed on to dna_records (miss)")
+            .tags("cache", SHARED_NAME, "result", "miss")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reads the near tier.
+     *
+     * @param dnaHash dedup key
+     * @param matrix DNA the key was computed from
+     * @param algorithm algorithm of the key
+     * @return stored verdict, or null if it is not cached (or cached for another DNA with the same fingerprint)
+     */
+    public Boolean get(DnaHash dnaHash, DnaMatrix matrix, Algorithm algorithm) {
+        Verdict verdict = cache.getIfPresent(dnaHash);
+        if (verdict == null || algorithm.verifiesSequence() && !matrix.equals(verdict.matrix())) {
+            return null;
+        }
+        return verdict.mutant();
+    }
+
+    /**
+     * Reads the shared tier after a near miss, keeping a hit in the near tier.
+     *
+     * @return stored verdict, or null on a miss, for fingerprint keys or if Redis is unavailable
+     */
+    public Boolean getShared(DnaHash dnaHash, Algorithm algorithm) {
+        if (!isShared(algorithm)) {
+            return null;
+        }
+        String value;
+        try {
+            value = redisTemplate.opsForValue().get(KEY_PREFIX + dnaHash.toHex());
+        } catch (RuntimeException e) {
+            log.warn("Shared verdict cache read failed for hash {}: {}", dnaHash, e.getMessage());
+            value = null;
+        }
+        Boolean mutant = decode(dnaHash, value);
+        if (mutant == null) {
+            sharedMisses.increment();
+            return null;
+        }
+        sharedHits.increment();
+        putNear(dnaHash, null, mutant, algorithm);
+        return mutant;
+    }
+
+    /**
+     * Reads the shared tier for several keys in one round trip, keeping the hits in the near tier.
+     *
+     * @return stored verdicts of the keys found; empty for fingerprint keys or if Redis is unavailable
+     */
+    public Map<DnaHash, Boolean> getAllShared(Collection<DnaHash> dnaHashes, Algorithm algorithm) {
+        if (!isShared(algorithm) || dnaHashes.isEmpty()) {
+            return Map.of();
+        }
+        List<DnaHash> keys = List.copyOf(dnaHashes);
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(keys.stream().map(dnaHash -> KEY_PREFIX + dnaHash.toHex()).toList());
+        } catch (RuntimeException e) {
+            log.warn("Shared verdict cache read failed for {} hashes: {}", keys.size(), e.getMessage());
+            values = null;
+        }
+        Map<DnaHash, Boolean> found = new HashMap<>();
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            Boolean mutant = decode(keys.get(i), values.get(i));
+            if (mutant != null) {
+                found.put(keys.get(i), mutant);
+                putNear(keys.get(i), null, mutant, algorithm);
+            }
+        }
+        sharedHits.increment(found.size());
+        sharedMisses.increment(keys.size() - found.size());
+        return found;
+    }
+
+    /**
+     * Caches a verdict read from the database, in both tiers.
+     */
+    public void put(DnaHash dnaHash, DnaMatrix matrix, boolean mutant, Algorithm algorithm) {
+        putAll(Map.of(dnaHash, mutant), Collections.singletonMap(dnaHash, matrix), algorithm);
+    }
+
+    /**
+     * Caches verdicts read from the database, in both tiers, with one round trip to Redis.
+     *
+     * @param verdicts verdicts by dedup key
+     * @param matrices DNA each key was computed from; only read for fingerprint keys
+     */
+    public void putAll(Map<DnaHash, Boolean> verdicts, Map<DnaHash, DnaMatrix> matrices, Algorithm algorithm) {
+        verdicts.forEach((dnaHash, mutant) -> putNear(dnaHash, matrices.get(dnaHash), mutant, algorithm));
+        writeShared(verdicts, algorithm, false);
+    }
+
+    /**
+     * Caches a verdict being stored, once the surrounding transaction commits, and announces it to other instances.
+     */
+    public void putAfterCommit(DnaHash dnaHash, DnaMatrix matrix, boolean mutant, Algorithm algorithm) {
+        putAllAfterCommit(Map.of(dnaHash, mutant), Collections.singletonMap(dnaHash, matrix), algorithm);
+    }
+
+    /**
+     * Caches verdicts being stored, once the surrounding transaction commits, and announces them to other
+     * instances in one notice.
+     *
+     * @param verdicts verdicts by dedup key
+     * @param matrices DNA each key was computed from; only read for fingerprint keys
+     */
+    public void putAllAfterCommit(Map<DnaHash, Boolean> verdicts, Map<DnaHash, DnaMatrix> matrices, Algorithm algorithm) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            storeNew(verdicts, matrices, algorithm);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storeNew(verdicts, matrices, algorithm);
+            }
+        });
+    }
+
+    /**
+     * Applies a notice from another instance to the near tier.
+     *
+     * @param algorithm algorithm of this instance's keys; fills carry no matrix, so fingerprint keys ignore them
+     */
+    public void apply(VerdictNotice notice, Algorithm algorithm) {
+        if (notice.isInvalidation()) {
+            cache.invalidate(notice.dnaHash());
+        } else {
+            putNear(notice.dnaHash(), null, notice.mutant(), algorithm);
+        }
+    }
+
+    private void storeNew(Map<DnaHash, Boolean> verdicts, Map<DnaHash, DnaMatrix> matrices, Algorithm algorithm) {
+        verdicts.forEach((dnaHash, mutant) -> putNear(dnaHash, matrices.get(dnaHash), mutant, algorithm));
+        writeShared(verdicts, algorithm, true);
+    }
+
+    private void putNear(DnaHash dnaHash, DnaMatrix matrix, boolean mutant, Algorithm algorithm) {
+        if (!enabled || algorithm.verifiesSequence() && matrix == null) {
+            return;
+        }
+        cache.put(dnaHash, new Verdict(mutant, algorithm.verifiesSequence() ? matrix : null));
+    }
+
+    private void writeShared(Map<DnaHash, Boolean> verdicts, Algorithm algorithm, boolean announce) {
+        if (!isShared(algorithm) || verdicts.isEmpty()) {
+            return;
+        }
+        List<VerdictNotice> notices = new ArrayList<>(verdicts.size());
+        verdicts.forEach((dnaHash, mutant) -> notices.add(VerdictNotice.fill(dnaHash, mutant)));
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (VerdictNotice notice : notices) {
+                    connection.stringCommands().set(serializer.serialize(KEY_PREFIX + notice.dnaHash().toHex()),
+                        VerdictRedisSerializer.INSTANCE.serialize(notice.mutant()), sharedTtl, SetOption.upsert());
+                }
+                if (announce) {
+                    connection.publish(serializer.serialize(VerdictNotice.CHANNEL), serializer.serialize(VerdictNotice.encode(notices)));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Shared verdict cache write failed for {} hashes: {}", notices.size(), e.getMessage());
+        }
+    }
+
+    // An unreadable value is a miss: the database answers and the verdict is written over it
+    private static Boolean decode(DnaHash dnaHash, String value) {
+        try {
+            return VerdictRedisSerializer.INSTANCE.decode(value);
+        } catch (SerializationException e) {
+            log.warn("Ignoring unreadable shared verdict for hash {}: {}", dnaHash, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isShared(Algorithm algorithm) {
+        return shared && !algorithm.verifiesSequence();
+    }
+
+    private static int weigh(Verdict verdict) {
+        return verdict.matrix() == null ? ENTRY_BYTES : ENTRY_BYTES + verdict.matrix().wordCount() * Long.BYTES;
+    }
+}
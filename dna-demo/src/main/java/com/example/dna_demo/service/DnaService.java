@@ -1,16 +1,39 @@
 package com.example.dna_demo.service;
 
+import com.example.dna_demo.config.HashProperties;
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
 import com.example.dna_demo.entity.DnaRecord;
+import com.example.dna_demo.entity.DnaVerdict;
 import com.example.dna_demo.event.DnaEventPublisher;
 import com.example.dna_demo.event.DnaVerifiedEvent;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.metrics.DnaMetrics.Stage;
+import com.example.dna_demo.repository.DnaRecordBatchRepository;
 import com.example.dna_demo.repository.DnaRecordRepository;
+import com.example.dna_demo.repository.KnownHashFilter;
+import com.example.dna_demo.repository.VerdictCache;
+import com.example.dna_demo.util.DnaHash;
 import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+import com.example.dna_demo.util.DnaKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -18,7 +41,23 @@ public class DnaService {
 
     private final MutantDetector mutantDetector;
     private final DnaRecordRepository dnaRecordRepository;
+    private final DnaRecordBatchRepository dnaRecordBatchRepository;
     private final DnaEventPublisher dnaEventPublisher;
+    private final DnaMetrics dnaMetrics;
+    private final HashProperties hashProperties;
+    private final VerdictCache verdictCache;
+    private final KnownHashFilter knownHashFilter;
+
+    /**
+     * Verifications in progress by dedup key, so concurrent requests for the same DNA wait for the first one
+     */
+    private final ConcurrentHashMap<DnaHash, Flight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * A verification in progress, led by {@code owner}: completes with its verdict once known, or with null if it failed
+     */
+    private record Flight(DnaMatrix matrix, Thread owner, CompletableFuture<Boolean> verdict) {
+    }
 
     /**
      * Verifies if DNA is mutant and saves the result to database
@@ -30,43 +69,322 @@ public class DnaService {
      */
     @Transactional
     public boolean verifyAndSave(String[] dna) {
+        return verifyAndSave(dna, DetectionKernels.DEFAULT_RULE_SET);
+    }
+
+    /**
+     * Verifies if DNA is mutant under a named detection rule set and saves the result.
+     * Verdicts are deduplicated per rule, so the same DNA checked under another rule is verified again.
+     *
+     * @param dna Array of DNA strings
+     * @param ruleSet Configured rule set name
+     * @return true if mutant, false if human
+     */
+    @Transactional
+    public boolean verifyAndSave(String[] dna, String ruleSet) {
+        return verifyAndSave(dnaMetrics.time(Stage.VALIDATION, () -> mutantDetector.encode(dna)), ruleSet);
+    }
+
+    /**
+     * Verifies a DNA matrix that was validated and packed while the request was read.
+     * Hashing, detection and storage all work from the packed matrix.
+     *
+     * @param matrix Packed DNA matrix
+     * @param ruleSet Configured rule set name
+     * @return true if mutant, false if human
+     */
+    @Transactional
+    public boolean verifyAndSave(DnaMatrix matrix, String ruleSet) {
+        DetectionRule rule = mutantDetector.rule(ruleSet);
+        dnaMetrics.matrixSize(matrix.rows());
+        Algorithm algorithm = hashProperties.algorithm();
         // Generate hash for duplicate detection
-        String dnaHash = DnaHashUtil.generateHash(dna);
+        DnaKey key = dnaMetrics.time(Stage.HASH, () -> DnaKey.of(matrix, rule, algorithm, hashProperties.canonical()));
+        return verifyAndSave(key, rule, ruleSet, algorithm, true);
+    }
+
+    /**
+     * Rotations and reflections share a verdict, so with {@code dna.hash.canonical} they share a record too
+     */
+    private DnaMatrix canonicalize(DnaMatrix matrix) {
+        return hashProperties.canonical() ? matrix.canonical() : matrix;
+    }
+
+    private boolean verifyAndSave(DnaKey key, DetectionRule rule, String ruleSet, Algorithm algorithm, boolean coalesce) {
+        // Check if DNA already verified (idempotent operation), in memory first
+        Boolean cachedVerdict = verdictCache.get(key.hash(), key.matrix(), algorithm);
+        if (cachedVerdict != null) {
+            dnaMetrics.dedupHit(1);
+            return cachedVerdict;
+        }
+        if (!coalesce) {
+            return verifyStoredOrNew(key, rule, ruleSet, algorithm, false);
+        }
 
-        // Check if DNA already verified (idempotent operation)
-        if (dnaRecordRepository.existsByDnaHash(dnaHash)) {
+        // Single flight: the first request for a DNA verifies it, concurrent ones wait for its verdict
+        Flight flight = new Flight(key.matrix(), Thread.currentThread(), new CompletableFuture<>());
+        Flight leader = inFlight.putIfAbsent(key.hash(), flight);
+        if (leader != null) {
+            if (leader.owner() == Thread.currentThread()
+                || algorithm.verifiesSequence() && !leader.matrix().equals(key.matrix())) {
+                // Led further up this call, so its verdict can't come before this one;
+                // or the same fingerprint for another DNA, resolved against the stored sequence like any collision
+                return verifyStoredOrNew(key, rule, ruleSet, algorithm, true);
+            }
+            Boolean sharedVerdict = leader.verdict().join();
+            if (sharedVerdict == null) {
+                // The leader failed, so start over, possibly leading this time
+                return verifyAndSave(key, rule, ruleSet, algorithm, true);
+            }
+            dnaMetrics.coalesced();
+            dnaMetrics.dedupHit(1);
+            return sharedVerdict;
+        }
+        Boolean isMutant = null;
+        try {
+            isMutant = verifyStoredOrNew(key, rule, ruleSet, algorithm, true);
+            return isMutant;
+        } finally {
+            // Landed as soon as the verdict is known, not at commit, so waiting never depends on this transaction
+            inFlight.remove(key.hash(), flight);
+            flight.verdict().complete(isMutant);
+        }
+    }
+
+    private boolean verifyStoredOrNew(DnaKey key, DetectionRule rule, String ruleSet, Algorithm algorithm, boolean coalesce) {
+        DnaMatrix matrix = key.matrix();
+        DnaHash dnaHash = key.hash();
+
+        Boolean storedVerdict;
+        if (!knownHashFilter.mightContain(dnaHash)) {
+            // Never stored: no lookup needed
+            storedVerdict = null;
+        } else if (algorithm.verifiesSequence()) {
+            // A fingerprint match is confirmed against the stored sequence, so the whole row is read
+            DnaRecord storedRecord = dnaMetrics.time(Stage.LOOKUP, () -> dnaRecordRepository.findByDnaHash(dnaHash).orElse(null));
+            if (storedRecord != null && isCollision(storedRecord, matrix, algorithm)) {
+                // Another DNA owns this fingerprint: key this one by SHA-256 instead
+                log.warn("Fingerprint collision on hash {}, falling back to SHA-256", dnaHash);
+                dnaMetrics.collision();
+                DnaKey fallback = dnaMetrics.time(Stage.HASH, () -> new DnaKey(matrix, DnaHashUtil.hash(matrix, rule)));
+                return verifyAndSave(fallback, rule, ruleSet, Algorithm.SHA_256, coalesce);
+            }
+            storedVerdict = storedRecord == null ? null : storedRecord.getIsMutant();
+        } else {
+            // Stored by another instance or dna-reactive: the shared cache tier answers without the database
+            Boolean sharedVerdict = dnaMetrics.time(Stage.SHARED_LOOKUP, () -> verdictCache.getShared(dnaHash, algorithm));
+            if (sharedVerdict != null) {
+                dnaMetrics.dedupHit(1);
+                return sharedVerdict;
+            }
+            storedVerdict = dnaMetrics.time(Stage.LOOKUP, () -> dnaRecordRepository.findVerdictByDnaHash(dnaHash)
+                .map(DnaVerdict::getIsMutant)
+                .orElse(null));
+        }
+        if (storedVerdict != null) {
             log.debug("DNA already verified, returning cached result for hash: {}", dnaHash);
-            DnaRecord existingRecord = dnaRecordRepository.findByDnaHash(dnaHash)
-                .orElseThrow(() -> new IllegalStateException("Record should exist"));
-            return existingRecord.getIsMutant();
+            dnaMetrics.dedupHit(1);
+            verdictCache.put(dnaHash, matrix, storedVerdict, algorithm);
+            return storedVerdict;
         }
 
         // Verify if DNA is mutant
-        boolean isMutant = mutantDetector.isMutant(dna);
-        log.info("DNA verification result - Mutant: {}, Hash: {}", isMutant, dnaHash);
+        boolean isMutant = dnaMetrics.time(Stage.DETECTION, () -> mutantDetector.isMutant(matrix, ruleSet));
+        log.info("DNA verification result - Mutant: {}, Rule: {}, Hash: {}", isMutant, rule, dnaHash);
 
-        // Save DNA record
-        String dnaSequence = DnaHashUtil.dnaToString(dna);
-        DnaRecord record = new DnaRecord(dnaHash, dnaSequence, isMutant);
-        dnaRecordRepository.save(record);
+        // Save DNA record unless a concurrent request stored the same hash first
+        boolean inserted = dnaMetrics.time(Stage.SAVE, () -> {
+            String dnaSequence = DnaHashUtil.dnaToString(matrix);
+            return dnaRecordBatchRepository.insertIfAbsent(new DnaRecord(dnaHash, dnaSequence, isMutant));
+        });
+        // Stored now either way, so a retry below does look it up
+        knownHashFilter.put(dnaHash);
+        if (!inserted) {
+            if (algorithm.verifiesSequence()) {
+                // Read the winner back: the same DNA is a hit, another DNA a collision
+                return verifyStoredOrNew(key, rule, ruleSet, algorithm, coalesce);
+            }
+            // The request that stored it publishes the event
+            log.debug("DNA stored concurrently, skipping event for hash: {}", dnaHash);
+            dnaMetrics.dedupHit(1);
+            verdictCache.put(dnaHash, matrix, isMutant, algorithm);
+            return isMutant;
+        }
+        dnaMetrics.dedupMiss(1);
+        verdictCache.putAfterCommit(dnaHash, matrix, isMutant, algorithm);
 
         // Publish DNA verification event to Redis Pub/Sub
-        DnaVerifiedEvent event = new DnaVerifiedEvent(dnaHash, isMutant);
-        dnaEventPublisher.publish(event);
+        DnaVerifiedEvent event = new DnaVerifiedEvent(dnaHash.toHex(), isMutant);
+        dnaMetrics.time(Stage.PUBLISH, () -> dnaEventPublisher.publish(event));
         log.info("Published DNA verification event - Mutant: {}, Hash: {}", isMutant, dnaHash);
 
         return isMutant;
     }
 
     /**
-     * Gets the DNA verification result from database (if exists)
+     * A fingerprint match only counts once the stored sequence is confirmed to be the same DNA
+     */
+    private static boolean isCollision(DnaRecord existingRecord, DnaMatrix matrix, Algorithm algorithm) {
+        return algorithm.verifiesSequence() && !matrix.matchesSequence(existingRecord.getDnaSequence());
+    }
+
+    /**
+     * Verifies a batch of DNA matrices with the same idempotency as {@link #verifyAndSave(DnaMatrix, String)}:
+     * each distinct DNA is stored and published once, and known DNA returns its stored verdict.
+     * Items are hashed and detected in parallel, known hashes are resolved with one IN query,
+     * new records are inserted in one JDBC batch and their events published in one pipelined call.
+     * Each stage records one {@code dna.verify.stage} sample per batch, covering all of its items.
+     *
+     * @param matrices Packed DNA matrices
+     * @param ruleSet Configured rule set name
+     * @return verdict per item, in request order (true if mutant)
+     */
+    @Transactional
+    public List<Boolean> verifyAndSaveAll(List<DnaMatrix> matrices, String ruleSet) {
+        DetectionRule rule = mutantDetector.rule(ruleSet);
+        Algorithm algorithm = hashProperties.algorithm();
+        matrices.forEach(matrix -> dnaMetrics.matrixSize(matrix.rows()));
+
+        List<DnaMatrix> keyed = matrices.parallelStream()
+            .map(this::canonicalize)
+            .toList();
+        List<DnaHash> hashes = dnaMetrics.time(Stage.HASH, () -> keyed.parallelStream()
+            .map(matrix -> DnaHashUtil.hash(matrix, rule, algorithm))
+            .toList());
+
+        // Repeated DNA inside the batch is verified once; fingerprint collisions are resolved item by item
+        Map<DnaHash, DnaMatrix> distinct = new LinkedHashMap<>();
+        Set<DnaHash> oneByOne = new HashSet<>();
+        for (int i = 0; i < hashes.size(); i++) {
+            DnaMatrix first = distinct.putIfAbsent(hashes.get(i), keyed.get(i));
+            if (first != null && algorithm.verifiesSequence() && !first.equals(keyed.get(i))) {
+                oneByOne.add(hashes.get(i));
+            }
+        }
+
+        Map<DnaHash, Boolean> verdicts = new HashMap<>();
+        List<DnaHash> uncached = new ArrayList<>();
+        distinct.forEach((dnaHash, matrix) -> {
+            Boolean cachedVerdict = verdictCache.get(dnaHash, matrix, algorithm);
+            if (cachedVerdict != null) {
+                verdicts.put(dnaHash, cachedVerdict);
+            } else {
+                uncached.add(dnaHash);
+            }
+        });
+        Map<DnaHash, Boolean> readVerdicts = new HashMap<>();
+        BiConsumer<DnaHash, Boolean> storedVerdict = (dnaHash, isMutant) -> {
+            verdicts.put(dnaHash, isMutant);
+            readVerdicts.put(dnaHash, isMutant);
+        };
+        // Hashes the filter has never seen are new, so only the rest are looked up, in the shared tier first
+        uncached.removeIf(dnaHash -> !knownHashFilter.mightContain(dnaHash));
+        Map<DnaHash, Boolean> sharedVerdicts = dnaMetrics.time(Stage.SHARED_LOOKUP, () -> verdictCache.getAllShared(uncached, algorithm));
+        verdicts.putAll(sharedVerdicts);
+        uncached.removeIf(sharedVerdicts::containsKey);
+        if (!uncached.isEmpty() && algorithm.verifiesSequence()) {
+            List<DnaRecord> existingRecords = dnaMetrics.time(Stage.LOOKUP, () -> dnaRecordRepository.findAllByDnaHashIn(uncached));
+            for (DnaRecord existingRecord : existingRecords) {
+                if (isCollision(existingRecord, distinct.get(existingRecord.getDnaHash()), algorithm)) {
+                    oneByOne.add(existingRecord.getDnaHash());
+                } else {
+                    storedVerdict.accept(existingRecord.getDnaHash(), existingRecord.getIsMutant());
+                }
+            }
+        } else if (!uncached.isEmpty()) {
+            dnaMetrics.time(Stage.LOOKUP, () -> dnaRecordRepository.findVerdictsByDnaHashIn(uncached))
+                .forEach(stored -> storedVerdict.accept(stored.getDnaHash(), stored.getIsMutant()));
+        }
+        verdictCache.putAll(readVerdicts, distinct, algorithm);
+        distinct.keySet().removeAll(oneByOne);
+
+        List<DnaRecord> newRecords = dnaMetrics.time(Stage.DETECTION, () -> distinct.entrySet().parallelStream()
+            .filter(entry -> !verdicts.containsKey(entry.getKey()))
+            .map(entry -> new DnaRecord(entry.getKey(), DnaHashUtil.dnaToString(entry.getValue()),
+                mutantDetector.isMutant(entry.getValue(), ruleSet)))
+            .toList());
+
+        List<DnaRecord> inserted = newRecords.isEmpty() ? List.of()
+            : dnaMetrics.time(Stage.SAVE, () -> dnaRecordBatchRepository.insertAll(newRecords));
+        newRecords.forEach(newRecord -> knownHashFilter.put(newRecord.getDnaHash()));
+        if (!inserted.isEmpty()) {
+            List<DnaVerifiedEvent> events = inserted.stream()
+                .map(newRecord -> new DnaVerifiedEvent(newRecord.getDnaHash().toHex(), newRecord.getIsMutant()))
+                .toList();
+            dnaMetrics.time(Stage.PUBLISH, () -> dnaEventPublisher.publishAll(events));
+            Map<DnaHash, Boolean> insertedVerdicts = new HashMap<>();
+            inserted.forEach(newRecord -> insertedVerdicts.put(newRecord.getDnaHash(), newRecord.getIsMutant()));
+            verdictCache.putAllAfterCommit(insertedVerdicts, distinct, algorithm);
+        }
+        if (inserted.size() < newRecords.size() && algorithm.verifiesSequence()) {
+            // Stored concurrently: read back like a collision, since the winner may be another DNA
+            Set<DnaHash> insertedHashes = new HashSet<>();
+            inserted.forEach(newRecord -> insertedHashes.add(newRecord.getDnaHash()));
+            newRecords.stream()
+                .map(DnaRecord::getDnaHash)
+                .filter(dnaHash -> !insertedHashes.contains(dnaHash))
+                .forEach(oneByOne::add);
+        }
+        // Records stored concurrently keep the verdict detected here; their events come from the request that stored them
+        newRecords.forEach(newRecord -> verdicts.put(newRecord.getDnaHash(), newRecord.getIsMutant()));
+
+        // Items resolved one by one count their own hit or miss on the single path
+        long oneByOneItems = hashes.stream().filter(oneByOne::contains).count();
+        dnaMetrics.dedupHit(Math.toIntExact(matrices.size() - inserted.size() - oneByOneItems));
+        dnaMetrics.dedupMiss(inserted.size());
+        log.info("DNA batch verification - Items: {}, Distinct: {}, New: {}, Rule: {}",
+            matrices.size(), distinct.size(), inserted.size(), rule);
+
+        // Not coalesced: this transaction already holds the batch's inserts, which another request's flight may be waiting on
+        List<Boolean> results = new ArrayList<>(matrices.size());
+        for (int i = 0; i < matrices.size(); i++) {
+            DnaHash dnaHash = hashes.get(i);
+            results.add(oneByOne.contains(dnaHash)
+                ? verifyAndSave(new DnaKey(keyed.get(i), dnaHash), rule, ruleSet, algorithm, false)
+                : verdicts.get(dnaHash));
+        }
+        return results;
+    }
+
+    /**
+     * Gets the DNA verification result from the verdict cache or database (if exists)
      * @param dna Array of DNA strings
      * @return Optional with result if DNA was previously verified
      */
     public Boolean getCachedResult(String[] dna) {
-        String dnaHash = DnaHashUtil.generateHash(dna);
-        return dnaRecordRepository.findByDnaHash(dnaHash)
-            .map(DnaRecord::getIsMutant)
+        Algorithm algorithm = hashProperties.algorithm();
+        if (!algorithm.verifiesSequence() && !hashProperties.canonical()) {
+            DnaHash dnaHash = DnaHashUtil.hash(dna);
+            Boolean cachedVerdict = verdictCache.get(dnaHash, null, algorithm);
+            if (cachedVerdict == null) {
+                cachedVerdict = verdictCache.getShared(dnaHash, algorithm);
+            }
+            return cachedVerdict != null ? cachedVerdict : dnaRecordRepository.findByDnaHash(dnaHash)
+                .map(DnaRecord::getIsMutant)
+                .orElse(null);
+        }
+        DnaMatrix matrix;
+        try {
+            matrix = canonicalize(DnaMatrix.of(dna));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // Never stored: only valid DNA is verified
+            return null;
+        }
+        DnaHash dnaHash = DnaHashUtil.hash(matrix, DetectionRule.DEFAULT, algorithm);
+        Boolean cachedVerdict = verdictCache.get(dnaHash, matrix, algorithm);
+        if (cachedVerdict == null) {
+            cachedVerdict = verdictCache.getShared(dnaHash, algorithm);
+        }
+        if (cachedVerdict != null) {
+            return cachedVerdict;
+        }
+        DnaRecord existingRecord = dnaRecordRepository.findByDnaHash(dnaHash)
+            .filter(found -> !isCollision(found, matrix, algorithm))
             .orElse(null);
+        if (existingRecord == null && algorithm.verifiesSequence()) {
+            // Fingerprint collisions are stored under SHA-256
+            existingRecord = dnaRecordRepository.findByDnaHash(DnaHashUtil.hash(matrix, DetectionRule.DEFAULT)).orElse(null);
+        }
+        return existingRecord == null ? null : existingRecord.getIsMutant();
     }
 }
@@ -0,0 +1,176 @@
+package com.example.dna_demo.service;
+
+import com.example.dna_demo.config.StreamProperties;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.dto.DnaRequest;
+import com.example.dna_demo.exception.InvalidDnaException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk ingest of NDJSON uploads: one {@code {"dna":[...]}} per line in,
+ * one verdict line per item out, in input order.
+ *
+ * The upload is parsed incrementally and handled one chunk at a time: a chunk is verified through
+ * {@link DnaService#verifyAndSaveAll(List, String)} (one lookup, one insert batch and one publish
+ * pipeline per chunk) and its verdicts are flushed before the next chunk is read. Memory therefore
+ * stays bounded by the chunk size, and a slow reader of the response slows down the upload through
+ * TCP flow control instead of buffering it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DnaStreamService {
+
+    private static final String INVALID_FORMAT = "Invalid request body format";
+
+    private final DnaService dnaService;
+    private final MutantDetector mutantDetector;
+    private final JsonMapper jsonMapper;
+    private final StreamProperties streamProperties;
+
+    /**
+     * Resolves the rule set before any output is written, so a bad name can still be answered with 400
+     * @param ruleSet configured rule set name
+     * @throws IllegalArgumentException if no such rule set is configured
+     */
+    public void checkRuleSet(String ruleSet) {
+        mutantDetector.rule(ruleSet);
+    }
+
+    /**
+     * Verifies every item of an NDJSON upload and writes one line per item:
+     * {@code {"index":0,"mutant":true}}, or {@code {"index":1,"error":"..."}} for an item that fails validation.
+     * A line that is not valid JSON ends the stream with an error line, since nothing after it can be parsed.
+     *
+     * @param input NDJSON request body
+     * @param output NDJSON response body, flushed after every chunk
+     * @param ruleSet configured rule set name
+     * @return number of items read
+     */
+    public long ingest(InputStream input, OutputStream output, String ruleSet) throws IOException {
+        Chunk chunk = new Chunk(streamProperties.chunkSize());
+        // Items are read one top-level value at a time; the next item is not a trailing token
+        ObjectReader itemReader = jsonMapper.readerFor(DnaRequest.class)
+            .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        long index = 0;
+
+        try (JsonParser parser = jsonMapper.createParser(input)) {
+            boolean skipRest = false;
+            while (true) {
+                try {
+                    if (skipRest) {
+                        skipRest = false;
+                        skipToNextItem(parser);
+                    }
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    DnaMatrix matrix = itemReader.<DnaRequest>readValue(parser).dna();
+                    if (matrix == null) {
+                        chunk.addError("DNA sequence cannot be null");
+                    } else {
+                        chunk.add(matrix);
+                    }
+                } catch (StreamReadException e) {
+                    chunk.addError(INVALID_FORMAT);
+                    flushChunk(output, chunk, ruleSet);
+                    log.warn("DNA stream stopped at item {}: {}", index, e.getOriginalMessage());
+                    return index + 1;
+                } catch (DatabindException e) {
+                    chunk.addError(e.getCause() instanceof InvalidDnaException cause
+                        ? cause.getMessage() : INVALID_FORMAT);
+                    // A rejected item may leave the parser inside it
+                    skipRest = true;
+                }
+                index++;
+
+                if (chunk.isFull()) {
+                    flushChunk(output, chunk, ruleSet);
+                }
+            }
+            flushChunk(output, chunk, ruleSet);
+        }
+        log.info("DNA stream ingested - Items: {}", index);
+        return index;
+    }
+
+    private void flushChunk(OutputStream output, Chunk chunk, String ruleSet) throws IOException {
+        List<Boolean> verdicts = chunk.matrices.isEmpty()
+            ? List.of() : dnaService.verifyAndSaveAll(chunk.matrices, ruleSet);
+        int verdict = 0;
+        for (String error : chunk.errors) {
+            long index = chunk.firstIndex++;
+            if (error == null) {
+                writeLine(output, "{\"index\":" + index + ",\"mutant\":" + verdicts.get(verdict++) + "}");
+            } else {
+                writeLine(output, "{\"index\":" + index + ",\"error\":" + jsonMapper.writeValueAsString(error) + "}");
+            }
+        }
+        chunk.clear();
+        output.flush();
+    }
+
+    private static void writeLine(OutputStream output, String line) throws IOException {
+        output.write(line.getBytes(StandardCharsets.UTF_8));
+        output.write('\n');
+    }
+
+    private static void skipToNextItem(JsonParser parser) {
+        while (!parser.streamReadContext().inRoot()) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Items read since the last flush, in input order: a matrix to verify or an error message each.
+     */
+    private static final class Chunk {
+
+        private final int capacity;
+        private final List<DnaMatrix> matrices;
+        // One entry per item, null where the item is a matrix to verify
+        private final List<String> errors;
+        private long firstIndex;
+
+        Chunk(int capacity) {
+            this.capacity = capacity;
+            this.matrices = new ArrayList<>(capacity);
+            this.errors = new ArrayList<>(capacity);
+        }
+
+        void add(DnaMatrix matrix) {
+            matrices.add(matrix);
+            errors.add(null);
+        }
+
+        void addError(String message) {
+            errors.add(message);
+        }
+
+        boolean isFull() {
+            return errors.size() == capacity;
+        }
+
+        void clear() {
+            matrices.clear();
+            errors.clear();
+        }
+    }
+}
@@ -1,214 +1,107 @@
 package com.example.dna_demo.service;
 
+import com.example.dna_demo.detector.DetectionKernel;
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DetectionSession;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.detector.FourPassKernel;
 import com.example.dna_demo.validator.DnaValidator;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
-@RequiredArgsConstructor
 public class MutantDetector {
 
-    private static final int SEQUENCE_LENGTH = 4;
-    private static final int REQUIRED_SEQUENCES = 2;
-
     private final DnaValidator dnaValidator;
+    private final DetectionKernels detectionKernels;
 
-    /**
-     * Determines if a DNA sequence belongs to a mutant
-     * @param dna Array of strings representing DNA sequence
-     * @return true if mutant (more than one sequence found), false otherwise
-     */
-    public boolean isMutant(String[] dna) {
-        dnaValidator.validate(dna);
-
-        int n = dna.length;
-        int sequencesFound = 0;
-
-        // Check horizontal sequences
-        sequencesFound += countHorizontalSequences(dna, n);
-        if (sequencesFound >= REQUIRED_SEQUENCES) {
-            return true;
-        }
-
-        // Check vertical sequences
-        sequencesFound += countVerticalSequences(dna, n);
-        if (sequencesFound >= REQUIRED_SEQUENCES) {
-            return true;
-        }
-
-        // Check diagonal sequences (top-left to bottom-right)
-        sequencesFound += countDiagonalTLBRSequences(dna, n);
-        if (sequencesFound >= REQUIRED_SEQUENCES) {
-            return true;
-        }
-
-        // Check diagonal sequences (top-right to bottom-left)
-        sequencesFound += countDiagonalTRBLSequences(dna, n);
-
-        return sequencesFound >= REQUIRED_SEQUENCES;
-    }
-
-    private int countHorizontalSequences(String[] dna, int n) {
-        int count = 0;
-        for (int row = 0; row < n; row++) {
-            for (int col = 0; col <= n - SEQUENCE_LENGTH; col++) {
-                if (hasSequence(dna[row], col)) {
-                    count++;
-                    if (count >= REQUIRED_SEQUENCES) {
-                        return count;
-                    }
-                    // Skip remaining positions in this row to avoid counting overlapping sequences
-                    break;
-                }
-            }
-        }
-        return count;
+    public MutantDetector(DnaValidator dnaValidator) {
+        this(dnaValidator, new FourPassKernel());
     }
 
-    private boolean hasSequence(String str, int startPos) {
-        char firstChar = str.charAt(startPos);
-        for (int i = 1; i < SEQUENCE_LENGTH; i++) {
-            if (str.charAt(startPos + i) != firstChar) {
-                return false;
-            }
-        }
-        return true;
+    public MutantDetector(DnaValidator dnaValidator, DetectionKernel detectionKernel) {
+        this(dnaValidator, DetectionKernels.of(detectionKernel));
     }
 
-    private int countVerticalSequences(String[] dna, int n) {
-        int count = 0;
-        for (int col = 0; col < n; col++) {
-            for (int row = 0; row <= n - SEQUENCE_LENGTH; row++) {
-                if (hasVerticalSequence(dna, row, col)) {
-                    count++;
-                    if (count >= REQUIRED_SEQUENCES) {
-                        return count;
-                    }
-                    // Skip remaining positions in this column to avoid counting overlapping sequences
-                    break;
-                }
-            }
-        }
-        return count;
+    @Autowired
+    public MutantDetector(DnaValidator dnaValidator, DetectionKernels detectionKernels) {
+        this.dnaValidator = dnaValidator;
+        this.detectionKernels = detectionKernels;
     }
 
-    private boolean hasVerticalSequence(String[] dna, int startRow, int col) {
-        char firstChar = dna[startRow].charAt(col);
-        for (int i = 1; i < SEQUENCE_LENGTH; i++) {
-            if (dna[startRow + i].charAt(col) != firstChar) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Determines if a DNA sequence belongs to a mutant
+     * @param dna Array of strings representing DNA sequence
+     * @return true if mutant (more than one sequence found), false otherwise
+     */
+    public boolean isMutant(String[] dna) {
+        return isMutant(dna, DetectionKernels.DEFAULT_RULE_SET);
     }
 
-    private int countDiagonalTLBRSequences(String[] dna, int n) {
-        int count = 0;
-
-        // Check diagonals starting from first row
-        for (int col = 0; col <= n - SEQUENCE_LENGTH; col++) {
-            count += countDiagonalTLBRFromPosition(dna, 0, col, n);
-            if (count >= REQUIRED_SEQUENCES) {
-                return count;
-            }
-        }
-
-        // Check diagonals starting from first column (excluding [0,0] already checked)
-        for (int row = 1; row <= n - SEQUENCE_LENGTH; row++) {
-            count += countDiagonalTLBRFromPosition(dna, row, 0, n);
-            if (count >= REQUIRED_SEQUENCES) {
-                return count;
-            }
-        }
+    /**
+     * Determines if a DNA sequence belongs to a mutant under a named rule set
+     * @param dna Array of strings representing DNA sequence
+     * @param ruleSet configured rule set name
+     * @return true if mutant (at least the rule's required sequences found), false otherwise
+     */
+    public boolean isMutant(String[] dna, String ruleSet) {
+        DetectionKernel kernel = detectionKernels.get(ruleSet);
 
-        return count;
+        return kernel.isMutant(encode(dna));
     }
 
-    private int countDiagonalTLBRFromPosition(String[] dna, int startRow, int startCol, int n) {
-        int count = 0;
-        int row = startRow;
-        int col = startCol;
-
-        while (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
-            if (hasDiagonalTLBRSequence(dna, row, col)) {
-                count++;
-                if (count >= REQUIRED_SEQUENCES) {
-                    return count;
-                }
-                // Skip to avoid overlapping
-                row += SEQUENCE_LENGTH;
-                col += SEQUENCE_LENGTH;
-            } else {
-                row++;
-                col++;
-            }
-        }
-
-        return count;
+    /**
+     * Determines if a packed DNA matrix belongs to a mutant
+     * @param matrix DNA matrix packed at 2 bits per base
+     * @return true if mutant (more than one sequence found), false otherwise
+     */
+    public boolean isMutant(DnaMatrix matrix) {
+        return isMutant(matrix, DetectionKernels.DEFAULT_RULE_SET);
     }
 
-    private boolean hasDiagonalTLBRSequence(String[] dna, int startRow, int startCol) {
-        char firstChar = dna[startRow].charAt(startCol);
-        for (int i = 1; i < SEQUENCE_LENGTH; i++) {
-            if (dna[startRow + i].charAt(startCol + i) != firstChar) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Determines if a packed DNA matrix belongs to a mutant under a named rule set
+     * @param matrix DNA matrix packed at 2 bits per base
+     * @param ruleSet configured rule set name
+     * @return true if mutant (at least the rule's required sequences found), false otherwise
+     */
+    public boolean isMutant(DnaMatrix matrix, String ruleSet) {
+        return detectionKernels.get(ruleSet).isMutant(matrix);
     }
 
-    private int countDiagonalTRBLSequences(String[] dna, int n) {
-        int count = 0;
-
-        // Check diagonals starting from first row
-        for (int col = SEQUENCE_LENGTH - 1; col < n; col++) {
-            count += countDiagonalTRBLFromPosition(dna, 0, col, n);
-            if (count >= REQUIRED_SEQUENCES) {
-                return count;
-            }
-        }
-
-        // Check diagonals starting from last column (excluding [0, n-1] already checked)
-        for (int row = 1; row <= n - SEQUENCE_LENGTH; row++) {
-            count += countDiagonalTRBLFromPosition(dna, row, n - 1, n);
-            if (count >= REQUIRED_SEQUENCES) {
-                return count;
-            }
-        }
-
-        return count;
+    /**
+     * Validates a DNA sequence and packs it for detection
+     * @param dna Array of strings representing DNA sequence
+     * @return packed matrix
+     * @throws IllegalArgumentException if validation fails
+     */
+    public DnaMatrix encode(String[] dna) {
+        return dnaValidator.validateAndEncode(dna);
     }
 
-    private int countDiagonalTRBLFromPosition(String[] dna, int startRow, int startCol, int n) {
-        int count = 0;
-        int row = startRow;
-        int col = startCol;
-
-        while (row <= n - SEQUENCE_LENGTH && col >= SEQUENCE_LENGTH - 1) {
-            if (hasDiagonalTRBLSequence(dna, row, col)) {
-                count++;
-                if (count >= REQUIRED_SEQUENCES) {
-                    return count;
-                }
-                // Skip to avoid overlapping
-                row += SEQUENCE_LENGTH;
-                col -= SEQUENCE_LENGTH;
-            } else {
-                row++;
-                col--;
-            }
+    /**
+     * Starts an incremental detection for a matrix that arrives row by row
+     * @param size N, the number of rows and of bases per row
+     * @param ruleSet configured rule set name
+     * @return session to feed with rows; it keeps O(N) state and can decide before the last row
+     * @throws IllegalArgumentException if no such rule set is configured or the matrix is too small
+     */
+    public DetectionSession newSession(int size, String ruleSet) {
+        DetectionRule rule = rule(ruleSet);
+        if (size < DnaValidator.MIN_SIZE) {
+            throw new IllegalArgumentException("DNA matrix must be at least 4x4 to detect sequences");
         }
-
-        return count;
+        return new DetectionSession(size, rule);
     }
 
-    private boolean hasDiagonalTRBLSequence(String[] dna, int startRow, int startCol) {
-        char firstChar = dna[startRow].charAt(startCol);
-        for (int i = 1; i < SEQUENCE_LENGTH; i++) {
-            if (dna[startRow + i].charAt(startCol - i) != firstChar) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Resolves a rule set name
+     * @param ruleSet configured rule set name
+     * @return the rule used for that rule set
+     * @throws IllegalArgumentException if no such rule set is configured
+     */
+    public DetectionRule rule(String ruleSet) {
+        return detectionKernels.get(ruleSet).rule();
     }
 }
@@ -0,0 +1,73 @@
+package com.example.dna_demo.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * 32-byte dedup key of a DNA, held as four longs instead of a 64-char hex String:
+ * a SHA-256 digest, or a 128-bit MurmurHash3 fingerprint padded with zeros (see {@code dna.hash.algorithm}).
+ * Stored as {@code BINARY(32)}; the hex form is only built for events and logs.
+ */
+public record DnaHash(long w0, long w1, long w2, long w3) {
+
+    public static final int BYTES = 32;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * @param bytes 32 bytes, as stored in {@code dna_hash}
+     */
+    public static DnaHash fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("DNA hash must be " + BYTES + " bytes, got " + bytes.length);
+        }
+        return new DnaHash((long) LONGS.get(bytes, 0), (long) LONGS.get(bytes, 8),
+            (long) LONGS.get(bytes, 16), (long) LONGS.get(bytes, 24));
+    }
+
+    /**
+     * @param hex 64 hexadecimal characters, as stored before hashes were binary
+     */
+    public static DnaHash fromHex(String hex) {
+        if (hex.length() != BYTES * 2) {
+            throw new IllegalArgumentException("DNA hash must be " + BYTES * 2 + " hex characters");
+        }
+        return new DnaHash(Long.parseUnsignedLong(hex, 0, 16, 16), Long.parseUnsignedLong(hex, 16, 32, 16),
+            Long.parseUnsignedLong(hex, 32, 48, 16), Long.parseUnsignedLong(hex, 48, 64, 16));
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        LONGS.set(bytes, 0, w0);
+        LONGS.set(bytes, 8, w1);
+        LONGS.set(bytes, 16, w2);
+        LONGS.set(bytes, 24, w3);
+        return bytes;
+    }
+
+    /**
+     * @return lowercase hexadecimal form, identical to the hashes stored as text before
+     */
+    public String toHex() {
+        char[] chars = new char[BYTES * 2];
+        appendHex(w0, chars, 0);
+        appendHex(w1, chars, 16);
+        appendHex(w2, chars, 32);
+        appendHex(w3, chars, 48);
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private static void appendHex(long word, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) word & 0xF];
+            word >>>= 4;
+        }
+    }
+}
@@ -1,32 +1,119 @@
 package com.example.dna_demo.util;
 
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 public class DnaHashUtil {
 
+    /**
+     * Dedup key algorithms, selected with {@code dna.hash.algorithm}.
+     */
+    public enum Algorithm {
+        /** SHA-256 of the rows joined with '|'; collisions are not a practical concern */
+        SHA_256,
+        /**
+         * 128-bit MurmurHash3 (x64) over the packed words; several times cheaper, but a match
+         * must be confirmed against the stored sequence
+         */
+        MURMUR3_128;
+
+        /**
+         * @return true if a key match alone does not prove the DNA is the same
+         */
+        public boolean verifiesSequence() {
+            return this == MURMUR3_128;
+        }
+    }
+
     private static final String HASH_ALGORITHM = "SHA-256";
 
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    // MessageDigest is not thread-safe and costly to look up, so each thread keeps its own with a row buffer
+    private static final ThreadLocal<Hasher> HASHERS = ThreadLocal.withInitial(Hasher::new);
+
     /**
      * Generates a SHA-256 hash from a DNA sequence array
      * @param dna Array of DNA strings
      * @return Hexadecimal string representation of the hash
      */
     public static String generateHash(String[] dna) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        return hash(dna).toHex();
+    }
+
+    /**
+     * Hexadecimal form of {@link #hash(String[], DetectionRule)}
+     * @param dna Array of DNA strings
+     * @param rule Detection rule the verdict was computed with
+     * @return Hexadecimal string representation of the hash
+     */
+    public static String generateHash(String[] dna, DetectionRule rule) {
+        return hash(dna, rule).toHex();
+    }
+
+    /**
+     * Hexadecimal form of {@link #hash(DnaMatrix, DetectionRule)}
+     * @param matrix Packed DNA matrix
+     * @param rule Detection rule the verdict was computed with
+     * @return Hexadecimal string representation of the hash
+     */
+    public static String generateHash(DnaMatrix matrix, DetectionRule rule) {
+        return hash(matrix, rule).toHex();
+    }
 
-            // Concatenate all DNA strings with a delimiter
-            String concatenated = String.join("|", dna);
+    /**
+     * Hashes a DNA sequence array under the default rule
+     * @param dna Array of DNA strings
+     * @return SHA-256 of the rows joined with '|'
+     */
+    public static DnaHash hash(String[] dna) {
+        return hash(dna, DetectionRule.DEFAULT);
+    }
 
-            byte[] hashBytes = digest.digest(concatenated.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Hashes a DNA sequence array checked under a detection rule.
+     * The default rule hashes the rows joined with '|'; any other rule is prefixed
+     * (e.g. {@code 5/3#}) so its verdicts are stored apart from the default ones.
+     * Rows are streamed into the digest one by one, without building the joined String.
+     * @param dna Array of DNA strings
+     * @param rule Detection rule the verdict was computed with
+     * @return SHA-256 key
+     */
+    public static DnaHash hash(String[] dna, DetectionRule rule) {
+        Hasher hasher = HASHERS.get().start(rule);
+        for (int i = 0; i < dna.length; i++) {
+            if (i > 0) {
+                hasher.digest.update((byte) '|');
+            }
+            hasher.update(String.valueOf(dna[i]));
+        }
+        return hasher.finish();
+    }
 
-            // Convert bytes to hexadecimal string
-            return bytesToHex(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
+    /**
+     * Generates the same hash as {@link #hash(String[], DetectionRule)}
+     * straight from a packed matrix, one decoded row at a time
+     * @param matrix Packed DNA matrix
+     * @param rule Detection rule the verdict was computed with
+     * @return SHA-256 key
+     */
+    public static DnaHash hash(DnaMatrix matrix, DetectionRule rule) {
+        Hasher hasher = HASHERS.get().start(rule);
+        byte[] row = hasher.row(matrix.cols());
+        for (int i = 0; i < matrix.rows(); i++) {
+            if (i > 0) {
+                hasher.digest.update((byte) '|');
+            }
+            matrix.decodeRowAscii(i, row);
+            hasher.digest.update(row, 0, matrix.cols());
         }
+        return hasher.finish();
     }
 
     /**
@@ -38,6 +125,27 @@ public class DnaHashUtil {
         return String.join("|", dna);
     }
 
+    /**
+     * Converts a packed DNA matrix to the same storage string as {@link #dnaToString(String[])}
+     * @param matrix Packed DNA matrix
+     * @return Concatenated DNA string with delimiter
+     */
+    public static String dnaToString(DnaMatrix matrix) {
+        int rows = matrix.rows();
+        int cols = matrix.cols();
+        byte[] chars = new byte[rows == 0 ? 0 : rows * (cols + 1) - 1];
+        byte[] row = new byte[cols];
+        for (int i = 0; i < rows; i++) {
+            int offset = i * (cols + 1);
+            matrix.decodeRowAscii(i, row);
+            System.arraycopy(row, 0, chars, offset, cols);
+            if (i < rows - 1) {
+                chars[offset + cols] = '|';
+            }
+        }
+        return new String(chars, StandardCharsets.US_ASCII);
+    }
+
     /**
      * Converts stored DNA string back to array
      * @param dnaString Concatenated DNA string
@@ -48,19 +156,132 @@ public class DnaHashUtil {
     }
 
     /**
-     * Converts byte array to hexadecimal string
-     * @param bytes Byte array
-     * @return Hexadecimal string
+     * Hashes a packed matrix with the given algorithm
+     * @param matrix Packed DNA matrix
+     * @param rule Detection rule the verdict was computed with
+     * @param algorithm dedup key algorithm
+     * @return dedup key
+     */
+    public static DnaHash hash(DnaMatrix matrix, DetectionRule rule, Algorithm algorithm) {
+        return algorithm == Algorithm.MURMUR3_128 ? fingerprint(matrix, rule) : hash(matrix, rule);
+    }
+
+    /**
+     * 128-bit MurmurHash3 (x64 variant, seed 0) of the matrix shape, the rule and the packed words,
+     * read as a stream of little-endian longs. It never touches the bases one by one.
+     * The key fills the low half of a {@link DnaHash} and leaves the high half zero.
+     * @param matrix Packed DNA matrix
+     * @param rule Detection rule the verdict was computed with
+     * @return 128-bit fingerprint
      */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
+    public static DnaHash fingerprint(DnaMatrix matrix, DetectionRule rule) {
+        long h1 = 0;
+        long h2 = 0;
+        int count = 2 + matrix.wordCount();
+        int index = 0;
+        // The shape keeps matrices with the same words but other dimensions apart
+        long k1 = (long) matrix.rows() << 32 | matrix.cols();
+        long k2 = (long) rule.sequenceLength() << 32 | rule.requiredSequences();
+        while (true) {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+            index += 2;
+            if (count - index < 2) {
+                break;
+            }
+            k1 = matrix.word(index - 2);
+            k2 = matrix.word(index - 1);
+        }
+        if (index < count) {
+            // One 8-byte tail word
+            h1 ^= mixK1(matrix.word(index - 2));
+        }
+
+        long length = (long) count * Long.BYTES;
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new DnaHash(h1, h2, 0, 0);
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static final class Hasher {
+
+        private final MessageDigest digest;
+        private final byte[] output = new byte[DnaHash.BYTES];
+        private byte[] row = new byte[64];
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("SHA-256 algorithm not available", e);
+            }
+        }
+
+        Hasher start(DetectionRule rule) {
+            // A previous call may have failed halfway
+            digest.reset();
+            if (!rule.isDefault()) {
+                digest.update((rule + "#").getBytes(StandardCharsets.UTF_8));
+            }
+            return this;
+        }
+
+        byte[] row(int length) {
+            if (row.length < length) {
+                row = new byte[Math.max(length, row.length * 2)];
+            }
+            return row;
+        }
+
+        void update(String text) {
+            int length = text.length();
+            byte[] bytes = row(length);
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    // Not plain ASCII: hash the UTF-8 encoding, as the joined String used to be
+                    digest.update(text.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                bytes[i] = (byte) c;
+            }
+            digest.update(bytes, 0, length);
+        }
+
+        DnaHash finish() {
+            try {
+                digest.digest(output, 0, output.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("SHA-256 digest failed", e);
             }
-            hexString.append(hex);
+            return DnaHash.fromBytes(output);
         }
-        return hexString.toString();
     }
 }
@@ -0,0 +1,26 @@
+package com.example.dna_demo.util;
+
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+
+/**
+ * Dedup key of a DNA: the matrix in the orientation it is stored in, with its hash.
+ * dna-demo and dna-reactive both build it here, so the same {@code dna.hash.*} settings give both the same keys.
+ *
+ * @param matrix matrix as stored
+ * @param hash dedup key of {@code matrix}
+ */
+public record DnaKey(DnaMatrix matrix, DnaHash hash) {
+
+    /**
+     * @param matrix DNA as sent
+     * @param rule rule the verdict is for
+     * @param algorithm {@code dna.hash.algorithm}
+     * @param canonical {@code dna.hash.canonical}: key rotations and reflections as one DNA, in its canonical orientation
+     */
+    public static DnaKey of(DnaMatrix matrix, DetectionRule rule, Algorithm algorithm, boolean canonical) {
+        DnaMatrix keyed = canonical ? matrix.canonical() : matrix;
+        return new DnaKey(keyed, DnaHashUtil.hash(keyed, rule, algorithm));
+    }
+}
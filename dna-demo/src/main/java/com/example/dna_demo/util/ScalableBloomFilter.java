@@ -0,0 +1,221 @@
+package com.example.dna_demo.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter of {@link DnaHash} keys (Almeida et al., 2007): a chain of Bloom filters where each
+ * new stage doubles the capacity and halves the false positive rate of the previous one, so the filter keeps
+ * accepting keys past its initial capacity while the overall false positive rate stays below the configured one.
+ *
+ * Keys are already uniform hashes, so bit positions come from their first two words by double hashing
+ * instead of hashing them again. Bits are set with atomic ORs: lookups, inserts and writes need no lock,
+ * and only adding a stage is synchronized.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int MAGIC = 0x444E4246; // "DNBF"
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+    private static final int MAX_BITS_LOG2 = 36;
+
+    private static final class Stage {
+
+        private final AtomicLongArray words;
+        private final long mask;
+        private final int hashCount;
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLong entries = new AtomicLong();
+
+        private Stage(int bitsLog2, int hashCount, long capacity, double falsePositiveRate) {
+            this.words = new AtomicLongArray(1 << (bitsLog2 - 6));
+            this.mask = (1L << bitsLog2) - 1;
+            this.hashCount = hashCount;
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        private static Stage sized(long capacity, double falsePositiveRate) {
+            // Bits rounded up to a power of two, so a position is a mask and the stage only gets more accurate
+            double bitsPerKey = -Math.log(falsePositiveRate) / LN2_SQUARED;
+            long bits = Math.max(Long.SIZE, (long) Math.ceil(capacity * bitsPerKey));
+            int bitsLog2 = Math.min(MAX_BITS_LOG2, Long.SIZE - Long.numberOfLeadingZeros(bits - 1));
+            int hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+            return new Stage(bitsLog2, hashCount, Math.max(capacity, (long) ((1L << bitsLog2) / bitsPerKey)), falsePositiveRate);
+        }
+
+        private int bitsLog2() {
+            return Long.SIZE - Long.numberOfLeadingZeros(mask);
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = (h1 + i * h2) & mask;
+                if ((words.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = (h1 + i * h2) & mask;
+                long word = 1L << bit;
+                words.accumulateAndGet((int) (bit >>> 6), word, (current, set) -> current | set);
+            }
+            entries.incrementAndGet();
+        }
+
+        private boolean isFull() {
+            return entries.get() >= capacity;
+        }
+    }
+
+    private final double falsePositiveRate;
+    private volatile Stage[] stages;
+
+    /**
+     * @param initialCapacity keys the first stage holds at the target rate; later stages double it
+     * @param falsePositiveRate upper bound of the overall false positive rate, in (0, 1)
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Bloom filter capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Bloom filter false positive rate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // Stage rates p(1-r), p(1-r)r, p(1-r)r^2... sum to at most p
+        this.stages = new Stage[]{Stage.sized(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    private ScalableBloomFilter(double falsePositiveRate, Stage[] stages) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.stages = stages;
+    }
+
+    /**
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    public boolean mightContain(DnaHash dnaHash) {
+        long h1 = dnaHash.w0();
+        long h2 = dnaHash.w1() | 1;
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a key, opening a new stage once the current one is full
+     */
+    public void put(DnaHash dnaHash) {
+        if (mightContain(dnaHash)) {
+            return;
+        }
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last.isFull()) {
+            last = grow(current);
+        }
+        last.put(dnaHash.w0(), dnaHash.w1() | 1);
+    }
+
+    private synchronized Stage grow(Stage[] seen) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (current != seen && !last.isFull()) {
+            return last;
+        }
+        Stage next = Stage.sized(last.capacity * GROWTH, last.falsePositiveRate * TIGHTENING);
+        Stage[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = next;
+        stages = grown;
+        return next;
+    }
+
+    /**
+     * @return keys added, counting a key once unless it was added concurrently
+     */
+    public long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.entries.get();
+        }
+        return size;
+    }
+
+    /**
+     * @return heap held by the bit arrays
+     */
+    public long bytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += (long) stage.words.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    /**
+     * Writes the filter so {@link #readFrom(DataInputStream)} restores it without re-adding its keys.
+     * Writes the stages present when it starts; keys added meanwhile may or may not be in the copy.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        Stage[] current = stages;
+        out.writeInt(MAGIC);
+        out.writeDouble(falsePositiveRate);
+        out.writeInt(current.length);
+        for (Stage stage : current) {
+            out.writeInt(stage.bitsLog2());
+            out.writeInt(stage.hashCount);
+            out.writeLong(stage.capacity);
+            out.writeDouble(stage.falsePositiveRate);
+            out.writeLong(stage.entries.get());
+            for (int i = 0; i < stage.words.length(); i++) {
+                out.writeLong(stage.words.get(i));
+            }
+        }
+    }
+
+    /**
+     * @throws IOException if the stream does not hold a filter written by {@link #writeTo(DataOutputStream)}
+     */
+    public static ScalableBloomFilter readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a Bloom filter snapshot");
+        }
+        double falsePositiveRate = in.readDouble();
+        int stageCount = in.readInt();
+        if (stageCount < 1 || stageCount > Long.SIZE) {
+            throw new IOException("Bloom filter snapshot has " + stageCount + " stages");
+        }
+        Stage[] stages = new Stage[stageCount];
+        for (int s = 0; s < stages.length; s++) {
+            int bitsLog2 = in.readInt();
+            if (bitsLog2 < 6 || bitsLog2 > MAX_BITS_LOG2) {
+                throw new IOException("Bloom filter snapshot stage " + s + " has an unexpected size");
+            }
+            Stage stage = new Stage(bitsLog2, in.readInt(), in.readLong(), in.readDouble());
+            stage.entries.set(in.readLong());
+            for (int i = 0; i < stage.words.length(); i++) {
+                stage.words.set(i, in.readLong());
+            }
+            stages[s] = stage;
+        }
+        return new ScalableBloomFilter(falsePositiveRate, stages);
+    }
+}
@@ -1,43 +1,111 @@
 package com.example.dna_demo.validator;
 
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.detector.DnaMatrixBuilder;
+import com.example.dna_demo.exception.InvalidDnaException;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 @Component
 public class DnaValidator {
 
-    private static final Pattern VALID_DNA_PATTERN = Pattern.compile("^[ATCG]+$");
-    private static final int MIN_SIZE = 4;
+    public static final int MIN_SIZE = 4;
 
     /**
      * Validates a DNA sequence array
      * @param dna Array of strings representing DNA sequence
-     * @throws IllegalArgumentException if validation fails
+     * @throws InvalidDnaException if validation fails
      */
     public void validate(String[] dna) {
+        validateAndEncode(dna);
+    }
+
+    /**
+     * Validates a DNA sequence array and packs it for detection in the same pass.
+     * Only the shape checks look at the rows beforehand; the alphabet is checked
+     * base by base while packing, with the same error messages and row index.
+     * @param dna Array of strings representing DNA sequence
+     * @return packed matrix
+     * @throws InvalidDnaException if validation fails
+     */
+    public DnaMatrix validateAndEncode(String[] dna) {
         validateNotNull(dna);
         validateNotEmpty(dna);
         validateSquareMatrix(dna);
         validateMinimumSize(dna);
-        validateRows(dna);
+        try {
+            return DnaMatrix.of(dna);
+        } catch (IllegalArgumentException e) {
+            // Only the alphabet is left to fail here
+            throw new InvalidDnaException(e.getMessage());
+        }
+    }
+
+    /**
+     * Validates rows that were packed while being read, with the same checks,
+     * order and error messages as {@link #validate(String[])}
+     * @param rows rows collected from the request body
+     * @return packed matrix
+     * @throws InvalidDnaException if validation fails
+     */
+    public DnaMatrix validateAndEncode(DnaMatrixBuilder rows) {
+        int n = rows.rows();
+        if (n == 0) {
+            throw new InvalidDnaException("DNA sequence cannot be empty");
+        }
+        for (int row = 0; row < n; row++) {
+            int length = rows.rowLength(row);
+            if (length < 0) {
+                throw new InvalidDnaException("DNA row cannot be null");
+            }
+            if (length != n) {
+                throw new InvalidDnaException("DNA matrix must be NxN (square)");
+            }
+        }
+        if (n < MIN_SIZE) {
+            throw new InvalidDnaException("DNA matrix must be at least 4x4 to detect sequences");
+        }
+        if (rows.firstInvalidRow() >= 0) {
+            throw new InvalidDnaException(String.format(
+                "Invalid character found in row %d. Only A, T, C, G are allowed", rows.firstInvalidRow()));
+        }
+        return rows.build();
+    }
+
+    /**
+     * Validates the shape of a matrix that arrived already packed; its bases need no check
+     * since every 2-bit code is one of A, C, G, T
+     * @param matrix packed matrix read from the request body
+     * @return the same matrix
+     * @throws InvalidDnaException if validation fails
+     */
+    public DnaMatrix validateShape(DnaMatrix matrix) {
+        if (matrix.rows() == 0) {
+            throw new InvalidDnaException("DNA sequence cannot be empty");
+        }
+        if (matrix.cols() != matrix.rows()) {
+            throw new InvalidDnaException("DNA matrix must be NxN (square)");
+        }
+        if (matrix.rows() < MIN_SIZE) {
+            throw new InvalidDnaException("DNA matrix must be at least 4x4 to detect sequences");
+        }
+        return matrix;
     }
 
     private void validateNotNull(String[] dna) {
         if (dna == null) {
-            throw new IllegalArgumentException("DNA sequence cannot be null");
+            throw new InvalidDnaException("DNA sequence cannot be null");
         }
     }
 
     private void validateNotEmpty(String[] dna) {
         if (dna.length == 0) {
-            throw new IllegalArgumentException("DNA sequence cannot be empty");
+            throw new InvalidDnaException("DNA sequence cannot be empty");
         }
     }
 
     private void validateMinimumSize(String[] dna) {
         if (dna.length < MIN_SIZE) {
-            throw new IllegalArgumentException("DNA matrix must be at least 4x4 to detect sequences");
+            throw new InvalidDnaException("DNA matrix must be at least 4x4 to detect sequences");
         }
     }
 
@@ -45,21 +113,10 @@ public class DnaValidator {
         int n = dna.length;
         for (String row : dna) {
             if (row == null) {
-                throw new IllegalArgumentException("DNA row cannot be null");
+                throw new InvalidDnaException("DNA row cannot be null");
             }
             if (row.length() != n) {
-                throw new IllegalArgumentException("DNA matrix must be NxN (square)");
-            }
-        }
-    }
-
-    private void validateRows(String[] dna) {
-        for (int i = 0; i < dna.length; i++) {
-            String row = dna[i];
-            if (!VALID_DNA_PATTERN.matcher(row).matches()) {
-                throw new IllegalArgumentException(
-                    String.format("Invalid character found in row %d. Only A, T, C, G are allowed", i)
-                );
+                throw new InvalidDnaException("DNA matrix must be NxN (square)");
             }
         }
     }
@@ -0,0 +1,10 @@
+-- dna_records as Hibernate created it before the schema was migrated with Flyway.
+-- Existing databases already have it, so this only creates it in new ones.
+CREATE TABLE IF NOT EXISTS dna_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    dna_hash VARCHAR(64) NOT NULL UNIQUE,
+    dna_sequence TEXT NOT NULL,
+    is_mutant BOOLEAN NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_dna_hash ON dna_records (dna_hash);
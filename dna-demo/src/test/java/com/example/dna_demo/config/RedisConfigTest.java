@@ -0,0 +1,43 @@
+package com.example.dna_demo.config;
+
+import com.example.dna_demo.event.VerdictNoticeListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RedisConfigTest {
+
+    @Test
+    void shouldKeepDefaultListenerExecutorWithoutVirtualThreads() {
+        // When
+        RedisMessageListenerContainer container = new RedisConfig().verdictNoticeListenerContainer(
+            mock(RedisConnectionFactory.class), mock(VerdictNoticeListener.class), new MockEnvironment());
+
+        // Then: the container creates its own executor on start
+        assertNull(ReflectionTestUtils.getField(container, "taskExecutor"));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldHandleVerdictNoticesOnVirtualThreadsWhenEnabled() {
+        // Given
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        // When
+        RedisMessageListenerContainer container = new RedisConfig().verdictNoticeListenerContainer(
+            mock(RedisConnectionFactory.class), mock(VerdictNoticeListener.class), environment);
+
+        // Then
+        Object executor = ReflectionTestUtils.getField(container, "taskExecutor");
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+        assertTrue(((SimpleAsyncTaskExecutor) executor).getThreadNamePrefix().startsWith("dna-verdicts-"));
+    }
+}
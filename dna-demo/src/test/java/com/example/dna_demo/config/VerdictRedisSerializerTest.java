@@ -0,0 +1,46 @@
+package com.example.dna_demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerdictRedisSerializerTest {
+
+    private final VerdictRedisSerializer serializer = VerdictRedisSerializer.INSTANCE;
+
+    @Test
+    void shouldEncodeVerdictAsOneByte() {
+        // When
+        byte[] mutant = serializer.serialize(true);
+        byte[] human = serializer.serialize(false);
+
+        // Then: the values dna-reactive stores under dna:verdict:<hash>
+        assertArrayEquals("1".getBytes(StandardCharsets.US_ASCII), mutant);
+        assertArrayEquals("0".getBytes(StandardCharsets.US_ASCII), human);
+        assertTrue(serializer.deserialize(mutant));
+        assertFalse(serializer.deserialize(human));
+    }
+
+    @Test
+    void shouldReadNothingAsNull() {
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    @Test
+    void shouldRejectBytesThatAreNotVerdict() {
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{'x'}));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{'1', '0'}));
+    }
+
+    @Test
+    void shouldDecodeValuesReadAsStrings() {
+        assertTrue(serializer.decode("1"));
+        assertFalse(serializer.decode("0"));
+        assertNull(serializer.decode(null));
+        assertThrows(SerializationException.class, () -> serializer.decode("true"));
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.dna_demo.controller;
+
+import com.example.dna_demo.config.StreamConfig;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.dto.DnaMatrixDeserializer;
+import com.example.dna_demo.dto.PackedDnaMessageConverter;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.service.DnaService;
+import com.example.dna_demo.service.DnaStreamService;
+import com.example.dna_demo.service.MutantDetector;
+import com.example.dna_demo.validator.DnaValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = MutantController.class, properties = "dna.stream.chunk-size=2")
+@Import({DnaValidator.class, DnaMatrixDeserializer.class, PackedDnaMessageConverter.class,
+    DnaStreamService.class, StreamConfig.class, DnaMetrics.class})
+class MutantControllerTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+    private static final String MUTANT_JSON = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+    private static final String HUMAN_JSON = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}";
+    private static final String PACKED_MALFORMED =
+        "Packed DNA body must be a 4-byte size N followed by N rows of N 2-bit bases";
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // Chunks passed to verifyAndSaveAll, copied: the stream reuses its chunk list
+    private final List<List<DnaMatrix>> verifiedChunks = new ArrayList<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private DnaService dnaService;
+
+    @MockitoBean
+    private MutantDetector mutantDetector;
+
+    @Test
+    void shouldVerifyPackedBodyAsSameMatrixAsJson() throws Exception {
+        // Given
+        DnaMatrix matrix = DnaMatrix.of(MUTANT);
+        when(dnaService.verifyAndSave(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        // When / Then
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(PackedDnaMessageConverter.toBytes(matrix)))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/mutant/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(MUTANT_JSON))
+            .andExpect(status().isOk());
+
+        verify(dnaService, times(2)).verifyAndSave(eq(matrix), eq("default"));
+    }
+
+    @Test
+    void shouldTimeValidationOfJsonAndPackedBodies() throws Exception {
+        // Given
+        when(dnaService.verifyAndSave(any(DnaMatrix.class), anyString())).thenReturn(true);
+        long before = validations();
+
+        // When
+        mockMvc.perform(post("/mutant/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(MUTANT_JSON))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(PackedDnaMessageConverter.toBytes(DnaMatrix.of(MUTANT))))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(new byte[]{0, 0, 0, 6}))
+            .andExpect(status().isBadRequest());
+
+        // Then: rejected bodies are timed too
+        assertEquals(3, validations() - before);
+    }
+
+    @Test
+    void shouldAnswerHumanPackedBodyWithForbidden() throws Exception {
+        // Given
+        when(dnaService.verifyAndSave(any(DnaMatrix.class), anyString())).thenReturn(false);
+
+        // When / Then
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(PackedDnaMessageConverter.toBytes(DnaMatrix.of(MUTANT))))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldRejectUnsupportedContentType() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/mutant/")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(String.join(",", MUTANT)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Content type not supported. Use application/json or application/x-dna-packed"));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldRejectTruncatedPackedBody() throws Exception {
+        // Given
+        byte[] packed = PackedDnaMessageConverter.toBytes(DnaMatrix.of(MUTANT));
+
+        // When / Then
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(Arrays.copyOf(packed, packed.length - 1)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(PACKED_MALFORMED));
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(new byte[]{0, 0, 6}))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(PACKED_MALFORMED));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldRejectOversizedPackedBody() throws Exception {
+        // Given
+        byte[] packed = PackedDnaMessageConverter.toBytes(DnaMatrix.of(MUTANT));
+
+        // When / Then: trailing bytes after the N rows
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(Arrays.copyOf(packed, packed.length + 1)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(PACKED_MALFORMED));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldRejectPackedHeaderLargerThanBody() throws Exception {
+        // Given: a header claiming Integer.MAX_VALUE rows, whose size would overflow an int
+        byte[] packed = PackedDnaMessageConverter.toBytes(DnaMatrix.of(MUTANT));
+        packed[0] = 0x7F;
+        packed[1] = (byte) 0xFF;
+        packed[2] = (byte) 0xFF;
+        packed[3] = (byte) 0xFF;
+
+        // When / Then
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(packed))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(PACKED_MALFORMED));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldRejectPackedMatrixTooSmallToDetect() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/mutant/")
+                .contentType(PackedDnaMessageConverter.MEDIA_TYPE)
+                .content(PackedDnaMessageConverter.toBytes(DnaMatrix.of(new String[]{"ATG", "CAG", "TTA"}))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("DNA matrix must be at least 4x4 to detect sequences"));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldReturnBatchVerdictsInRequestOrder() throws Exception {
+        // Given
+        when(dnaService.verifyAndSaveAll(anyList(), anyString())).thenReturn(List.of(false, true, false));
+
+        // When / Then
+        mockMvc.perform(post("/mutant/batch")
+                .param("rules", "strict")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[" + HUMAN_JSON + "," + MUTANT_JSON + "," + HUMAN_JSON + "]}"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("{\"verdicts\":[false,true,false]}", JsonCompareMode.STRICT));
+
+        verify(dnaService).verifyAndSaveAll(
+            List.of(DnaMatrix.of(HUMAN), DnaMatrix.of(MUTANT), DnaMatrix.of(HUMAN)), "strict");
+    }
+
+    @Test
+    void shouldRejectWholeBatchForInvalidItem() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/mutant/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[" + MUTANT_JSON + ",{\"dna\":[\"ATGX\",\"CAGT\",\"TTAT\",\"AGAA\"]}]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Invalid character found in row 0. Only A, T, C, G are allowed"));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldRejectBatchWithNullOrEmptyItems() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/mutant/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[" + MUTANT_JSON + ",{}]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$['items[1].dna']").value("DNA sequence cannot be null"));
+        mockMvc.perform(post("/mutant/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.items").value("DNA batch cannot be empty"));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    @Test
+    void shouldStreamOneVerdictLinePerItemAcrossChunks() throws Exception {
+        // Given: 5 items in chunks of 2
+        when(mutantDetector.rule("default")).thenReturn(DetectionRule.DEFAULT);
+        stubVerdictsByMatrix();
+
+        // When
+        String body = stream(MUTANT_JSON + "\n" + HUMAN_JSON + "\n" + HUMAN_JSON + "\n" + MUTANT_JSON + "\n" + MUTANT_JSON + "\n");
+
+        // Then
+        assertEquals("""
+            {"index":0,"mutant":true}
+            {"index":1,"mutant":false}
+            {"index":2,"mutant":false}
+            {"index":3,"mutant":true}
+            {"index":4,"mutant":true}
+            """, body);
+        DnaMatrix mutant = DnaMatrix.of(MUTANT);
+        DnaMatrix human = DnaMatrix.of(HUMAN);
+        assertEquals(List.of(List.of(mutant, human), List.of(human, mutant), List.of(mutant)), verifiedChunks);
+    }
+
+    @Test
+    void shouldReportMalformedItemsAndKeepStreaming() throws Exception {
+        // Given: an item with an invalid base and an item of the wrong shape, without a trailing newline
+        when(mutantDetector.rule("default")).thenReturn(DetectionRule.DEFAULT);
+        stubVerdictsByMatrix();
+
+        // When
+        String body = stream(MUTANT_JSON + "\n"
+            + "{\"dna\":[\"ATGX\",\"CAGT\",\"TTAT\",\"AGAA\"]}\n"
+            + "{\"dna\":{\"rows\":[\"ATGC\"]}}\n"
+            + HUMAN_JSON);
+
+        // Then
+        assertEquals("""
+            {"index":0,"mutant":true}
+            {"index":1,"error":"Invalid character found in row 0. Only A, T, C, G are allowed"}
+            {"index":2,"error":"Invalid request body format"}
+            {"index":3,"mutant":false}
+            """, body);
+        assertEquals(List.of(List.of(DnaMatrix.of(MUTANT)), List.of(DnaMatrix.of(HUMAN))), verifiedChunks);
+    }
+
+    @Test
+    void shouldEndStreamAtUnparseableLine() throws Exception {
+        // Given
+        when(mutantDetector.rule("default")).thenReturn(DetectionRule.DEFAULT);
+        stubVerdictsByMatrix();
+
+        // When
+        String body = stream(MUTANT_JSON + "\n{\"dna\":[\"ATGC\"\n" + HUMAN_JSON + "\n");
+
+        // Then: the verdict read before it is still written
+        assertEquals("""
+            {"index":0,"mutant":true}
+            {"index":1,"error":"Invalid request body format"}
+            """, body);
+    }
+
+    @Test
+    void shouldRejectStreamForUnknownRuleSetBeforeWriting() throws Exception {
+        // Given
+        when(mutantDetector.rule("unknown")).thenThrow(new IllegalArgumentException("Unknown rule set: unknown"));
+
+        // When / Then
+        mockMvc.perform(post("/mutant/stream")
+                .param("rules", "unknown")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(MUTANT_JSON + "\n"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Unknown rule set: unknown"));
+
+        verifyNoInteractions(dnaService);
+    }
+
+    private void stubVerdictsByMatrix() {
+        DnaMatrix mutant = DnaMatrix.of(MUTANT);
+        when(dnaService.verifyAndSaveAll(anyList(), anyString())).thenAnswer(invocation -> {
+            List<DnaMatrix> matrices = invocation.getArgument(0);
+            verifiedChunks.add(List.copyOf(matrices));
+            return matrices.stream().map(mutant::equals).toList();
+        });
+    }
+
+    private String stream(String ndjson) throws Exception {
+        MvcResult result = mockMvc.perform(post("/mutant/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private long validations() {
+        return meterRegistry.get("dna.verify.stage").tag("stage", "validation").timer().count();
+    }
+}
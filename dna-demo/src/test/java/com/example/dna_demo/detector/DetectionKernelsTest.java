@@ -0,0 +1,46 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetectionKernelsTest {
+
+    @Test
+    void shouldResolveKernelByRuleSet() {
+        FourPassKernel defaultKernel = new FourPassKernel();
+        FourPassKernel strictKernel = new FourPassKernel(new DetectionRule(5, 3));
+
+        DetectionKernels kernels = new DetectionKernels(Map.of(
+            DetectionKernels.DEFAULT_RULE_SET, defaultKernel,
+            "strict", strictKernel));
+
+        assertSame(defaultKernel, kernels.get(DetectionKernels.DEFAULT_RULE_SET));
+        assertSame(strictKernel, kernels.get("strict"));
+    }
+
+    @Test
+    void shouldRequireDefaultRuleSet() {
+        FourPassKernel strictKernel = new FourPassKernel(new DetectionRule(5, 3));
+
+        assertThrows(IllegalArgumentException.class, () -> new DetectionKernels(Map.of("strict", strictKernel)));
+        assertThrows(IllegalArgumentException.class, () -> DetectionKernels.of(strictKernel));
+    }
+
+    @Test
+    void shouldRejectUnknownRuleSet() {
+        DetectionKernels kernels = DetectionKernels.of(new FourPassKernel());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> kernels.get("other"));
+
+        assertEquals("Unknown detection rule set: other", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectInvalidRule() {
+        assertThrows(IllegalArgumentException.class, () -> new DetectionRule(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new DetectionRule(4, 0));
+    }
+}
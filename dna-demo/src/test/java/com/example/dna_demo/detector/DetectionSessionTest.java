@@ -0,0 +1,110 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetectionSessionTest {
+
+    @Test
+    void shouldDecideMutantBeforeLastRow() {
+        // Two horizontal sequences in the first two rows, the rest never needs to arrive
+        String[] dna = {"AAAAGC", "TTTTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DetectionSession session = new DetectionSession(6, DetectionRule.DEFAULT);
+
+        assertFalse(session.acceptRow(ascii(dna[0])));
+        assertTrue(session.acceptRow(ascii(dna[1])));
+
+        assertTrue(session.isMutant());
+        assertEquals(1, session.rowsAccepted());
+        assertTrue(session.finish());
+    }
+
+    @Test
+    void shouldReturnFalseForHumanAfterAllRows() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+        DetectionSession session = new DetectionSession(6, DetectionRule.DEFAULT);
+
+        for (String row : dna) {
+            assertFalse(session.acceptRow(ascii(row)));
+        }
+
+        assertFalse(session.finish());
+    }
+
+    @Test
+    void shouldNotRetainCallerRowBuffer() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DetectionSession session = new DetectionSession(6, DetectionRule.DEFAULT);
+        byte[] buffer = new byte[6];
+
+        boolean mutant = false;
+        for (String row : dna) {
+            System.arraycopy(ascii(row), 0, buffer, 0, buffer.length);
+            mutant = session.acceptRow(buffer);
+        }
+
+        assertTrue(mutant);
+    }
+
+    @Test
+    void shouldRejectRowOfWrongLength() {
+        DetectionSession session = new DetectionSession(4, DetectionRule.DEFAULT);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> session.acceptRow(ascii("ATGCA")));
+
+        assertEquals("DNA matrix must be NxN (square)", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectExtraRows() {
+        DetectionSession session = new DetectionSession(4, DetectionRule.DEFAULT);
+        for (String row : new String[]{"ATGC", "CAGT", "TTAT", "AGAC"}) {
+            session.acceptRow(ascii(row));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> session.acceptRow(ascii("GCGT")));
+    }
+
+    @Test
+    void shouldRejectMissingRowsOnFinish() {
+        DetectionSession session = new DetectionSession(4, DetectionRule.DEFAULT);
+        session.acceptRow(ascii("ATGC"));
+
+        assertThrows(IllegalArgumentException.class, session::finish);
+    }
+
+    @Test
+    void shouldMatchFourPassKernelOnRandomMatrices() {
+        Random random = new Random(17);
+        DetectionRule[] rules = {DetectionRule.DEFAULT, new DetectionRule(5, 3)};
+
+        for (DetectionRule rule : rules) {
+            FourPassKernel reference = new FourPassKernel(rule);
+
+            for (int i = 0; i < 2000; i++) {
+                int n = 4 + random.nextInt(37);
+                String[] dna = i % 2 == 0
+                    ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                    : RandomDna.planted(random, n, random.nextInt(6));
+
+                DetectionSession session = new DetectionSession(n, rule);
+                boolean mutant = false;
+                for (int row = 0; row < n && !mutant; row++) {
+                    mutant = session.acceptRow(ascii(dna[row]));
+                }
+
+                assertEquals(reference.isMutant(DnaMatrix.of(dna)), session.finish(),
+                    () -> rule + ": " + String.join(",", dna));
+            }
+        }
+    }
+
+    private static byte[] ascii(String row) {
+        return row.getBytes(StandardCharsets.US_ASCII);
+    }
+}
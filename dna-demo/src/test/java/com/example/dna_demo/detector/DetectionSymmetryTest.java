@@ -0,0 +1,157 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The verdict must not depend on the orientation of the matrix, which is what lets
+ * {@code dna.hash.canonical} store all 8 orientations of a DNA as one record.
+ */
+class DetectionSymmetryTest {
+
+    private static final List<UnaryOperator<String[]>> SYMMETRIES = List.of(
+        dna -> dna,
+        DetectionSymmetryTest::rotate,
+        dna -> rotate(rotate(dna)),
+        dna -> rotate(rotate(rotate(dna))),
+        DetectionSymmetryTest::transpose,
+        DetectionSymmetryTest::flipRows,
+        DetectionSymmetryTest::flipCols,
+        dna -> rotate(rotate(transpose(dna)))
+    );
+
+    private static final List<DetectionRule> RULES = List.of(
+        DetectionRule.DEFAULT, new DetectionRule(3, 4), new DetectionRule(5, 3));
+
+    private final List<ParallelKernel> parallelKernels = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        parallelKernels.forEach(ParallelKernel::close);
+    }
+
+    @Test
+    void shouldProduceEightDistinctOrientations() {
+        String[] dna = {"ACGT", "CCCC", "GAGA", "TTAC"};
+
+        assertEquals(8, SYMMETRIES.stream().map(symmetry -> List.of(symmetry.apply(dna))).distinct().count());
+    }
+
+    @Test
+    void shouldKeepVerdictUnderAllEightSymmetries() {
+        Random random = new Random(7);
+        int mutants = 0;
+        int humans = 0;
+
+        for (DetectionRule rule : RULES) {
+            List<DetectionKernel> kernels = kernels(rule);
+            for (int i = 0; i < 400; i++) {
+                int n = 4 + random.nextInt(21);
+                String[] dna = i % 2 == 0
+                    ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                    : RandomDna.planted(random, n, random.nextInt(6));
+                boolean expected = new FourPassKernel(rule).isMutant(DnaMatrix.of(dna));
+
+                for (UnaryOperator<String[]> symmetry : SYMMETRIES) {
+                    DnaMatrix oriented = DnaMatrix.of(symmetry.apply(dna));
+                    for (DetectionKernel kernel : kernels) {
+                        assertEquals(expected, kernel.isMutant(oriented),
+                            () -> kernel.getClass().getSimpleName() + " " + rule + " " + List.of(dna));
+                    }
+                }
+                if (expected) {
+                    mutants++;
+                } else {
+                    humans++;
+                }
+            }
+        }
+
+        // Both verdicts must be well represented for the check to mean anything
+        assertTrue(mutants > 200, "mutants: " + mutants);
+        assertTrue(humans > 200, "humans: " + humans);
+    }
+
+    @Test
+    void shouldShareCanonicalOrientationAcrossAllEightSymmetries() {
+        Random random = new Random(11);
+
+        for (int i = 0; i < 500; i++) {
+            // Sizes at and around word boundaries, where reversing a packed row has to shift out padding
+            int n = i < 40 ? new int[]{31, 32, 33, 64, 65}[i % 5] : 2 + random.nextInt(40);
+            String[] dna = i % 2 == 0 ? RandomDna.uniform(random, n, 1 + random.nextInt(4)) : RandomDna.planted(random, n, 3);
+            DnaMatrix canonical = DnaMatrix.of(dna).canonical();
+
+            for (UnaryOperator<String[]> symmetry : SYMMETRIES) {
+                DnaMatrix oriented = DnaMatrix.of(symmetry.apply(dna));
+                assertEquals(canonical, oriented.canonical(), () -> List.of(dna).toString());
+                assertEquals(new FourPassKernel().isMutant(oriented), new FourPassKernel().isMutant(canonical));
+            }
+        }
+    }
+
+    @Test
+    void shouldPickLexicographicallySmallestOrientation() {
+        String[] dna = {"TGCA", "GGGG", "CTCT", "AATT"};
+        String smallest = SYMMETRIES.stream()
+            .map(symmetry -> String.join("|", symmetry.apply(dna)))
+            .sorted()
+            .findFirst()
+            .orElseThrow();
+
+        assertEquals(smallest, String.join("|", DnaMatrix.of(dna).canonical().toStrings()));
+    }
+
+    @Test
+    void shouldKeepCanonicalMatrixAsIs() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"AAAA", "AAAA", "AAAA", "AAAA"});
+
+        assertSame(matrix, matrix.canonical());
+    }
+
+    private List<DetectionKernel> kernels(DetectionRule rule) {
+        ParallelKernel parallel = new ParallelKernel(new FourPassKernel(rule), 4, 0, 4);
+        parallelKernels.add(parallel);
+        return List.of(new FourPassKernel(rule), new FusedScanKernel(rule), new VectorKernel(rule), parallel);
+    }
+
+    private static String[] transpose(String[] dna) {
+        String[] transposed = new String[dna.length];
+        for (int col = 0; col < dna.length; col++) {
+            StringBuilder builder = new StringBuilder();
+            for (String row : dna) {
+                builder.append(row.charAt(col));
+            }
+            transposed[col] = builder.toString();
+        }
+        return transposed;
+    }
+
+    private static String[] flipRows(String[] dna) {
+        String[] flipped = new String[dna.length];
+        for (int row = 0; row < dna.length; row++) {
+            flipped[row] = dna[dna.length - 1 - row];
+        }
+        return flipped;
+    }
+
+    private static String[] flipCols(String[] dna) {
+        String[] flipped = new String[dna.length];
+        for (int row = 0; row < dna.length; row++) {
+            flipped[row] = new StringBuilder(dna[row]).reverse().toString();
+        }
+        return flipped;
+    }
+
+    // 90° clockwise
+    private static String[] rotate(String[] dna) {
+        return flipCols(transpose(dna));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaMatrixTest {
+
+    @Test
+    void shouldPackAndUnpackDna() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        DnaMatrix matrix = DnaMatrix.of(dna);
+
+        assertEquals(6, matrix.rows());
+        assertEquals(6, matrix.cols());
+        assertArrayEquals(dna, matrix.toStrings());
+    }
+
+    @Test
+    void shouldEncodeBasesAsTwoBitCodes() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"ACGT", "TGCA", "AAAA", "CCCC"});
+
+        assertEquals(DnaMatrix.BASE_A, matrix.get(0, 0));
+        assertEquals(DnaMatrix.BASE_C, matrix.get(0, 1));
+        assertEquals(DnaMatrix.BASE_G, matrix.get(0, 2));
+        assertEquals(DnaMatrix.BASE_T, matrix.get(0, 3));
+        assertEquals('T', matrix.charAt(1, 0));
+        assertEquals('C', matrix.charAt(3, 3));
+    }
+
+    @Test
+    void shouldKeepRowsIndependentAcrossWordBoundaries() {
+        // 40 columns spill every row into a second 64-bit word
+        String[] dna = new String[40];
+        for (int row = 0; row < dna.length; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int col = 0; col < dna.length; col++) {
+                builder.append("ACGT".charAt((row * 7 + col * 3) % 4));
+            }
+            dna[row] = builder.toString();
+        }
+
+        DnaMatrix matrix = DnaMatrix.of(dna);
+
+        assertArrayEquals(dna, matrix.toStrings());
+        assertEquals(dna[17].charAt(35), matrix.charAt(17, 35));
+    }
+
+    @Test
+    void shouldRejectInvalidCharacter() {
+        String[] dna = {"ATGC", "CAGT", "TTXT", "AGAC"};
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> DnaMatrix.of(dna));
+
+        assertEquals("Invalid character found in row 2. Only A, T, C, G are allowed", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectRaggedRows() {
+        String[] dna = {"ATGC", "CAGT", "TTA", "AGAC"};
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> DnaMatrix.of(dna));
+
+        assertEquals("DNA matrix must be NxN (square)", exception.getMessage());
+    }
+
+    @Test
+    void shouldRoundTripPackedBytes() {
+        // 37 columns: a full word plus a partial one, and a partial last byte
+        String[] dna = new String[37];
+        for (int row = 0; row < dna.length; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int col = 0; col < dna.length; col++) {
+                builder.append("ACGT".charAt((row * 5 + col * 3) % 4));
+            }
+            dna[row] = builder.toString();
+        }
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        byte[] bytes = new byte[2 + dna.length * DnaMatrix.packedRowBytes(dna.length)];
+
+        matrix.toPackedBytes(bytes, 2);
+        DnaMatrix unpacked = DnaMatrix.fromPackedBytes(dna.length, dna.length, bytes, 2);
+
+        assertEquals(10, DnaMatrix.packedRowBytes(37));
+        assertArrayEquals(dna, unpacked.toStrings());
+    }
+
+    @Test
+    void shouldPackFourBasesPerByteLowBitsFirst() {
+        // Row "ACGT" is 0b11_10_01_00; padding bits after the last base are ignored
+        byte[] bytes = {(byte) 0xE4, (byte) 0xE4, (byte) 0xE4, (byte) 0x1B};
+
+        DnaMatrix matrix = DnaMatrix.fromPackedBytes(4, 4, bytes, 0);
+
+        assertArrayEquals(new String[]{"ACGT", "ACGT", "ACGT", "TGCA"}, matrix.toStrings());
+    }
+
+    @Test
+    void shouldMatchSequenceOfRowsJoinedWithPipe() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+
+        assertTrue(matrix.matchesSequence("ATGCGA|CAGTGC|TTATGT|AGAAGG|CCCCTA|TCACTG"));
+        assertFalse(matrix.matchesSequence("ATGCGA|CAGTGC|TTATGT|AGAAGG|CCCCTA|TCACTT"));
+        assertFalse(matrix.matchesSequence("ATGCGA|CAGTGC|TTATGT|AGAAGG|CCCCTA"));
+        assertFalse(matrix.matchesSequence("ATGCGAC|AGTGC|TTATGT|AGAAGG|CCCCTA|TCACTG"));
+        assertFalse(matrix.matchesSequence(null));
+    }
+
+    @Test
+    void shouldCompareMatricesByShapeAndBases() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        assertEquals(DnaMatrix.of(dna), DnaMatrix.of(dna.clone()));
+        assertEquals(DnaMatrix.of(dna).hashCode(), DnaMatrix.of(dna.clone()).hashCode());
+        assertNotEquals(DnaMatrix.of(dna), DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTT"}));
+        assertNotEquals(DnaMatrix.of(new String[]{"AAAA", "AAAA", "AAAA", "AAAA"}),
+            DnaMatrix.of(new String[]{"AAAAA", "AAAAA", "AAAAA", "AAAAA", "AAAAA"}));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedScanKernelTest {
+
+    private final FusedScanKernel kernel = new FusedScanKernel();
+    private final FourPassKernel reference = new FourPassKernel();
+
+    @Test
+    void shouldReturnTrueForExampleMutantCase() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        assertTrue(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldReturnFalseForExampleNonMutantCase() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        assertFalse(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldCountLongHorizontalRunOnce() {
+        // Eight A's in a row are a single horizontal sequence
+        String[] dna = {"AAAAAAAA", "CGTCGTCG", "GTCGTCGT", "CGTCGTCG", "GTCGTCGT", "CGTCGTCG", "GTCGTCGT", "CGTCGTCG"};
+
+        assertFalse(kernel.isMutant(DnaMatrix.of(dna)));
+        assertFalse(reference.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldCountLongDiagonalRunTwice() {
+        // Eight A's on the main diagonal are two non-overlapping sequences
+        String[] dna = new String[8];
+        for (int row = 0; row < dna.length; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int col = 0; col < dna.length; col++) {
+                builder.append(row == col ? 'A' : "ACGT".charAt((row + 2 * col) % 4));
+            }
+            dna[row] = builder.toString();
+        }
+
+        assertTrue(kernel.isMutant(DnaMatrix.of(dna)));
+        assertTrue(reference.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldMatchFourPassKernelOnRandomMatrices() {
+        Random random = new Random(42);
+        int mutants = 0;
+
+        for (int i = 0; i < 5000; i++) {
+            int n = 4 + random.nextInt(37);
+            DnaMatrix matrix = DnaMatrix.of(i % 2 == 0
+                ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                : RandomDna.planted(random, n, random.nextInt(4)));
+
+            boolean expected = reference.isMutant(matrix);
+            assertEquals(expected, kernel.isMutant(matrix), () -> String.join(",", matrix.toStrings()));
+            mutants += expected ? 1 : 0;
+        }
+
+        // Both verdicts must be well represented for the comparison to mean anything
+        assertTrue(mutants > 500 && mutants < 4500);
+    }
+
+    @Test
+    void shouldMatchFourPassKernelUnderCustomRules() {
+        Random random = new Random(43);
+        DetectionRule[] rules = {new DetectionRule(3, 1), new DetectionRule(5, 3), new DetectionRule(6, 2)};
+
+        for (DetectionRule rule : rules) {
+            DetectionKernel expected = new FourPassKernel(rule);
+            DetectionKernel actual = new FusedScanKernel(rule);
+
+            for (int i = 0; i < 1000; i++) {
+                int n = 4 + random.nextInt(37);
+                DnaMatrix matrix = DnaMatrix.of(i % 2 == 0
+                    ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                    : RandomDna.planted(random, n, random.nextInt(6)));
+
+                assertEquals(expected.isMutant(matrix), actual.isMutant(matrix),
+                    () -> rule + ": " + String.join(",", matrix.toStrings()));
+            }
+        }
+    }
+}
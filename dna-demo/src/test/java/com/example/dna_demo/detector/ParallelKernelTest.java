@@ -0,0 +1,110 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ParallelKernelTest {
+
+    private final FourPassKernel reference = new FourPassKernel();
+
+    // Tiny bands so that runs and columns routinely cross band boundaries
+    private final ParallelKernel kernel = new ParallelKernel(reference, 4, 0, 4);
+
+    @AfterEach
+    void tearDown() {
+        kernel.close();
+    }
+
+    @Test
+    void shouldReturnTrueForExampleMutantCase() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        assertTrue(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldReturnFalseForExampleNonMutantCase() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        assertFalse(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldCountColumnSpanningTwoBandsOnce() {
+        // Column 0 holds 8 G's across rows 2..9, one column must not be counted twice
+        String[] dna = RandomDna.planted(new Random(3), 16, 0);
+        for (int row = 2; row < 10; row++) {
+            dna[row] = 'G' + dna[row].substring(1);
+        }
+
+        assertFalse(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldCountDiagonalRunSpanningBandsByItsLength() {
+        // 8 T's on the main diagonal cross two bands and count as two sequences
+        String[] dna = RandomDna.planted(new Random(4), 16, 0);
+        for (int i = 3; i < 11; i++) {
+            dna[i] = dna[i].substring(0, i) + 'T' + dna[i].substring(i + 1);
+        }
+
+        assertTrue(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldUseSequentialKernelBelowThreshold() {
+        DetectionKernel sequential = mock(DetectionKernel.class);
+        when(sequential.rule()).thenReturn(DetectionRule.DEFAULT);
+        when(sequential.isMutant(any())).thenReturn(true);
+
+        try (ParallelKernel thresholdKernel = new ParallelKernel(sequential, 2, 100)) {
+            assertTrue(thresholdKernel.isMutant(DnaMatrix.of(RandomDna.planted(new Random(5), 10, 0))));
+        }
+
+        verify(sequential).isMutant(any());
+    }
+
+    @Test
+    void shouldMatchFourPassKernelOnRandomMatrices() {
+        Random random = new Random(11);
+
+        for (int i = 0; i < 2000; i++) {
+            int n = 4 + random.nextInt(60);
+            DnaMatrix matrix = DnaMatrix.of(i % 2 == 0
+                ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                : RandomDna.planted(random, n, random.nextInt(4)));
+
+            assertEquals(reference.isMutant(matrix), kernel.isMutant(matrix),
+                () -> String.join(",", matrix.toStrings()));
+        }
+    }
+
+    @Test
+    void shouldMatchFourPassKernelUnderCustomRules() {
+        Random random = new Random(13);
+        DetectionRule[] rules = {new DetectionRule(3, 1), new DetectionRule(5, 3), new DetectionRule(6, 2)};
+
+        for (DetectionRule rule : rules) {
+            DetectionKernel expected = new FourPassKernel(rule);
+            try (ParallelKernel actual = new ParallelKernel(expected, 4, 0, 4)) {
+                assertEquals(rule, actual.rule());
+
+                for (int i = 0; i < 500; i++) {
+                    int n = 4 + random.nextInt(60);
+                    DnaMatrix matrix = DnaMatrix.of(i % 2 == 0
+                        ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                        : RandomDna.planted(random, n, random.nextInt(6)));
+
+                    assertEquals(expected.isMutant(matrix), actual.isMutant(matrix),
+                        () -> rule + ": " + String.join(",", matrix.toStrings()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.dna_demo.detector;
+
+import java.util.Random;
+
+/**
+ * Random DNA generators shared by the kernel equivalence tests.
+ */
+final class RandomDna {
+
+    private RandomDna() {
+    }
+
+    /**
+     * Uniformly random bases; a narrow alphabet produces plenty of runs.
+     */
+    static String[] uniform(Random random, int n, int alphabet) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            char[] chars = new char[n];
+            for (int col = 0; col < n; col++) {
+                chars[col] = "ACGT".charAt(random.nextInt(alphabet));
+            }
+            dna[row] = new String(chars);
+        }
+        return dna;
+    }
+
+    /**
+     * Run-free background with a few planted runs of random length and direction,
+     * exercising long runs, overlaps and matrix edges.
+     */
+    static String[] planted(Random random, int n, int runs) {
+        char[][] cells = new char[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                // (row + 2 * col) % 4 never repeats a base in any direction
+                cells[row][col] = "ACGT".charAt((row + 2 * col) % 4);
+            }
+        }
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int i = 0; i < runs; i++) {
+            int[] direction = directions[random.nextInt(directions.length)];
+            char base = "ACGT".charAt(random.nextInt(4));
+            int length = 3 + random.nextInt(7);
+            int row = random.nextInt(n);
+            int col = random.nextInt(n);
+            for (int j = 0; j < length && row >= 0 && row < n && col >= 0 && col < n; j++) {
+                cells[row][col] = base;
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            dna[row] = new String(cells[row]);
+        }
+        return dna;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.dna_demo.detector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorKernelTest {
+
+    private final VectorKernel kernel = new VectorKernel();
+    private final FourPassKernel reference = new FourPassKernel();
+
+    @Test
+    void shouldReturnTrueForExampleMutantCase() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        assertTrue(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldReturnFalseForExampleNonMutantCase() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        assertFalse(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldDetectSequencesInsideVectorLanes() {
+        // 200 columns cover several full vectors on any species length
+        String[] dna = RandomDna.planted(new Random(1), 200, 0);
+        dna = plant(dna, 120, 130, 1, 0, 'G');
+        dna = plant(dna, 40, 150, 1, -1, 'T');
+
+        assertTrue(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldReturnFalseForLargeHumanMatrix() {
+        String[] dna = RandomDna.planted(new Random(2), 300, 0);
+        dna = plant(dna, 10, 10, 1, 1, 'A');
+
+        assertFalse(kernel.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldMatchFourPassKernelOnRandomMatrices() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 3000; i++) {
+            int n = 4 + random.nextInt(i % 10 == 0 ? 197 : 37);
+            DnaMatrix matrix = DnaMatrix.of(i % 2 == 0
+                ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                : RandomDna.planted(random, n, random.nextInt(4)));
+
+            assertEquals(reference.isMutant(matrix), kernel.isMutant(matrix),
+                () -> String.join(",", matrix.toStrings()));
+        }
+    }
+
+    @Test
+    void shouldMatchFourPassKernelUnderCustomRules() {
+        Random random = new Random(8);
+        DetectionRule[] rules = {new DetectionRule(3, 1), new DetectionRule(5, 3), new DetectionRule(6, 2)};
+
+        for (DetectionRule rule : rules) {
+            DetectionKernel expected = new FourPassKernel(rule);
+            DetectionKernel actual = new VectorKernel(rule);
+
+            for (int i = 0; i < 1000; i++) {
+                int n = 4 + random.nextInt(69);
+                DnaMatrix matrix = DnaMatrix.of(i % 2 == 0
+                    ? RandomDna.uniform(random, n, 2 + random.nextInt(3))
+                    : RandomDna.planted(random, n, random.nextInt(6)));
+
+                assertEquals(expected.isMutant(matrix), actual.isMutant(matrix),
+                    () -> rule + ": " + String.join(",", matrix.toStrings()));
+            }
+        }
+    }
+
+    private static String[] plant(String[] dna, int row, int col, int rowStep, int colStep, char base) {
+        char[][] cells = new char[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            cells[i] = dna[i].toCharArray();
+        }
+        for (int i = 0; i < DetectionRule.DEFAULT.sequenceLength(); i++) {
+            cells[row + i * rowStep][col + i * colStep] = base;
+        }
+        String[] result = new String[dna.length];
+        for (int i = 0; i < dna.length; i++) {
+            result[i] = new String(cells[i]);
+        }
+        return result;
+    }
+}
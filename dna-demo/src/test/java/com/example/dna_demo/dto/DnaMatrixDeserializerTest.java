@@ -0,0 +1,142 @@
+package com.example.dna_demo.dto;
+
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.detector.DnaMatrixBuilder;
+import com.example.dna_demo.exception.InvalidDnaException;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.validator.DnaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DnaMatrixDeserializerTest {
+
+    private final JsonMapper mapper = mapper(new DnaValidator());
+
+    @Test
+    void shouldDecodeRowsIntoPackedMatrix() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        DnaRequest request = mapper.readValue(json(dna), DnaRequest.class);
+
+        assertArrayEquals(dna, request.dna().toStrings());
+    }
+
+    @Test
+    void shouldDecodeRowsWiderThanOneWord() {
+        Random random = new Random(5);
+        String[] dna = new String[70];
+        for (int row = 0; row < dna.length; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int col = 0; col < dna.length; col++) {
+                builder.append("ACGT".charAt(random.nextInt(4)));
+            }
+            dna[row] = builder.toString();
+        }
+
+        DnaRequest request = mapper.readValue(json(dna), DnaRequest.class);
+
+        assertArrayEquals(dna, request.dna().toStrings());
+    }
+
+    @Test
+    void shouldLeaveMissingDnaNullForBeanValidation() {
+        DnaRequest request = mapper.readValue("{\"dna\":null}", DnaRequest.class);
+
+        assertNull(request.dna());
+    }
+
+    @Test
+    void shouldKeepValidatorMessageForInvalidCharacter() {
+        String[] dna = {"ATGC", "CAGT", "TTXT", "AGAC"};
+
+        JacksonException exception = assertThrows(JacksonException.class,
+            () -> mapper.readValue(json(dna), DnaRequest.class));
+
+        assertInstanceOf(InvalidDnaException.class, exception.getCause());
+        assertEquals("Invalid character found in row 2. Only A, T, C, G are allowed", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldReportNullRowBeforeLaterShapeErrors() {
+        JacksonException exception = assertThrows(JacksonException.class,
+            () -> mapper.readValue("{\"dna\":[\"ATGC\",null,\"TTA\",\"AGAC\"]}", DnaRequest.class));
+
+        assertEquals("DNA row cannot be null", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRejectNonSquareMatrix() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT"};
+
+        JacksonException exception = assertThrows(JacksonException.class,
+            () -> mapper.readValue(json(dna), DnaRequest.class));
+
+        assertEquals("DNA matrix must be NxN (square)", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRejectSingleLongRowAsNonSquare() {
+        // 2M bases would be a 1 TB square matrix if the first row sized the buffer
+        String[] dna = {"A".repeat(2_000_000)};
+
+        JacksonException exception = assertThrows(JacksonException.class,
+            () -> mapper.readValue(json(dna), DnaRequest.class));
+
+        assertEquals("DNA matrix must be NxN (square)", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRejectMoreRowsThanColumns() {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC", "GGCA"};
+
+        JacksonException exception = assertThrows(JacksonException.class,
+            () -> mapper.readValue(json(dna), DnaRequest.class));
+
+        assertEquals("DNA matrix must be NxN (square)", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRejectEmptyMatrix() {
+        JacksonException exception = assertThrows(JacksonException.class,
+            () -> mapper.readValue("{\"dna\":[]}", DnaRequest.class));
+
+        assertEquals("DNA sequence cannot be empty", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRejectNonStringRows() {
+        assertThrows(JacksonException.class,
+            () -> mapper.readValue("{\"dna\":[1,2,3,4]}", DnaRequest.class));
+    }
+
+    @Test
+    void shouldValidateThroughGivenValidator() {
+        DnaValidator validator = mock(DnaValidator.class);
+        DnaMatrix checked = DnaMatrix.of(new String[]{"ATGC", "CAGT", "TTAT", "AGAC"});
+        when(validator.validateAndEncode(any(DnaMatrixBuilder.class))).thenReturn(checked);
+
+        DnaRequest request = mapper(validator).readValue("{\"dna\":[\"ATGC\"]}", DnaRequest.class);
+
+        assertSame(checked, request.dna());
+        verify(validator).validateAndEncode(any(DnaMatrixBuilder.class));
+    }
+
+    private static JsonMapper mapper(DnaValidator validator) {
+        return JsonMapper.builder()
+            .addModule(new SimpleModule().addDeserializer(DnaMatrix.class, new DnaMatrixDeserializer(validator, new DnaMetrics(new SimpleMeterRegistry()))))
+            .build();
+    }
+
+    private static String json(String[] dna) {
+        return "{\"dna\":[\"" + String.join("\",\"", dna) + "\"]}";
+    }
+}
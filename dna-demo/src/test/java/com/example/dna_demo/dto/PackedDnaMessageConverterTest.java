@@ -0,0 +1,92 @@
+package com.example.dna_demo.dto;
+
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.validator.DnaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDnaMessageConverterTest {
+
+    private final PackedDnaMessageConverter converter = new PackedDnaMessageConverter(new DnaValidator(), new DnaMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void shouldReadPackedBody() throws Exception {
+        // Given: N = 4, then one byte per row ("ACGT" is 0b11_10_01_00)
+        byte[] body = {0, 0, 0, 4, (byte) 0xE4, (byte) 0xE4, (byte) 0xE4, (byte) 0x1B};
+
+        // When
+        DnaMatrix matrix = converter.read(DnaMatrix.class, new MockHttpInputMessage(body));
+
+        // Then
+        assertArrayEquals(new String[]{"ACGT", "ACGT", "ACGT", "TGCA"}, matrix.toStrings());
+    }
+
+    @Test
+    void shouldRoundTripAndHashLikeJsonRows() throws Exception {
+        // Given
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(DnaMatrix.of(dna), PackedDnaMessageConverter.MEDIA_TYPE, output);
+        DnaMatrix matrix = converter.read(DnaMatrix.class, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Then
+        assertEquals(4 + 6 * 2, output.getBodyAsBytes().length);
+        assertArrayEquals(dna, matrix.toStrings());
+        assertEquals(DnaHashUtil.generateHash(dna), DnaHashUtil.generateHash(matrix, DetectionRule.DEFAULT));
+    }
+
+    @Test
+    void shouldRejectBodyShorterThanHeader() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+            () -> converter.read(DnaMatrix.class, new MockHttpInputMessage(new byte[]{0, 0, 4})));
+
+        assertEquals("Packed DNA body must be a 4-byte size N followed by N rows of N 2-bit bases",
+            exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectTruncatedRows() {
+        byte[] body = PackedDnaMessageConverter.toBytes(DnaMatrix.of(new String[]{"ATGC", "CAGT", "TTAT", "AGAC"}));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> converter.read(DnaMatrix.class, new MockHttpInputMessage(Arrays.copyOf(body, body.length - 1))));
+    }
+
+    @Test
+    void shouldRejectOverflowingSize() {
+        // 0x7FFFFFFF rows would need far more bytes than the body holds
+        byte[] body = {0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0, 0, 0, 0};
+
+        assertThrows(IllegalArgumentException.class,
+            () -> converter.read(DnaMatrix.class, new MockHttpInputMessage(body)));
+    }
+
+    @Test
+    void shouldApplySameValidationAsJson() {
+        byte[] body = {0, 0, 0, 2, 0, 0};
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+            () -> converter.read(DnaMatrix.class, new MockHttpInputMessage(body)));
+
+        assertEquals("DNA matrix must be at least 4x4 to detect sequences", exception.getMessage());
+    }
+
+    @Test
+    void shouldOnlySupportPackedMediaType() {
+        assertTrue(converter.canRead(DnaMatrix.class, PackedDnaMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canRead(DnaMatrix.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(String[].class, PackedDnaMessageConverter.MEDIA_TYPE));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.dna_demo.entity;
+
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaHashConverterTest {
+
+    private static final String[] DNA = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+    private final DnaHashConverter converter = new DnaHashConverter();
+
+    @Test
+    void shouldRoundTripHashThroughColumnValue() {
+        // Given
+        DnaHash dnaHash = DnaHashUtil.hash(DNA);
+
+        // When
+        byte[] column = converter.convertToDatabaseColumn(dnaHash);
+
+        // Then
+        assertEquals(DnaHash.BYTES, column.length);
+        assertArrayEquals(dnaHash.toBytes(), column);
+        assertEquals(dnaHash, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void shouldMapNullToNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void shouldRejectColumnValueOfWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(new byte[16]));
+    }
+}
@@ -6,7 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -14,6 +22,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"unchecked", "rawtypes"})
 class DnaEventPublisherTest {
 
     @Mock
@@ -97,4 +106,48 @@ class DnaEventPublisherTest {
         // Then
         verify(redisTemplate, times(2)).convertAndSend(eq("dna-events"), any(DnaVerifiedEvent.class));
     }
+
+    @Test
+    void testPublishAllPipelinesEvents() {
+        // Given
+        RedisConnection connection = mock(RedisConnection.class);
+        when(redisTemplate.getStringSerializer()).thenReturn((RedisSerializer) new StringRedisSerializer());
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) new JdkSerializationRedisSerializer());
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        publisher.publishAll(List.of(new DnaVerifiedEvent("hash1", true), new DnaVerifiedEvent("hash2", false)));
+
+        // Then
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(connection, times(2)).publish(eq("dna-events".getBytes(StandardCharsets.UTF_8)), any(byte[].class));
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void testPublishAllSkipsEmptyList() {
+        // When
+        publisher.publishAll(List.of());
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testPublishAllFailureThrowsException() {
+        // Given
+        when(redisTemplate.getStringSerializer()).thenReturn((RedisSerializer) new StringRedisSerializer());
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+            .thenThrow(new RuntimeException("Redis connection failed"));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            publisher.publishAll(List.of(new DnaVerifiedEvent("hash1", true))));
+
+        assertEquals("Event publishing failed", exception.getMessage());
+    }
 }
@@ -0,0 +1,93 @@
+package com.example.dna_demo.event;
+
+import com.example.dna_demo.config.HashProperties;
+import com.example.dna_demo.repository.KnownHashFilter;
+import com.example.dna_demo.repository.VerdictCache;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class VerdictNoticeListenerTest {
+
+    private static final DnaHash MUTANT = DnaHashUtil.hash(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+    private static final DnaHash HUMAN = DnaHashUtil.hash(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+    private final VerdictCache verdictCache = mock(VerdictCache.class);
+    private final KnownHashFilter knownHashFilter = mock(KnownHashFilter.class);
+    private final HashProperties hashProperties = mock(HashProperties.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerdictNoticeListener listener =
+        new VerdictNoticeListener(verdictCache, knownHashFilter, hashProperties, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        when(hashProperties.algorithm()).thenReturn(Algorithm.SHA_256);
+    }
+
+    @Test
+    void shouldCacheFilledVerdictsAndMarkThemKnown() {
+        // Given
+        List<VerdictNotice> notices = List.of(VerdictNotice.fill(MUTANT, true), VerdictNotice.fill(HUMAN, false));
+
+        // When
+        listener.onMessage(message(VerdictNotice.encode(notices)), null);
+
+        // Then
+        verify(verdictCache).apply(notices.get(0), Algorithm.SHA_256);
+        verify(verdictCache).apply(notices.get(1), Algorithm.SHA_256);
+        verify(knownHashFilter).put(MUTANT);
+        verify(knownHashFilter).put(HUMAN);
+        assertEquals(2.0, meterRegistry.get("dna.cache.notices").tag("type", "fill").counter().count());
+    }
+
+    @Test
+    void shouldDropInvalidatedVerdict() {
+        // Given
+        VerdictNotice invalidation = VerdictNotice.invalidation(MUTANT);
+
+        // When
+        listener.onMessage(message(VerdictNotice.encode(List.of(invalidation))), null);
+
+        // Then
+        verify(verdictCache).apply(invalidation, Algorithm.SHA_256);
+        verify(knownHashFilter, never()).put(any());
+        assertEquals(1.0, meterRegistry.get("dna.cache.notices").tag("type", "invalidation").counter().count());
+    }
+
+    @Test
+    void shouldIgnoreFillsWhenKeyedByFingerprint() {
+        // Given
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+
+        // When
+        listener.onMessage(message(VerdictNotice.encode(List.of(VerdictNotice.fill(MUTANT, true)))), null);
+
+        // Then
+        verifyNoInteractions(verdictCache, knownHashFilter);
+    }
+
+    @Test
+    void shouldIgnoreMalformedMessage() {
+        // When
+        assertDoesNotThrow(() -> listener.onMessage(message("not a notice"), null));
+
+        // Then
+        verifyNoInteractions(verdictCache, knownHashFilter);
+    }
+
+    private static Message message(String body) {
+        return new DefaultMessage(VerdictNotice.CHANNEL.getBytes(StandardCharsets.US_ASCII), body.getBytes(StandardCharsets.US_ASCII));
+    }
+}
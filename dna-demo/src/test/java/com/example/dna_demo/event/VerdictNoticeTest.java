@@ -0,0 +1,45 @@
+package com.example.dna_demo.event;
+
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerdictNoticeTest {
+
+    private static final DnaHash MUTANT = DnaHashUtil.hash(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+    private static final DnaHash HUMAN = DnaHashUtil.hash(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+    @Test
+    void shouldDecodeWhatWasEncoded() {
+        // Given
+        List<VerdictNotice> notices = List.of(
+            VerdictNotice.fill(MUTANT, true), VerdictNotice.fill(HUMAN, false), VerdictNotice.invalidation(MUTANT));
+
+        // When
+        String message = VerdictNotice.encode(notices);
+
+        // Then
+        assertEquals(3 * 65 + 2, message.length());
+        assertEquals(notices, VerdictNotice.decode(message));
+    }
+
+    @Test
+    void shouldWriteVerdictLikeSharedCacheValue() {
+        // When
+        String message = VerdictNotice.encode(List.of(VerdictNotice.fill(MUTANT, true)));
+
+        // Then
+        assertEquals("1" + MUTANT.toHex(), message);
+    }
+
+    @Test
+    void shouldRejectMalformedMessage() {
+        assertThrows(IllegalArgumentException.class, () -> VerdictNotice.decode("1abc"));
+        assertThrows(IllegalArgumentException.class, () -> VerdictNotice.decode("?" + MUTANT.toHex()));
+        assertThrows(IllegalArgumentException.class, () -> VerdictNotice.decode("1" + "z".repeat(64)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.dna_demo.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void shouldReturnDnaValidationMessageFromUnreadableBody() {
+        // Given
+        HttpMessageNotReadableException ex = unreadable(
+            new RuntimeException("decoding failed", new InvalidDnaException("DNA matrix must be NxN (square)")));
+
+        // When
+        ResponseEntity<Map<String, String>> response = handler.handleHttpMessageNotReadable(ex);
+
+        // Then
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(Map.of("error", "DNA matrix must be NxN (square)"), response.getBody());
+    }
+
+    @Test
+    void shouldNotExposeOtherIllegalArgumentMessages() {
+        // Given
+        HttpMessageNotReadableException ex = unreadable(
+            new RuntimeException("decoding failed", new IllegalArgumentException("internal detail")));
+
+        // When
+        ResponseEntity<Map<String, String>> response = handler.handleHttpMessageNotReadable(ex);
+
+        // Then
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(Map.of("error", "Invalid request body format"), response.getBody());
+    }
+
+    private static HttpMessageNotReadableException unreadable(Throwable cause) {
+        return new HttpMessageNotReadableException("Unreadable body", cause, new MockHttpInputMessage(new byte[0]));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.dna_demo.migration;
+
+import com.example.dna_demo.util.DnaHash;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class V2__BinaryDnaHashTest {
+
+    private static final String HEX = "bc1d2c0c9c2e1044a510c7f5aa4aecf859a98e9b434539a410dc740eb76178a8";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                CREATE TABLE dna_records (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    created_at TIMESTAMP(6) NOT NULL,
+                    dna_hash VARCHAR(64) NOT NULL UNIQUE,
+                    dna_sequence TEXT NOT NULL,
+                    is_mutant BOOLEAN NOT NULL)""");
+            statement.execute("CREATE UNIQUE INDEX idx_dna_hash ON dna_records (dna_hash)");
+            statement.execute("INSERT INTO dna_records (created_at, dna_hash, dna_sequence, is_mutant) "
+                + "VALUES (CURRENT_TIMESTAMP, '" + HEX + "', 'ATGC|CAGT|TTAT|AGAC', TRUE)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void shouldConvertHexHashesToBinary() throws SQLException {
+        // When
+        V2__BinaryDnaHash.migrate(connection);
+
+        // Then
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT is_mutant FROM dna_records WHERE dna_hash = ?")) {
+            statement.setBytes(1, DnaHash.fromHex(HEX).toBytes());
+            try (ResultSet result = statement.executeQuery()) {
+                assertTrue(result.next());
+                assertTrue(result.getBoolean(1));
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepHashUnique() throws SQLException {
+        // Given
+        V2__BinaryDnaHash.migrate(connection);
+
+        // When / Then
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO dna_records (created_at, dna_hash, dna_sequence, is_mutant) "
+                    + "VALUES (CURRENT_TIMESTAMP, ?, 'x', FALSE)")) {
+            statement.setBytes(1, DnaHash.fromHex(HEX).toBytes());
+            assertThrows(SQLException.class, statement::executeUpdate);
+        }
+    }
+
+    @Test
+    void shouldSkipAlreadyBinaryColumn() throws SQLException {
+        // Given
+        V2__BinaryDnaHash.migrate(connection);
+
+        // When / Then
+        assertDoesNotThrow(() -> V2__BinaryDnaHash.migrate(connection));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.dna_demo.repository;
+
+import com.example.dna_demo.entity.DnaRecord;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaRecordBatchRepositoryTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+    private JdbcTemplate jdbcTemplate;
+    private DnaRecordBatchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+            CREATE TABLE dna_records (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                created_at TIMESTAMP(6) NOT NULL,
+                dna_hash BINARY(32) NOT NULL,
+                dna_sequence TEXT NOT NULL,
+                is_mutant BOOLEAN NOT NULL)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_dna_hash ON dna_records (dna_hash)");
+        repository = new DnaRecordBatchRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldInsertOnlyFirstRecordForHash() {
+        // When
+        boolean first = repository.insertIfAbsent(record(MUTANT, true));
+        boolean second = repository.insertIfAbsent(record(MUTANT, false));
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject("SELECT is_mutant FROM dna_records", Boolean.class));
+    }
+
+    @Test
+    void shouldReturnOnlyRecordsInsertedByBatch() {
+        // Given
+        repository.insertIfAbsent(record(HUMAN, false));
+        DnaRecord mutant = record(MUTANT, true);
+
+        // When
+        List<DnaRecord> inserted = repository.insertAll(List.of(record(HUMAN, false), mutant));
+
+        // Then
+        assertEquals(List.of(mutant), inserted);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Integer.class));
+    }
+
+    @Test
+    void shouldSkipRecordCommittedByConcurrentTransaction() throws Exception {
+        // Given: another transaction inserted the human DNA but has not committed yet
+        DnaRecord mutant = record(MUTANT, true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO dna_records (created_at, dna_hash, dna_sequence, is_mutant) VALUES (CURRENT_TIMESTAMP, ?, 'x', FALSE)")) {
+                statement.setBytes(1, DnaHashUtil.hash(HUMAN).toBytes());
+                statement.executeUpdate();
+            }
+
+            // When
+            Future<List<DnaRecord>> inserted = executor.submit(() -> repository.insertAll(List.of(record(HUMAN, false), mutant)));
+            Thread.sleep(200);
+            connection.commit();
+
+            // Then
+            assertEquals(List.of(mutant), inserted.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Integer.class));
+    }
+
+    @Test
+    void shouldInsertConcurrentDuplicatesOnce() throws Exception {
+        // Given
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Boolean>> inserts = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            inserts.add(() -> {
+                barrier.await();
+                return repository.insertIfAbsent(record(MUTANT, true));
+            });
+        }
+
+        // When
+        int insertedCount = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(inserts)) {
+                // get() rethrows anything an insert threw
+                insertedCount += result.get() ? 1 : 0;
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(1, insertedCount);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Integer.class));
+    }
+
+    private static DnaRecord record(String[] dna, boolean isMutant) {
+        DnaHash dnaHash = DnaHashUtil.hash(dna);
+        return new DnaRecord(dnaHash, DnaHashUtil.dnaToString(dna), isMutant);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.dna_demo.repository;
+
+import com.example.dna_demo.config.KnownHashFilterProperties;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnownHashFilterTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:bloom;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+            CREATE TABLE dna_records (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                created_at TIMESTAMP(6) NOT NULL,
+                dna_hash BINARY(32) NOT NULL,
+                dna_sequence TEXT NOT NULL,
+                is_mutant BOOLEAN NOT NULL)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_dna_hash ON dna_records (dna_hash)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldLoadStoredHashesOnStartup() {
+        // Given
+        store(MUTANT);
+        KnownHashFilter filter = filter(null);
+
+        // When
+        filter.load();
+
+        // Then
+        assertTrue(filter.mightContain(DnaHashUtil.hash(MUTANT)));
+        assertFalse(filter.mightContain(DnaHashUtil.hash(HUMAN)));
+        assertEquals(1.0, meterRegistry.get("dna.bloom.lookups").tag("result", "absent").counter().count());
+        assertEquals(1.0, meterRegistry.get("dna.bloom.keys").gauge().value());
+    }
+
+    @Test
+    void shouldFindHashesAddedAfterLoading() {
+        // Given
+        KnownHashFilter filter = filter(null);
+        filter.load();
+
+        // When
+        filter.put(DnaHashUtil.hash(HUMAN));
+
+        // Then
+        assertTrue(filter.mightContain(DnaHashUtil.hash(HUMAN)));
+    }
+
+    @Test
+    void shouldAnswerMaybeUntilLoadedOrWhenDisabled() {
+        // Given
+        store(MUTANT);
+        KnownHashFilter disabled = new KnownHashFilter(
+            new KnownHashFilterProperties(false, 1000, 0.01, null), jdbcTemplate, new SimpleMeterRegistry());
+
+        // When
+        disabled.load();
+
+        // Then
+        assertTrue(filter(null).mightContain(DnaHashUtil.hash(HUMAN)));
+        assertTrue(disabled.mightContain(DnaHashUtil.hash(HUMAN)));
+    }
+
+    @Test
+    void shouldReadOnlyRowsStoredSinceSnapshot() {
+        // Given
+        Path snapshot = tempDir.resolve("bloom.bin");
+        store(MUTANT);
+        KnownHashFilter first = filter(snapshot);
+        first.load();
+        first.snapshot();
+        // The row behind the snapshot is gone, so only the snapshot still knows its hash
+        jdbcTemplate.execute("DELETE FROM dna_records");
+        // Stored by another writer while this instance was down
+        store(HUMAN);
+
+        // When
+        KnownHashFilter restarted = filter(snapshot);
+        restarted.load();
+
+        // Then
+        assertTrue(Files.exists(snapshot));
+        assertTrue(restarted.mightContain(DnaHashUtil.hash(MUTANT)));
+        assertTrue(restarted.mightContain(DnaHashUtil.hash(HUMAN)));
+    }
+
+    @Test
+    void shouldRebuildWhenSnapshotIsAheadOfDatabase() {
+        // Given: a snapshot of a database that was since recreated
+        Path snapshot = tempDir.resolve("bloom.bin");
+        store(MUTANT);
+        store(HUMAN);
+        KnownHashFilter first = filter(snapshot);
+        first.load();
+        first.snapshot();
+        jdbcTemplate.execute("DELETE FROM dna_records");
+        jdbcTemplate.execute("ALTER TABLE dna_records ALTER COLUMN id RESTART WITH 1");
+        store(HUMAN);
+
+        // When
+        KnownHashFilter restarted = filter(snapshot);
+        restarted.load();
+
+        // Then
+        assertFalse(restarted.mightContain(DnaHashUtil.hash(MUTANT)));
+        assertTrue(restarted.mightContain(DnaHashUtil.hash(HUMAN)));
+    }
+
+    @Test
+    void shouldIgnoreUnreadableSnapshot() throws Exception {
+        // Given
+        Path snapshot = tempDir.resolve("bloom.bin");
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        store(MUTANT);
+
+        // When
+        KnownHashFilter filter = filter(snapshot);
+        filter.load();
+
+        // Then
+        assertTrue(filter.mightContain(DnaHashUtil.hash(MUTANT)));
+        assertFalse(filter.mightContain(DnaHashUtil.hash(HUMAN)));
+    }
+
+    private KnownHashFilter filter(Path snapshot) {
+        return new KnownHashFilter(new KnownHashFilterProperties(true, 1000, 0.01, snapshot), jdbcTemplate, meterRegistry);
+    }
+
+    private void store(String[] dna) {
+        DnaHash dnaHash = DnaHashUtil.hash(dna);
+        jdbcTemplate.update("INSERT INTO dna_records (created_at, dna_hash, dna_sequence, is_mutant) VALUES (CURRENT_TIMESTAMP, ?, ?, TRUE)",
+            dnaHash.toBytes(), DnaHashUtil.dnaToString(dna));
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.dna_demo.repository;
+
+import com.example.dna_demo.config.VerdictCacheProperties;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.event.VerdictNotice;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class VerdictCacheTest {
+
+    private static final DnaMatrix MATRIX =
+        DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+    private static final DnaMatrix OTHER =
+        DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerdictCache cache = new VerdictCache(
+        new VerdictCacheProperties(DataSize.ofMegabytes(1), Duration.ofHours(1), false, Duration.ofHours(1)),
+        mock(StringRedisTemplate.class), meterRegistry);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final VerdictCache twoTier = new VerdictCache(
+        new VerdictCacheProperties(DataSize.ofMegabytes(1), Duration.ofHours(1), true, Duration.ofMinutes(10)),
+        redisTemplate, meterRegistry);
+
+    VerdictCacheTest() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation ->
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldReturnCachedVerdict() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+
+        assertNull(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+        cache.put(dnaHash, MATRIX, true, Algorithm.SHA_256);
+
+        assertTrue(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldConfirmFingerprintHitAgainstCachedMatrix() {
+        DnaHash fingerprint = DnaHashUtil.fingerprint(MATRIX, DetectionRule.DEFAULT);
+
+        cache.put(fingerprint, MATRIX, true, Algorithm.MURMUR3_128);
+
+        assertTrue(cache.get(fingerprint, DnaMatrix.of(MATRIX.toStrings()), Algorithm.MURMUR3_128));
+        assertNull(cache.get(fingerprint, OTHER, Algorithm.MURMUR3_128));
+    }
+
+    @Test
+    void shouldCacheNewVerdictOnlyAfterCommit() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.putAfterCommit(dnaHash, MATRIX, true, Algorithm.SHA_256);
+
+        assertNull(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+    }
+
+    @Test
+    void shouldNotCacheVerdictOfRolledBackTransaction() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.putAfterCommit(dnaHash, MATRIX, true, Algorithm.SHA_256);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertNull(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+    }
+
+    @Test
+    void shouldCacheNothingWhenSizeIsZero() {
+        VerdictCache disabled = new VerdictCache(
+            new VerdictCacheProperties(DataSize.ofBytes(0), Duration.ofHours(1), false, Duration.ofHours(1)),
+            mock(StringRedisTemplate.class), new SimpleMeterRegistry());
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+
+        disabled.put(dnaHash, MATRIX, true, Algorithm.SHA_256);
+
+        assertNull(disabled.get(dnaHash, MATRIX, Algorithm.SHA_256));
+    }
+
+    @Test
+    void shouldRejectNonPositiveTtl() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new VerdictCacheProperties(DataSize.ofMegabytes(1), Duration.ZERO, true, Duration.ofHours(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new VerdictCacheProperties(DataSize.ofMegabytes(1), Duration.ofHours(1), true, Duration.ZERO));
+    }
+
+    @Test
+    void shouldAnswerFromSharedTierAndKeepHitNear() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        when(valueOperations.get("dna:verdict:" + dnaHash.toHex())).thenReturn("1");
+
+        assertNull(twoTier.get(dnaHash, MATRIX, Algorithm.SHA_256));
+        assertTrue(twoTier.getShared(dnaHash, Algorithm.SHA_256));
+
+        assertTrue(twoTier.get(dnaHash, MATRIX, Algorithm.SHA_256));
+        assertEquals(1.0, sharedGets("hit"));
+    }
+
+    @Test
+    void shouldCountRedisErrorAsSharedMiss() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        when(valueOperations.get(anyString())).thenReturn(null).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNull(twoTier.getShared(dnaHash, Algorithm.SHA_256));
+        assertNull(twoTier.getShared(dnaHash, Algorithm.SHA_256));
+
+        assertEquals(2.0, sharedGets("miss"));
+        assertEquals(0.0, sharedGets("hit"));
+    }
+
+    @Test
+    void shouldCountUnreadableSharedValueAsMiss() {
+        DnaHash mutant = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        DnaHash human = DnaHashUtil.hash(OTHER, DetectionRule.DEFAULT);
+        when(valueOperations.get("dna:verdict:" + mutant.toHex())).thenReturn("true");
+        when(valueOperations.multiGet(List.of("dna:verdict:" + mutant.toHex(), "dna:verdict:" + human.toHex())))
+            .thenReturn(Arrays.asList("x", "0"));
+
+        assertNull(twoTier.getShared(mutant, Algorithm.SHA_256));
+        assertEquals(Map.of(human, false), twoTier.getAllShared(List.of(mutant, human), Algorithm.SHA_256));
+
+        assertNull(twoTier.get(mutant, MATRIX, Algorithm.SHA_256));
+        assertEquals(2.0, sharedGets("miss"));
+        assertEquals(1.0, sharedGets("hit"));
+    }
+
+    @Test
+    void shouldReadSeveralSharedVerdictsInOneRoundTrip() {
+        DnaHash mutant = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        DnaHash human = DnaHashUtil.hash(OTHER, DetectionRule.DEFAULT);
+        when(valueOperations.multiGet(List.of("dna:verdict:" + mutant.toHex(), "dna:verdict:" + human.toHex())))
+            .thenReturn(Arrays.asList("1", null));
+
+        Map<DnaHash, Boolean> found = twoTier.getAllShared(List.of(mutant, human), Algorithm.SHA_256);
+
+        assertEquals(Map.of(mutant, true), found);
+        assertTrue(twoTier.get(mutant, MATRIX, Algorithm.SHA_256));
+        assertEquals(1.0, sharedGets("hit"));
+        assertEquals(1.0, sharedGets("miss"));
+    }
+
+    @Test
+    void shouldKeepFingerprintsOutOfSharedTier() {
+        DnaHash fingerprint = DnaHashUtil.fingerprint(MATRIX, DetectionRule.DEFAULT);
+
+        twoTier.put(fingerprint, MATRIX, true, Algorithm.MURMUR3_128);
+
+        assertNull(twoTier.getShared(fingerprint, Algorithm.MURMUR3_128));
+        assertTrue(twoTier.get(fingerprint, MATRIX, Algorithm.MURMUR3_128));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldStoreAndAnnounceNewVerdictsInOnePipelineAfterCommit() {
+        DnaHash mutant = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        DnaHash human = DnaHashUtil.hash(OTHER, DetectionRule.DEFAULT);
+        TransactionSynchronizationManager.initSynchronization();
+
+        twoTier.putAllAfterCommit(Map.of(mutant, true, human, false), Map.of(mutant, MATRIX, human, OTHER), Algorithm.SHA_256);
+
+        verifyNoInteractions(redisTemplate);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(stringCommands).set(bytes("dna:verdict:" + mutant.toHex()), bytes("1"), Expiration.from(Duration.ofMinutes(10)), SetOption.upsert());
+        verify(stringCommands).set(bytes("dna:verdict:" + human.toHex()), bytes("0"), Expiration.from(Duration.ofMinutes(10)), SetOption.upsert());
+        verify(connection).publish(aryEq(bytes(VerdictNotice.CHANNEL)), eqNotices(VerdictNotice.fill(mutant, true), VerdictNotice.fill(human, false)));
+        assertTrue(twoTier.get(mutant, MATRIX, Algorithm.SHA_256));
+    }
+
+    @Test
+    void shouldWriteVerdictReadFromDatabaseWithoutAnnouncingIt() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+
+        twoTier.put(dnaHash, MATRIX, false, Algorithm.SHA_256);
+
+        verify(stringCommands).set(bytes("dna:verdict:" + dnaHash.toHex()), bytes("0"), Expiration.from(Duration.ofMinutes(10)), SetOption.upsert());
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    void shouldKeepNearVerdictWhenSharedWriteFails() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+
+        twoTier.putAfterCommit(dnaHash, MATRIX, true, Algorithm.SHA_256);
+
+        assertTrue(twoTier.get(dnaHash, MATRIX, Algorithm.SHA_256));
+    }
+
+    @Test
+    void shouldApplyNoticesFromOtherInstances() {
+        DnaHash dnaHash = DnaHashUtil.hash(MATRIX, DetectionRule.DEFAULT);
+
+        cache.apply(VerdictNotice.fill(dnaHash, true), Algorithm.SHA_256);
+        assertTrue(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+
+        cache.apply(VerdictNotice.invalidation(dnaHash), Algorithm.SHA_256);
+        assertNull(cache.get(dnaHash, MATRIX, Algorithm.SHA_256));
+    }
+
+    private double sharedGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", VerdictCache.SHARED_NAME).tag("result", result).counter().count();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Entries of one notice may come in any order
+    private static byte[] eqNotices(VerdictNotice... expected) {
+        return argThat(message -> message != null
+            && new HashSet<>(VerdictNotice.decode(new String(message, StandardCharsets.UTF_8))).equals(Set.of(expected)));
+    }
+}
@@ -1,21 +1,50 @@
 package com.example.dna_demo.service;
 
+import com.example.dna_demo.config.HashProperties;
+import com.example.dna_demo.config.VerdictCacheProperties;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
 import com.example.dna_demo.entity.DnaRecord;
+import com.example.dna_demo.entity.DnaVerdict;
 import com.example.dna_demo.event.DnaEventPublisher;
 import com.example.dna_demo.event.DnaVerifiedEvent;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.repository.DnaRecordBatchRepository;
 import com.example.dna_demo.repository.DnaRecordRepository;
+import com.example.dna_demo.repository.KnownHashFilter;
+import com.example.dna_demo.repository.VerdictCache;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.argThat;
 
 class DnaServiceTest {
 
@@ -25,29 +54,52 @@ class DnaServiceTest {
     @Mock
     private DnaRecordRepository dnaRecordRepository;
 
+    @Mock
+    private DnaRecordBatchRepository dnaRecordBatchRepository;
+
     @Mock
     private DnaEventPublisher dnaEventPublisher;
 
+    @Mock
+    private HashProperties hashProperties;
+
+    @Mock
+    private KnownHashFilter knownHashFilter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DnaMetrics dnaMetrics = new DnaMetrics(meterRegistry);
+
+    @Spy
+    private VerdictCache verdictCache = new VerdictCache(
+        new VerdictCacheProperties(DataSize.ofMegabytes(1), Duration.ofHours(1), false, Duration.ofHours(1)),
+        mock(StringRedisTemplate.class), meterRegistry);
+
     @InjectMocks
     private DnaService dnaService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(mutantDetector.rule(anyString())).thenReturn(DetectionRule.DEFAULT);
+        when(mutantDetector.encode(any())).thenAnswer(invocation -> DnaMatrix.of(invocation.getArgument(0)));
+        when(hashProperties.algorithm()).thenReturn(Algorithm.SHA_256);
+        when(knownHashFilter.mightContain(any())).thenReturn(true);
+        when(dnaRecordBatchRepository.insertIfAbsent(any())).thenReturn(true);
+        when(dnaRecordBatchRepository.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     void shouldSaveNewMutantDnaAndPublishEvent() {
         String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
 
-        when(dnaRecordRepository.existsByDnaHash(anyString())).thenReturn(false);
-        when(mutantDetector.isMutant(any())).thenReturn(true);
-        when(dnaRecordRepository.save(any())).thenReturn(new DnaRecord());
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
 
         boolean result = dnaService.verifyAndSave(dna);
 
         assertTrue(result);
-        verify(dnaRecordRepository).save(any(DnaRecord.class));
+        verify(dnaRecordBatchRepository).insertIfAbsent(any(DnaRecord.class));
         verify(dnaEventPublisher).publish(any(DnaVerifiedEvent.class));
     }
 
@@ -55,42 +107,34 @@ class DnaServiceTest {
     void shouldSaveNewHumanDnaAndPublishEvent() {
         String[] dna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
 
-        when(dnaRecordRepository.existsByDnaHash(anyString())).thenReturn(false);
-        when(mutantDetector.isMutant(any())).thenReturn(false);
-        when(dnaRecordRepository.save(any())).thenReturn(new DnaRecord());
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(false);
 
         boolean result = dnaService.verifyAndSave(dna);
 
         assertFalse(result);
-        verify(dnaRecordRepository).save(any(DnaRecord.class));
+        verify(dnaRecordBatchRepository).insertIfAbsent(any(DnaRecord.class));
         verify(dnaEventPublisher).publish(any(DnaVerifiedEvent.class));
     }
 
     @Test
     void shouldReturnCachedResultForDuplicateDna() {
         String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
-        DnaRecord existingRecord = new DnaRecord();
-        existingRecord.setIsMutant(true);
 
-        when(dnaRecordRepository.existsByDnaHash(anyString())).thenReturn(true);
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(existingRecord));
+        when(dnaRecordRepository.findVerdictByDnaHash(any())).thenReturn(Optional.of(verdict(DnaHashUtil.hash(dna), true)));
 
         boolean result = dnaService.verifyAndSave(dna);
 
         assertTrue(result);
-        verify(mutantDetector, never()).isMutant(any());
-        verify(dnaRecordRepository, never()).save(any());
+        verify(mutantDetector, never()).isMutant(any(DnaMatrix.class), anyString());
+        verify(dnaRecordBatchRepository, never()).insertIfAbsent(any());
         verify(dnaEventPublisher, never()).publish(any());
     }
 
     @Test
     void shouldNotPublishEventForDuplicateDna() {
         String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
-        DnaRecord existingRecord = new DnaRecord();
-        existingRecord.setIsMutant(true);
 
-        when(dnaRecordRepository.existsByDnaHash(anyString())).thenReturn(true);
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(existingRecord));
+        when(dnaRecordRepository.findVerdictByDnaHash(any())).thenReturn(Optional.of(verdict(DnaHashUtil.hash(dna), true)));
 
         // Call twice
         dnaService.verifyAndSave(dna);
@@ -99,11 +143,149 @@ class DnaServiceTest {
         verify(dnaEventPublisher, never()).publish(any());
     }
 
+    @Test
+    void shouldCountDedupHitsAndMisses() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        dnaService.verifyAndSave(dna);
+        dnaService.verifyAndSave(dna);
+
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "hit").counter().count());
+        assertEquals(12.0, meterRegistry.get("dna.matrix.size").summary().totalAmount());
+    }
+
+    @Test
+    void shouldTimeEachStageOfNewVerification() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(false);
+
+        dnaService.verifyAndSave(dna);
+
+        for (String stage : List.of("validation", "hash", "lookup", "detection", "save", "publish")) {
+            assertEquals(1, meterRegistry.get("dna.verify.stage").tag("stage", stage).timer().count(), stage);
+        }
+    }
+
+    @Test
+    void shouldDeduplicateSeparatelyPerRule() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DetectionRule strict = new DetectionRule(5, 3);
+
+        when(mutantDetector.rule("strict")).thenReturn(strict);
+        when(mutantDetector.isMutant(any(DnaMatrix.class), eq("strict"))).thenReturn(false);
+
+        boolean result = dnaService.verifyAndSave(dna, "strict");
+
+        assertFalse(result);
+        verify(dnaRecordRepository).findVerdictByDnaHash(DnaHashUtil.hash(dna, strict));
+        verify(dnaRecordRepository, never()).findVerdictByDnaHash(DnaHashUtil.hash(dna));
+        verify(dnaRecordBatchRepository).insertIfAbsent(any(DnaRecord.class));
+    }
+
+    @Test
+    void shouldHashAndStorePackedMatrixLikeStringArray() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        dnaService.verifyAndSave(DnaMatrix.of(dna), "default");
+
+        verify(dnaRecordRepository).findVerdictByDnaHash(DnaHashUtil.hash(dna));
+        verify(dnaRecordBatchRepository).insertIfAbsent(argThat(record ->
+            record.getDnaSequence().equals(DnaHashUtil.dnaToString(dna))));
+    }
+
+    @Test
+    void shouldVerifyBatchAndReturnVerdictsInRequestOrder() {
+        DnaMatrix mutant = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+        DnaMatrix human = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of());
+        when(mutantDetector.isMutant(mutant, "default")).thenReturn(true);
+        when(mutantDetector.isMutant(human, "default")).thenReturn(false);
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(human, mutant), "default");
+
+        assertEquals(List.of(false, true), verdicts);
+        verify(dnaRecordRepository).findVerdictsByDnaHashIn(argThat(hashes -> hashes.size() == 2));
+        verify(dnaRecordBatchRepository).insertAll(argThat(records -> records.size() == 2));
+        verify(dnaEventPublisher).publishAll(argThat(events -> events.size() == 2));
+        verify(dnaRecordBatchRepository, never()).insertIfAbsent(any());
+        verify(dnaEventPublisher, never()).publish(any());
+    }
+
+    @Test
+    void shouldTimeEachStageOfBatchOnce() {
+        DnaMatrix mutant = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+        DnaMatrix human = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of());
+        when(mutantDetector.isMutant(mutant, "default")).thenReturn(true);
+        when(mutantDetector.isMutant(human, "default")).thenReturn(false);
+
+        dnaService.verifyAndSaveAll(List.of(human, mutant), "default");
+
+        for (String stage : List.of("hash", "shared-lookup", "lookup", "detection", "save", "publish")) {
+            assertEquals(1, meterRegistry.get("dna.verify.stage").tag("stage", stage).timer().count(), stage);
+        }
+    }
+
+    @Test
+    void shouldReuseStoredVerdictsInBatch() {
+        String[] known = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix fresh = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of(verdict(DnaHashUtil.hash(known), true)));
+        when(mutantDetector.isMutant(fresh, "default")).thenReturn(false);
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(known), fresh), "default");
+
+        assertEquals(List.of(true, false), verdicts);
+        verify(mutantDetector, times(1)).isMutant(any(DnaMatrix.class), anyString());
+        verify(dnaRecordBatchRepository).insertAll(argThat(records ->
+            records.size() == 1 && records.get(0).getDnaHash().equals(DnaHashUtil.hash(fresh, DetectionRule.DEFAULT))));
+        verify(dnaEventPublisher).publishAll(argThat(events -> events.size() == 1 && !events.get(0).isMutant()));
+    }
+
+    @Test
+    void shouldVerifyRepeatedDnaInBatchOnce() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of());
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(
+            List.of(DnaMatrix.of(dna), DnaMatrix.of(dna), DnaMatrix.of(dna)), "default");
+
+        assertEquals(List.of(true, true, true), verdicts);
+        verify(mutantDetector, times(1)).isMutant(any(DnaMatrix.class), anyString());
+        verify(dnaRecordBatchRepository).insertAll(argThat(records -> records.size() == 1));
+        verify(dnaEventPublisher).publishAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void shouldNotWriteOrPublishWhenWholeBatchIsKnown() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of(verdict(DnaHashUtil.hash(dna), true)));
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(dna)), "default");
+
+        assertEquals(List.of(true), verdicts);
+        verify(mutantDetector, never()).isMutant(any(DnaMatrix.class), anyString());
+        verify(dnaRecordBatchRepository, never()).insertAll(any());
+        verify(dnaEventPublisher, never()).publishAll(any());
+    }
+
     @Test
     void shouldGetCachedResultReturnsNullWhenNotFound() {
         String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
 
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordRepository.findByDnaHash(any())).thenReturn(Optional.empty());
 
         Boolean result = dnaService.getCachedResult(dna);
 
@@ -116,10 +298,470 @@ class DnaServiceTest {
         DnaRecord record = new DnaRecord();
         record.setIsMutant(true);
 
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(record));
+        when(dnaRecordRepository.findByDnaHash(any())).thenReturn(Optional.of(record));
 
         Boolean result = dnaService.getCachedResult(dna);
 
         assertTrue(result);
     }
+
+    @Test
+    void shouldKeyByFingerprintAndVerifyStoredSequence() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+        DnaRecord existingRecord = new DnaRecord(fingerprint, DnaHashUtil.dnaToString(dna), true);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        when(dnaRecordRepository.findByDnaHash(fingerprint)).thenReturn(Optional.of(existingRecord));
+
+        boolean result = dnaService.verifyAndSave(matrix, "default");
+
+        assertTrue(result);
+        verify(dnaRecordRepository, never()).findByDnaHash(DnaHashUtil.hash(dna));
+        verify(dnaRecordBatchRepository, never()).insertIfAbsent(any());
+        assertEquals(0.0, meterRegistry.get("dna.verify.collision").counter().count());
+    }
+
+    @Test
+    void shouldFallBackToSha256OnFingerprintCollision() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String other = "ATGCGA|CAGTGC|TTATTT|AGACGG|GCGTCA|TCACTG";
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+        DnaRecord collidingRecord = new DnaRecord(fingerprint, other, false);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        when(dnaRecordRepository.findByDnaHash(fingerprint)).thenReturn(Optional.of(collidingRecord));
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        boolean result = dnaService.verifyAndSave(matrix, "default");
+
+        assertTrue(result);
+        verify(dnaRecordBatchRepository).insertIfAbsent(argThat(record -> record.getDnaHash().equals(DnaHashUtil.hash(dna))));
+        assertEquals(1.0, meterRegistry.get("dna.verify.collision").counter().count());
+    }
+
+    @Test
+    void shouldResolveFingerprintCollisionsInBatchOneByOne() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+        DnaRecord collidingRecord = new DnaRecord(fingerprint, "ATGCGA|CAGTGC|TTATTT|AGACGG|GCGTCA|TCACTG", false);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        when(dnaRecordRepository.findAllByDnaHashIn(any())).thenReturn(List.of(collidingRecord));
+        when(dnaRecordRepository.findByDnaHash(fingerprint)).thenReturn(Optional.of(collidingRecord));
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(matrix), "default");
+
+        assertEquals(List.of(true), verdicts);
+        verify(dnaRecordBatchRepository, never()).insertAll(any());
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "miss").counter().count());
+        verify(dnaRecordBatchRepository).insertIfAbsent(argThat(record -> record.getDnaHash().equals(DnaHashUtil.hash(dna))));
+        assertEquals(1.0, meterRegistry.get("dna.verify.collision").counter().count());
+    }
+
+    @Test
+    void shouldKeyRotatedDnaLikeOriginalWhenCanonical() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        // dna transposed
+        String[] transposed = {"ACTACT", "TATGCC", "GGAACA", "CTTACC", "GGGGTT", "ACTGAG"};
+        DnaHash canonicalHash = DnaHashUtil.hash(DnaMatrix.of(dna).canonical(), DetectionRule.DEFAULT);
+
+        when(hashProperties.canonical()).thenReturn(true);
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        dnaService.verifyAndSave(DnaMatrix.of(dna), "default");
+        dnaService.verifyAndSave(DnaMatrix.of(transposed), "default");
+
+        // The transposed submission finds the verdict stored for the original
+        verify(verdictCache, times(2)).get(eq(canonicalHash), any(), any());
+        verify(dnaRecordRepository).findVerdictByDnaHash(canonicalHash);
+        verify(dnaRecordBatchRepository).insertIfAbsent(argThat(record -> record.getDnaHash().equals(canonicalHash)
+            && record.getDnaSequence().equals(DnaHashUtil.dnaToString(DnaMatrix.of(dna).canonical()))));
+    }
+
+    @Test
+    void shouldVerifyOrientationsOfOneDnaInBatchOnceWhenCanonical() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String[] flipped = {"TCACTG", "CCCCTA", "AGAAGG", "TTATGT", "CAGTGC", "ATGCGA"};
+
+        when(hashProperties.canonical()).thenReturn(true);
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of());
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(dna), DnaMatrix.of(flipped)), "default");
+
+        assertEquals(List.of(true, true), verdicts);
+        verify(mutantDetector, times(1)).isMutant(any(DnaMatrix.class), anyString());
+        verify(dnaRecordBatchRepository).insertAll(argThat(records -> records.size() == 1));
+    }
+
+    @Test
+    void shouldAnswerRepeatedDnaFromVerdictCache() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        assertTrue(dnaService.verifyAndSave(dna));
+        assertTrue(dnaService.verifyAndSave(dna));
+        assertTrue(dnaService.getCachedResult(dna));
+
+        verify(dnaRecordRepository, times(1)).findVerdictByDnaHash(any());
+        verify(dnaRecordRepository, never()).findByDnaHash(any());
+        verify(dnaRecordBatchRepository, times(1)).insertIfAbsent(any());
+        verify(dnaEventPublisher, times(1)).publish(any());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", VerdictCache.NAME).tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void shouldCacheStoredVerdictsReadInBatch() {
+        String[] known = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of(verdict(DnaHashUtil.hash(known), true)));
+
+        dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(known)), "default");
+        boolean result = dnaService.verifyAndSave(known);
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(known)), "default");
+
+        assertTrue(result);
+        assertEquals(List.of(true), verdicts);
+        verify(dnaRecordRepository, times(1)).findVerdictsByDnaHashIn(any());
+        verify(dnaRecordRepository, never()).findVerdictByDnaHash(any());
+    }
+
+    @Test
+    void shouldNotServeCachedVerdictForCollidingFingerprint() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        DnaMatrix other = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        // As if another DNA with the same fingerprint had been verified first
+        verdictCache.put(fingerprint, other, false, Algorithm.MURMUR3_128);
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        assertTrue(dnaService.verifyAndSave(matrix, "default"));
+        verify(dnaRecordRepository).findByDnaHash(fingerprint);
+    }
+
+    @Test
+    void shouldReturnOwnVerdictWithoutPublishingWhenStoredConcurrently() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+        when(dnaRecordBatchRepository.insertIfAbsent(any())).thenReturn(false);
+
+        boolean result = dnaService.verifyAndSave(dna);
+
+        assertTrue(result);
+        verify(dnaEventPublisher, never()).publish(any());
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "hit").counter().count());
+        assertEquals(0.0, meterRegistry.get("dna.verify.dedup").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void shouldReadBackFingerprintStoredConcurrently() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+        DnaRecord winner = new DnaRecord(fingerprint, DnaHashUtil.dnaToString(dna), true);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        when(dnaRecordRepository.findByDnaHash(fingerprint)).thenReturn(Optional.empty()).thenReturn(Optional.of(winner));
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+        when(dnaRecordBatchRepository.insertIfAbsent(any())).thenReturn(false);
+
+        assertTrue(dnaService.verifyAndSave(matrix, "default"));
+        verify(dnaRecordRepository, times(2)).findByDnaHash(fingerprint);
+        verify(dnaEventPublisher, never()).publish(any());
+        assertEquals(0.0, meterRegistry.get("dna.verify.collision").counter().count());
+    }
+
+    @Test
+    void shouldPublishOnlyRecordsInsertedByThisBatch() {
+        DnaMatrix mutant = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+        DnaMatrix human = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of());
+        when(mutantDetector.isMutant(mutant, "default")).thenReturn(true);
+        when(mutantDetector.isMutant(human, "default")).thenReturn(false);
+        // The human DNA was stored by a concurrent request between the lookup and the insert
+        when(dnaRecordBatchRepository.insertAll(any())).thenAnswer(invocation -> invocation.<List<DnaRecord>>getArgument(0)
+            .stream()
+            .filter(DnaRecord::getIsMutant)
+            .toList());
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(human, mutant), "default");
+
+        assertEquals(List.of(false, true), verdicts);
+        verify(dnaEventPublisher).publishAll(argThat(events -> events.size() == 1 && events.get(0).isMutant()));
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void shouldShareVerdictWithConcurrentRequestForSameDna() throws Exception {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        CountDownLatch detecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenAnswer(invocation -> {
+            detecting.countDown();
+            release.await();
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> dnaService.verifyAndSave(dna));
+            assertTrue(detecting.await(5, TimeUnit.SECONDS));
+            Thread[] follower = new Thread[1];
+            Future<Boolean> second = executor.submit(() -> {
+                follower[0] = Thread.currentThread();
+                return dnaService.verifyAndSave(dna);
+            });
+            // Release the first request only once the second is parked on it
+            while (follower[0] == null || follower[0].getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(mutantDetector, times(1)).isMutant(any(DnaMatrix.class), anyString());
+        verify(dnaRecordRepository, times(1)).findVerdictByDnaHash(any());
+        verify(dnaRecordBatchRepository, times(1)).insertIfAbsent(any());
+        verify(dnaEventPublisher, times(1)).publish(any());
+        assertEquals(1.0, meterRegistry.get("dna.verify.coalesced").counter().count());
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void shouldVerifyAgainWhenConcurrentRequestFails() throws Exception {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        CountDownLatch detecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenAnswer(invocation -> {
+            detecting.countDown();
+            release.await();
+            return true;
+        }).thenReturn(true);
+        doThrow(new IllegalStateException("connection lost")).doReturn(true)
+            .when(dnaRecordBatchRepository).insertIfAbsent(any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> dnaService.verifyAndSave(dna));
+            assertTrue(detecting.await(5, TimeUnit.SECONDS));
+            Thread[] follower = new Thread[1];
+            Future<Boolean> second = executor.submit(() -> {
+                follower[0] = Thread.currentThread();
+                return dnaService.verifyAndSave(dna);
+            });
+            while (follower[0] == null || follower[0].getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(dnaRecordBatchRepository, times(2)).insertIfAbsent(any());
+        verify(dnaEventPublisher, times(1)).publish(any());
+        assertEquals(0.0, meterRegistry.get("dna.verify.coalesced").counter().count());
+    }
+
+    @Test
+    void shouldResolveRepeatedAndCollidingBatchItemsInOwnTransaction() {
+        DnaMatrix colliding = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+        DnaMatrix storedConcurrently = DnaMatrix.of(new String[]{"TTGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+        DnaHash fingerprint = DnaHashUtil.fingerprint(colliding, DetectionRule.DEFAULT);
+        DnaHash fallback = DnaHashUtil.hash(colliding, DetectionRule.DEFAULT);
+        DnaHash concurrentFingerprint = DnaHashUtil.fingerprint(storedConcurrently, DetectionRule.DEFAULT);
+        DnaRecord collidingRecord = new DnaRecord(fingerprint, "ATGCGA|CAGTGC|TTATTT|AGACGG|GCGTCA|TCACTG", false);
+        DnaRecord winner = new DnaRecord(concurrentFingerprint, DnaHashUtil.dnaToString(storedConcurrently), false);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        when(dnaRecordRepository.findAllByDnaHashIn(any())).thenReturn(List.of(collidingRecord));
+        when(dnaRecordRepository.findByDnaHash(fingerprint)).thenReturn(Optional.of(collidingRecord));
+        when(dnaRecordRepository.findByDnaHash(concurrentFingerprint)).thenReturn(Optional.of(winner));
+        // The second copy reads back the row the first one inserted in this transaction
+        when(dnaRecordRepository.findVerdictByDnaHash(fallback))
+            .thenReturn(Optional.empty()).thenReturn(Optional.of(verdict(fallback, true)));
+        when(mutantDetector.isMutant(colliding, "default")).thenReturn(true);
+        when(mutantDetector.isMutant(storedConcurrently, "default")).thenReturn(false);
+        when(dnaRecordBatchRepository.insertAll(any())).thenReturn(List.of());
+
+        // Inside a transaction nothing commits until the batch returns, so an item waiting on its own flight would hang
+        List<Boolean> verdicts = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                return dnaService.verifyAndSaveAll(List.of(colliding, storedConcurrently, colliding), "default");
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+
+        assertEquals(List.of(true, false, true), verdicts);
+        verify(dnaRecordBatchRepository, times(1)).insertIfAbsent(argThat(record -> record.getDnaHash().equals(fallback)));
+        verify(dnaEventPublisher, times(1)).publish(any());
+        assertEquals(2.0, meterRegistry.get("dna.verify.collision").counter().count());
+        assertEquals(0.0, meterRegistry.get("dna.verify.coalesced").counter().count());
+    }
+
+    @Test
+    void shouldNotCoalesceSequentialRequests() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        doReturn(null).when(verdictCache).get(any(), any(), any());
+        when(dnaRecordRepository.findVerdictByDnaHash(any()))
+            .thenReturn(Optional.empty()).thenReturn(Optional.of(verdict(DnaHashUtil.hash(dna), true)));
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        assertTrue(dnaService.verifyAndSave(dna));
+        assertTrue(dnaService.verifyAndSave(dna));
+
+        verify(dnaRecordRepository, times(2)).findVerdictByDnaHash(any());
+        assertEquals(0.0, meterRegistry.get("dna.verify.coalesced").counter().count());
+    }
+
+    @Test
+    void shouldSkipLookupForHashFilterHasNeverSeen() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(knownHashFilter.mightContain(any())).thenReturn(false);
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        assertTrue(dnaService.verifyAndSave(dna));
+
+        verify(dnaRecordRepository, never()).findVerdictByDnaHash(any());
+        verify(dnaRecordBatchRepository).insertIfAbsent(any());
+        verify(knownHashFilter).put(DnaHashUtil.hash(dna));
+        verify(dnaEventPublisher).publish(any());
+        // Not timed: no query was sent
+        assertEquals(0, meterRegistry.get("dna.verify.stage").tag("stage", "lookup").timer().count());
+    }
+
+    @Test
+    void shouldReadBackFingerprintStoredElsewhereWhenFilterMissedIt() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+        DnaRecord storedElsewhere = new DnaRecord(fingerprint, DnaHashUtil.dnaToString(dna), true);
+
+        when(hashProperties.algorithm()).thenReturn(Algorithm.MURMUR3_128);
+        // Stored by another service after the filter was loaded
+        when(knownHashFilter.mightContain(fingerprint)).thenReturn(false, true);
+        when(dnaRecordRepository.findByDnaHash(fingerprint)).thenReturn(Optional.of(storedElsewhere));
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+        when(dnaRecordBatchRepository.insertIfAbsent(any())).thenReturn(false);
+
+        assertTrue(dnaService.verifyAndSave(matrix, "default"));
+        verify(knownHashFilter).put(fingerprint);
+        verify(dnaRecordRepository, times(1)).findByDnaHash(fingerprint);
+        verify(dnaEventPublisher, never()).publish(any());
+    }
+
+    @Test
+    void shouldLookUpOnlyHashesFilterMayHaveSeenInBatch() {
+        String[] known = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DnaMatrix fresh = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+        DnaHash freshHash = DnaHashUtil.hash(fresh, DetectionRule.DEFAULT);
+
+        when(knownHashFilter.mightContain(freshHash)).thenReturn(false);
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of(verdict(DnaHashUtil.hash(known), true)));
+        when(mutantDetector.isMutant(fresh, "default")).thenReturn(false);
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(known), fresh), "default");
+
+        assertEquals(List.of(true, false), verdicts);
+        verify(dnaRecordRepository).findVerdictsByDnaHashIn(List.of(DnaHashUtil.hash(known)));
+        verify(knownHashFilter).put(freshHash);
+    }
+
+    @Test
+    void shouldSkipBatchLookupWhenFilterHasSeenNoHash() {
+        DnaMatrix fresh = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+        when(knownHashFilter.mightContain(any())).thenReturn(false);
+        when(mutantDetector.isMutant(fresh, "default")).thenReturn(false);
+
+        assertEquals(List.of(false), dnaService.verifyAndSaveAll(List.of(fresh), "default"));
+        verify(dnaRecordRepository, never()).findVerdictsByDnaHashIn(any());
+        verify(dnaRecordBatchRepository).insertAll(argThat(records -> records.size() == 1));
+    }
+
+    @Test
+    void shouldAnswerDnaStoredElsewhereFromSharedCacheTier() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        doReturn(true).when(verdictCache).getShared(DnaHashUtil.hash(dna), Algorithm.SHA_256);
+
+        assertTrue(dnaService.verifyAndSave(dna));
+        verify(dnaRecordRepository, never()).findVerdictByDnaHash(any());
+        verify(dnaRecordBatchRepository, never()).insertIfAbsent(any());
+        verify(dnaEventPublisher, never()).publish(any());
+        assertEquals(1.0, meterRegistry.get("dna.verify.dedup").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void shouldLookUpOnlySharedTierMissesInBatch() {
+        String[] shared = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String[] stored = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+        DnaHash sharedHash = DnaHashUtil.hash(shared);
+        DnaHash storedHash = DnaHashUtil.hash(stored);
+
+        doReturn(Map.of(sharedHash, true)).when(verdictCache).getAllShared(List.of(sharedHash, storedHash), Algorithm.SHA_256);
+        when(dnaRecordRepository.findVerdictsByDnaHashIn(any())).thenReturn(List.of(verdict(storedHash, false)));
+
+        List<Boolean> verdicts = dnaService.verifyAndSaveAll(List.of(DnaMatrix.of(shared), DnaMatrix.of(stored)), "default");
+
+        assertEquals(List.of(true, false), verdicts);
+        verify(dnaRecordRepository).findVerdictsByDnaHashIn(List.of(storedHash));
+        verify(verdictCache).putAll(eq(Map.of(storedHash, false)), any(), eq(Algorithm.SHA_256));
+        verify(dnaRecordBatchRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void shouldCacheAndAnnounceNewBatchVerdictsTogether() {
+        DnaMatrix mutant = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+        DnaMatrix human = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"});
+
+        when(mutantDetector.isMutant(mutant, "default")).thenReturn(true);
+        when(mutantDetector.isMutant(human, "default")).thenReturn(false);
+
+        dnaService.verifyAndSaveAll(List.of(mutant, human), "default");
+
+        verify(verdictCache).putAllAfterCommit(eq(Map.of(DnaHashUtil.hash(mutant, DetectionRule.DEFAULT), true,
+            DnaHashUtil.hash(human, DetectionRule.DEFAULT), false)), any(), eq(Algorithm.SHA_256));
+        verify(verdictCache, never()).putAfterCommit(any(), any(), anyBoolean(), any());
+    }
+
+    private static DnaVerdict verdict(DnaHash dnaHash, boolean isMutant) {
+        return new DnaVerdict() {
+            @Override
+            public DnaHash getDnaHash() {
+                return dnaHash;
+            }
+
+            @Override
+            public Boolean getIsMutant() {
+                return isMutant;
+            }
+        };
+    }
 }
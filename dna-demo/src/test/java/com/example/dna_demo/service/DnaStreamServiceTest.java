@@ -0,0 +1,139 @@
+package com.example.dna_demo.service;
+
+import com.example.dna_demo.config.StreamProperties;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.dto.DnaMatrixDeserializer;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.validator.DnaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DnaStreamServiceTest {
+
+    private static final String MUTANT = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+    private static final String HUMAN = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}";
+
+    @Mock
+    private DnaService dnaService;
+
+    @Mock
+    private MutantDetector mutantDetector;
+
+    private DnaStreamService dnaStreamService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dnaStreamService = new DnaStreamService(dnaService, mutantDetector, JsonMapper.builder()
+            .addModule(new SimpleModule().addDeserializer(DnaMatrix.class, new DnaMatrixDeserializer(new DnaValidator(), new DnaMetrics(new SimpleMeterRegistry()))))
+            .build(),
+            new StreamProperties(2));
+        // Mutant if the third row holds the "TTATGT" vertical run of the MUTANT sample
+        when(dnaService.verifyAndSaveAll(anyList(), eq("default"))).thenAnswer(invocation -> {
+            List<DnaMatrix> matrices = invocation.getArgument(0);
+            return matrices.stream().map(matrix -> matrix.rowString(2).equals("TTATGT")).toList();
+        });
+    }
+
+    @Test
+    void shouldAnswerEveryLineInOrderOneChunkAtATime() throws Exception {
+        // Given
+        String body = String.join("\n", MUTANT, HUMAN, HUMAN, MUTANT, MUTANT) + "\n";
+
+        // When
+        List<String> lines = ingest(body);
+
+        // Then
+        assertEquals(List.of(
+            "{\"index\":0,\"mutant\":true}",
+            "{\"index\":1,\"mutant\":false}",
+            "{\"index\":2,\"mutant\":false}",
+            "{\"index\":3,\"mutant\":true}",
+            "{\"index\":4,\"mutant\":true}"), lines);
+        // Chunks of 2, 2 and 1
+        verify(dnaService, times(3)).verifyAndSaveAll(anyList(), eq("default"));
+    }
+
+    @Test
+    void shouldReportInvalidItemsAndKeepGoing() throws Exception {
+        // Given
+        String invalid = "{\"dna\":[\"ATGC\",\"CAGT\",\"TTXT\",\"AGAC\"]}";
+        String body = String.join("\n", MUTANT, invalid, "{\"dna\":null}", HUMAN);
+
+        // When
+        List<String> lines = ingest(body);
+
+        // Then
+        assertEquals(List.of(
+            "{\"index\":0,\"mutant\":true}",
+            "{\"index\":1,\"error\":\"Invalid character found in row 2. Only A, T, C, G are allowed\"}",
+            "{\"index\":2,\"error\":\"DNA sequence cannot be null\"}",
+            "{\"index\":3,\"mutant\":false}"), lines);
+    }
+
+    @Test
+    void shouldSkipRestOfRejectedItem() throws Exception {
+        // Given: the matrix is rejected before the parser reaches the trailing property
+        String body = String.join("\n",
+            "{\"dna\":[\"ATG\",\"CAG\",\"TTA\"],\"extra\":{\"nested\":[1,2]}}", HUMAN);
+
+        // When
+        List<String> lines = ingest(body);
+
+        // Then
+        assertEquals(2, lines.size());
+        assertEquals("{\"index\":0,\"error\":\"DNA matrix must be at least 4x4 to detect sequences\"}", lines.get(0));
+        assertEquals("{\"index\":1,\"mutant\":false}", lines.get(1));
+    }
+
+    @Test
+    void shouldStopAtMalformedJson() throws Exception {
+        // Given
+        String body = String.join("\n", MUTANT, "{\"dna\":[\"ATGC\"", HUMAN);
+
+        // When
+        List<String> lines = ingest(body);
+
+        // Then
+        assertEquals(List.of(
+            "{\"index\":0,\"mutant\":true}",
+            "{\"index\":1,\"error\":\"Invalid request body format\"}"), lines);
+    }
+
+    @Test
+    void shouldWriteNothingForEmptyUpload() throws Exception {
+        assertEquals(Collections.emptyList(), ingest(""));
+        verify(dnaService, never()).verifyAndSaveAll(any(), any());
+    }
+
+    @Test
+    void shouldResolveRuleSetBeforeStreaming() {
+        when(mutantDetector.rule("unknown")).thenThrow(new IllegalArgumentException("Unknown detection rule set: unknown"));
+
+        assertThrows(IllegalArgumentException.class, () -> dnaStreamService.checkRuleSet("unknown"));
+    }
+
+    private List<String> ingest(String body) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        dnaStreamService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output, "default");
+        String text = output.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+}
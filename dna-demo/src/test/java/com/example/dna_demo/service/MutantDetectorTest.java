@@ -1,14 +1,23 @@
 package com.example.dna_demo.service;
 
+import com.example.dna_demo.detector.DetectionKernel;
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DetectionSession;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.detector.FourPassKernel;
 import com.example.dna_demo.validator.DnaValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
 
 class MutantDetectorTest {
 
@@ -21,8 +30,8 @@ class MutantDetectorTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         mutantDetector = new MutantDetector(dnaValidator);
-        // Mock validator to avoid validation logic in these tests
-        doNothing().when(dnaValidator).validate(any());
+        // Mock validator to avoid validation logic in these tests, packing only
+        when(dnaValidator.validateAndEncode(any(String[].class))).thenAnswer(invocation -> DnaMatrix.of(invocation.getArgument(0)));
     }
 
     @Test
@@ -244,4 +253,93 @@ class MutantDetectorTest {
         // This should have many sequences (horizontal, vertical, diagonal)
         assertTrue(mutantDetector.isMutant(dna));
     }
+
+    @Test
+    void shouldDetectSequencesInPackedMatrixWiderThanOneWord() {
+        // Vertical GGGG in column 35 and diagonal TTTT from (30,30), both past the first 64-bit word
+        String[] dna = new String[40];
+        for (int row = 0; row < dna.length; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int col = 0; col < dna.length; col++) {
+                // (row + 2 * col) % 4 never repeats a base in any direction
+                builder.append("ACGT".charAt((row + 2 * col) % 4));
+            }
+            dna[row] = builder.toString();
+        }
+        for (int i = 0; i < 4; i++) {
+            dna[10 + i] = replaceAt(dna[10 + i], 35, 'G');
+            dna[30 + i] = replaceAt(dna[30 + i], 30 + i, 'T');
+        }
+
+        assertTrue(mutantDetector.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldReturnFalseForPackedMatrixWithSingleSequence() {
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATTT",
+            "AGACGG",
+            "GCGTCA",
+            "TCACTG"
+        };
+        dna[5] = "GGGGTG";
+
+        assertFalse(mutantDetector.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    void shouldApplySelectedRuleSet() {
+        // Two runs of four and one of five: mutant by default, not under 5/3
+        String[] dna = {
+            "AAAAAC",
+            "CGTCGT",
+            "TTTTTG",
+            "CGTCGT",
+            "GGGGCA",
+            "CATACG"
+        };
+        DetectionRule strict = new DetectionRule(5, 3);
+        MutantDetector detector = new MutantDetector(dnaValidator, new DetectionKernels(Map.<String, DetectionKernel>of(
+            DetectionKernels.DEFAULT_RULE_SET, new FourPassKernel(),
+            "strict", new FourPassKernel(strict))));
+
+        assertTrue(detector.isMutant(dna));
+        assertFalse(detector.isMutant(dna, "strict"));
+        assertEquals(strict, detector.rule("strict"));
+    }
+
+    @Test
+    void shouldRejectUnknownRuleSet() {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAA"};
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> mutantDetector.isMutant(dna, "missing"));
+
+        assertEquals("Unknown detection rule set: missing", exception.getMessage());
+    }
+
+    @Test
+    void shouldOpenSessionForSelectedRuleSet() {
+        DetectionSession session = mutantDetector.newSession(6, DetectionKernels.DEFAULT_RULE_SET);
+
+        for (String row : new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"}) {
+            session.acceptRow(row.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        assertTrue(session.finish());
+    }
+
+    @Test
+    void shouldRejectSessionForTooSmallMatrix() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> mutantDetector.newSession(3, DetectionKernels.DEFAULT_RULE_SET));
+
+        assertEquals("DNA matrix must be at least 4x4 to detect sequences", exception.getMessage());
+    }
+
+    private static String replaceAt(String row, int col, char base) {
+        return row.substring(0, col) + base + row.substring(col + 1);
+    }
 }
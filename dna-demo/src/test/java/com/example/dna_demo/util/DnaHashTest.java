@@ -0,0 +1,43 @@
+package com.example.dna_demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaHashTest {
+
+    private static final String HEX = "bc1d2c0c9c2e1044a510c7f5aa4aecf859a98e9b434539a410dc740eb76178a8";
+
+    @Test
+    void shouldRoundTripThroughHex() {
+        DnaHash hash = DnaHash.fromHex(HEX);
+
+        assertEquals(HEX, hash.toHex());
+        assertEquals(HEX, hash.toString());
+    }
+
+    @Test
+    void shouldRoundTripThroughBytes() {
+        DnaHash hash = DnaHash.fromHex(HEX);
+
+        byte[] bytes = hash.toBytes();
+
+        assertEquals(DnaHash.BYTES, bytes.length);
+        assertEquals((byte) 0xbc, bytes[0]);
+        assertEquals((byte) 0xa8, bytes[31]);
+        assertEquals(hash, DnaHash.fromBytes(bytes));
+    }
+
+    @Test
+    void shouldCompareByValue() {
+        assertEquals(DnaHash.fromHex(HEX), DnaHash.fromHex(HEX));
+        assertEquals(DnaHash.fromHex(HEX).hashCode(), DnaHash.fromHex(HEX).hashCode());
+        assertNotEquals(DnaHash.fromHex(HEX), DnaHash.fromHex(HEX.replace('a', 'b')));
+    }
+
+    @Test
+    void shouldRejectWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> DnaHash.fromBytes(new byte[31]));
+        assertThrows(IllegalArgumentException.class, () -> DnaHash.fromHex("abcd"));
+    }
+}
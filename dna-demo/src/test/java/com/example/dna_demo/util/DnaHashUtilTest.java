@@ -1,7 +1,15 @@
 package com.example.dna_demo.util;
 
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DnaHashUtilTest {
@@ -37,6 +45,108 @@ class DnaHashUtilTest {
         assertEquals(64, hash.length());
     }
 
+    @Test
+    void shouldKeepHashForDefaultRule() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        assertEquals(DnaHashUtil.generateHash(dna), DnaHashUtil.generateHash(dna, DetectionRule.DEFAULT));
+    }
+
+    @Test
+    void shouldGenerateDifferentHashForOtherRule() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        String hash1 = DnaHashUtil.generateHash(dna, DetectionRule.DEFAULT);
+        String hash2 = DnaHashUtil.generateHash(dna, new DetectionRule(5, 3));
+
+        assertNotEquals(hash1, hash2);
+    }
+
+    @Test
+    void shouldHashPackedMatrixLikeStringArray() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        DetectionRule strict = new DetectionRule(5, 3);
+
+        assertEquals(DnaHashUtil.generateHash(dna), DnaHashUtil.generateHash(DnaMatrix.of(dna), DetectionRule.DEFAULT));
+        assertEquals(DnaHashUtil.generateHash(dna, strict), DnaHashUtil.generateHash(DnaMatrix.of(dna), strict));
+    }
+
+    @Test
+    void shouldHashLikeSha256OfJoinedRows() throws Exception {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+            .digest(String.join("|", dna).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(HexFormat.of().formatHex(expected), DnaHashUtil.generateHash(dna));
+        assertEquals(DnaHash.fromBytes(expected), DnaHashUtil.hash(dna));
+    }
+
+    @Test
+    void shouldHashRowsLongerThanBufferAndAfterReuse() throws Exception {
+        String row = "ACGT".repeat(50);
+        String[] dna = new String[200];
+        java.util.Arrays.fill(dna, row);
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+            .digest(String.join("|", dna).getBytes(StandardCharsets.UTF_8));
+
+        DnaHashUtil.hash(new String[]{"ACGT", "CGTA", "GTAC", "TACG"});
+
+        assertEquals(DnaHash.fromBytes(expected), DnaHashUtil.hash(dna));
+        assertEquals(DnaHash.fromBytes(expected), DnaHashUtil.hash(DnaMatrix.of(dna), DetectionRule.DEFAULT));
+    }
+
+    @Test
+    void shouldHashNonAsciiRowsAsUtf8() throws Exception {
+        String[] dna = {"ACGT", "ÁCGT"};
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+            .digest(String.join("|", dna).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(DnaHash.fromBytes(expected), DnaHashUtil.hash(dna));
+    }
+
+    @Test
+    void shouldFingerprintLikeMurmur3OfShapeRuleAndWords() {
+        assertEquals(new DnaHash(0xe34bbc7bbc071b6cL, 0x7a433ca9c49a9347L, 0, 0),
+            murmur3(ByteBuffer.wrap("The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII))));
+
+        for (int n : new int[]{4, 6, 33, 64}) {
+            String[] dna = new String[n];
+            java.util.Arrays.fill(dna, "ACGT".repeat(n).substring(0, n));
+            DnaMatrix matrix = DnaMatrix.of(dna);
+            ByteBuffer stream = ByteBuffer.allocate((2 + matrix.wordCount()) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            stream.putLong((long) n << 32 | n).putLong(4L << 32 | 2);
+            for (int i = 0; i < matrix.wordCount(); i++) {
+                stream.putLong(matrix.word(i));
+            }
+
+            assertEquals(murmur3(stream.flip()), DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT), "n=" + n);
+        }
+    }
+
+    @Test
+    void shouldFingerprintShapeAndRuleApart() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+        DnaMatrix other = DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTT"});
+        DnaMatrix allA = DnaMatrix.of(new String[]{"AAAA", "AAAA", "AAAA", "AAAA"});
+        DnaMatrix allA5 = DnaMatrix.of(new String[]{"AAAAA", "AAAAA", "AAAAA", "AAAAA", "AAAAA"});
+        DnaHash fingerprint = DnaHashUtil.fingerprint(matrix, DetectionRule.DEFAULT);
+
+        assertEquals(fingerprint, DnaHashUtil.hash(matrix, DetectionRule.DEFAULT, DnaHashUtil.Algorithm.MURMUR3_128));
+        assertEquals(DnaHashUtil.hash(matrix, DetectionRule.DEFAULT),
+            DnaHashUtil.hash(matrix, DetectionRule.DEFAULT, DnaHashUtil.Algorithm.SHA_256));
+        assertNotEquals(fingerprint, DnaHashUtil.fingerprint(other, DetectionRule.DEFAULT));
+        assertNotEquals(fingerprint, DnaHashUtil.fingerprint(matrix, new DetectionRule(5, 3)));
+        // All-A rows pack to zero words, so only the shape tells them apart
+        assertNotEquals(DnaHashUtil.fingerprint(allA, DetectionRule.DEFAULT), DnaHashUtil.fingerprint(allA5, DetectionRule.DEFAULT));
+    }
+
+    @Test
+    void shouldConvertPackedMatrixToString() {
+        String[] dna = {"ATGC", "TGCA", "GCTA", "CATG"};
+
+        assertEquals("ATGC|TGCA|GCTA|CATG", DnaHashUtil.dnaToString(DnaMatrix.of(dna)));
+    }
+
     @Test
     void shouldConvertDnaToString() {
         String[] dna = {"ATGC", "TGCA", "GCTA", "CATG"};
@@ -64,4 +174,59 @@ class DnaHashUtilTest {
 
         assertArrayEquals(original, converted);
     }
+
+    /**
+     * Byte-at-a-time MurmurHash3 x64-128 with seed 0, as in the reference implementation.
+     */
+    private static DnaHash murmur3(ByteBuffer data) {
+        long c1 = 0x87c37b91114253d5L;
+        long c2 = 0x4cf5ad432745937fL;
+        int length = data.remaining();
+        ByteBuffer bytes = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = bytes.getLong(i * 16);
+            long k2 = bytes.getLong(i * 16 + 8);
+            h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = length - 1; i >= blocks * 16; i--) {
+            int offset = i - blocks * 16;
+            long b = bytes.get(i) & 0xFFL;
+            if (offset >= 8) {
+                k2 |= b << ((offset - 8) * 8);
+            } else {
+                k1 |= b << (offset * 8);
+            }
+        }
+        if (length % 16 > 8) {
+            h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+        }
+        if (length % 16 > 0) {
+            h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new DnaHash(h1, h2, 0, 0);
+    }
+
+    private static long fmix64(long k) {
+        k = (k ^ (k >>> 33)) * 0xff51afd7ed558ccdL;
+        k = (k ^ (k >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return k ^ (k >>> 33);
+    }
 }
@@ -0,0 +1,134 @@
+package com.example.dna_demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void shouldFindEveryAddedHash() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        Random random = new Random(1);
+        DnaHash[] added = new DnaHash[5000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = randomHash(random);
+            filter.put(added[i]);
+        }
+
+        for (DnaHash dnaHash : added) {
+            assertTrue(filter.mightContain(dnaHash));
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateWhileGrowing() {
+        double rate = 0.01;
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, rate);
+        Random random = new Random(2);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(randomHash(random));
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(randomHash(random))) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(filter.stageCount() > 1, "stages: " + filter.stageCount());
+        assertTrue(falsePositives < probes * rate, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void shouldCountHashOnce() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        DnaHash dnaHash = randomHash(new Random(3));
+
+        filter.put(dnaHash);
+        filter.put(dnaHash);
+
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void shouldRestoreFilterFromSnapshot() throws IOException {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        Random random = new Random(4);
+        DnaHash[] added = new DnaHash[1000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = randomHash(random);
+            filter.put(added[i]);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        ScalableBloomFilter restored = ScalableBloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(filter.size(), restored.size());
+        assertEquals(filter.stageCount(), restored.stageCount());
+        assertEquals(filter.bytes(), restored.bytes());
+        for (DnaHash dnaHash : added) {
+            assertTrue(restored.mightContain(dnaHash));
+        }
+        for (int i = 0; i < 1000; i++) {
+            DnaHash other = randomHash(random);
+            assertEquals(filter.mightContain(other), restored.mightContain(other));
+        }
+    }
+
+    @Test
+    void shouldRestoreKeysAddedBeforeSnapshotWhileGrowing() throws Exception {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        Random random = new Random(5);
+        DnaHash[] added = new DnaHash[1000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = randomHash(random);
+            filter.put(added[i]);
+        }
+        Thread writer = new Thread(() -> {
+            Random more = new Random(6);
+            for (int i = 0; i < 50_000; i++) {
+                filter.put(randomHash(more));
+            }
+        });
+
+        writer.start();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        writer.join();
+        ScalableBloomFilter restored = ScalableBloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        for (DnaHash dnaHash : added) {
+            assertTrue(restored.mightContain(dnaHash));
+        }
+    }
+
+    @Test
+    void shouldRejectOtherData() {
+        byte[] garbage = new byte[64];
+
+        assertThrows(IOException.class,
+            () -> ScalableBloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(garbage))));
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1000, 1));
+    }
+
+    private static DnaHash randomHash(Random random) {
+        return new DnaHash(random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dna_demo.validator;
 
+import com.example.dna_demo.detector.DnaMatrix;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -165,4 +166,60 @@ class DnaValidatorTest {
 
         assertDoesNotThrow(() -> validator.validate(dnaWithAllBases));
     }
+
+    @Test
+    void shouldReportRowIndexOfInvalidCharacter() {
+        String[] dnaWithInvalidChars = {"ATGC", "CAGT", "TTNT", "AGAC"};
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+            () -> validator.validate(dnaWithInvalidChars));
+
+        assertEquals("Invalid character found in row 2. Only A, T, C, G are allowed", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectCharactersOutsideLatin1() {
+        String[] dnaWithWideChar = {"ATGC", "CAGT", "TTAT", "AG\u0100C"};
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+            () -> validator.validate(dnaWithWideChar));
+
+        assertEquals("Invalid character found in row 3. Only A, T, C, G are allowed", exception.getMessage());
+    }
+
+    @Test
+    void shouldReportShapeErrorsBeforeInvalidCharacters() {
+        String[] dna = {"XTGC", "CAGT", "TTA", "AGAC"};
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+            () -> validator.validate(dna));
+
+        assertEquals("DNA matrix must be NxN (square)", exception.getMessage());
+    }
+
+    @Test
+    void shouldValidateAndEncodeInOnePass() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        DnaMatrix matrix = validator.validateAndEncode(dna);
+
+        assertArrayEquals(dna, matrix.toStrings());
+    }
+
+    @Test
+    void shouldValidateShapeOfPackedMatrix() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"ATGC", "CAGT", "TTAT", "AGAC"});
+
+        assertSame(matrix, validator.validateShape(matrix));
+    }
+
+    @Test
+    void shouldRejectTooSmallPackedMatrix() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"ATG", "CAG", "TTA"});
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+            () -> validator.validateShape(matrix));
+
+        assertEquals("DNA matrix must be at least 4x4 to detect sequences", exception.getMessage());
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.dna_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class DnaReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(DnaReactiveApplication.class, args);
+	}
+
+}
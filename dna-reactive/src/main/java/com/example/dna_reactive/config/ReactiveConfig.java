@@ -0,0 +1,91 @@
+package com.example.dna_reactive.config;
+
+import com.example.dna_demo.config.DetectorConfig;
+import com.example.dna_demo.config.HashConfig;
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.dto.DnaMatrixDeserializer;
+import com.example.dna_demo.event.DnaVerifiedEvent;
+import com.example.dna_demo.metrics.DnaMetrics;
+import com.example.dna_demo.service.MutantDetector;
+import com.example.dna_demo.validator.DnaValidator;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Wires the Mutant Service's detector into the reactive stack.
+ * Detection kernels and rule sets ({@code dna.detector.*}) and dedup keys ({@code dna.hash.*})
+ * are configured exactly as in dna-demo.
+ */
+@Configuration
+@Import({DetectorConfig.class, HashConfig.class})
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    public DnaValidator dnaValidator() {
+        return new DnaValidator();
+    }
+
+    /**
+     * Decodes {@code DnaRequest} rows through the validator above; as a Jackson component it is
+     * registered with the codecs' JsonMapper.
+     */
+    @Bean
+    public DnaMatrixDeserializer dnaMatrixDeserializer(DnaValidator dnaValidator, DnaMetrics dnaMetrics) {
+        return new DnaMatrixDeserializer(dnaValidator, dnaMetrics);
+    }
+
+    /**
+     * Only the {@code validation} stage is recorded here: the reactive pipeline has no other stage timers.
+     */
+    @Bean
+    public DnaMetrics dnaMetrics(MeterRegistry meterRegistry) {
+        return new DnaMetrics(meterRegistry);
+    }
+
+    @Bean
+    public MutantDetector mutantDetector(DnaValidator dnaValidator, DetectionKernels detectionKernels) {
+        return new MutantDetector(dnaValidator, detectionKernels);
+    }
+
+    /**
+     * Bounded pool for blocking JDBC calls, so they never run on event loop threads.
+     * Sized like the connection pool: more threads would only wait for a connection.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(ReactiveProperties properties) {
+        return Schedulers.newBoundedElastic(properties.jdbcThreads(), properties.jdbcQueue(), "dna-jdbc");
+    }
+
+    /**
+     * Same wire format as dna-demo's RedisTemplate, so stats-service reads the events unchanged:
+     * the event's properties, tagged with its class in {@code @class}.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, DnaVerifiedEvent> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        JsonMapper jsonMapper = JsonMapper.builder()
+            .addMixIn(DnaVerifiedEvent.class, ClassTagged.class)
+            .build();
+        RedisSerializationContext<String, DnaVerifiedEvent> context = RedisSerializationContext
+            .<String, DnaVerifiedEvent>newSerializationContext(new StringRedisSerializer())
+            .value(new JacksonJsonRedisSerializer<>(jsonMapper, DnaVerifiedEvent.class))
+            .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class")
+    private interface ClassTagged {
+    }
+}
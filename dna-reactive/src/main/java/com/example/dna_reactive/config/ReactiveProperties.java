@@ -0,0 +1,26 @@
+package com.example.dna_reactive.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Reactive pipeline settings bound from {@code dna.reactive.*}.
+ *
+ * @param jdbcThreads threads that run blocking JDBC calls; match the connection pool size
+ * @param jdbcQueue JDBC calls allowed to wait for a thread before requests are rejected with 503
+ * @param verdictTtl how long a verdict stays in the Redis dedup cache
+ */
+@ConfigurationProperties(prefix = "dna.reactive")
+public record ReactiveProperties(
+    @DefaultValue("10")
+    int jdbcThreads,
+
+    @DefaultValue("10000")
+    int jdbcQueue,
+
+    @DefaultValue("1h")
+    Duration verdictTtl
+) {
+}
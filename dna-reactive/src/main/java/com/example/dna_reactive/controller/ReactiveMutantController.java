@@ -0,0 +1,33 @@
+package com.example.dna_reactive.controller;
+
+import com.example.dna_demo.detector.DetectionKernels;
+import com.example.dna_demo.dto.DnaRequest;
+import com.example.dna_reactive.service.ReactiveDnaService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/mutant")
+@RequiredArgsConstructor
+public class ReactiveMutantController {
+
+    private final ReactiveDnaService dnaService;
+
+    @PostMapping("/")
+    public Mono<ResponseEntity<Void>> checkMutant(
+            @Valid @RequestBody DnaRequest request,
+            @RequestParam(name = "rules", defaultValue = DetectionKernels.DEFAULT_RULE_SET) String ruleSet) {
+        return dnaService.verifyAndSave(request.dna(), ruleSet)
+            .map(isMutant -> isMutant
+                ? ResponseEntity.ok().<Void>build()
+                : ResponseEntity.status(HttpStatus.FORBIDDEN).<Void>build());
+    }
+}
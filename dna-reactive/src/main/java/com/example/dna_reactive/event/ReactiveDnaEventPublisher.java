@@ -0,0 +1,38 @@
+package com.example.dna_reactive.event;
+
+import com.example.dna_demo.event.DnaVerifiedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking publisher for DNA verification events, on the same channel and in the same
+ * JSON format as dna-demo's publisher.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDnaEventPublisher {
+    private static final String DNA_EVENTS_CHANNEL = "dna-events";
+
+    private final ReactiveRedisTemplate<String, DnaVerifiedEvent> reactiveRedisTemplate;
+
+    /**
+     * Publishes a DNA verification event to Redis Pub/Sub.
+     *
+     * @param event the event to publish
+     * @return completes once Redis accepted the message, errors with "Event publishing failed" otherwise
+     */
+    public Mono<Void> publish(DnaVerifiedEvent event) {
+        return reactiveRedisTemplate.convertAndSend(DNA_EVENTS_CHANNEL, event)
+            .doOnSuccess(receivers -> log.info("Published DNA verification event - Hash: {}, Mutant: {}",
+                event.getDnaHash(), event.isMutant()))
+            .onErrorMap(e -> {
+                log.error("Failed to publish DNA event: {}", event, e);
+                return new RuntimeException("Event publishing failed", e);
+            })
+            .then();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.dna_reactive.exception;
+
+import com.example.dna_demo.exception.InvalidDnaException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Same error bodies as dna-demo, so clients can switch stacks without changes.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+            errors.put(error.getField(), error.getDefaultMessage())
+        );
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Map<String, String>> handleServerWebInput(ServerWebInputException ex) {
+        // DNA validation runs while the body is decoded, keep its message; other decoding errors stay generic
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof InvalidDnaException invalidDna) {
+                return handleIllegalArgumentException(invalidDna);
+            }
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid request body format");
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(UnsupportedMediaTypeStatusException.class)
+    public ResponseEntity<Map<String, String>> handleUnsupportedMediaType(UnsupportedMediaTypeStatusException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Content type not supported. Use application/json");
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedExecution(RejectedExecutionException ex) {
+        // The bounded JDBC queue is full: shed load instead of queueing without limit
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Service is busy, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+}
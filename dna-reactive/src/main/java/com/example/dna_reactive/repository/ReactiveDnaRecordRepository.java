@@ -0,0 +1,101 @@
+package com.example.dna_reactive.repository;
+
+import com.example.dna_demo.util.DnaHash;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Access to the {@code dna_records} table shared with dna-demo.
+ * JDBC blocks, so every call runs on the bounded {@code jdbcScheduler} instead of an event loop thread.
+ */
+@Repository
+public class ReactiveDnaRecordRepository {
+
+    private static final String FIND_VERDICT_SQL = "SELECT is_mutant FROM dna_records WHERE dna_hash = ?";
+    private static final String FIND_RECORD_SQL = "SELECT dna_sequence, is_mutant FROM dna_records WHERE dna_hash = ?";
+    // Same statement as dna-demo's DnaRecordBatchRepository, so both services insert a hash at most once
+    private static final String INSERT_IF_ABSENT_SQL = """
+        MERGE INTO dna_records r
+        USING (VALUES (CAST(? AS BINARY(32)), CAST(? AS VARCHAR), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP)))
+            AS s(dna_hash, dna_sequence, is_mutant, created_at)
+        ON r.dna_hash = s.dna_hash
+        WHEN NOT MATCHED THEN
+            INSERT (dna_hash, dna_sequence, is_mutant, created_at)
+            VALUES (s.dna_hash, s.dna_sequence, s.is_mutant, s.created_at)
+        """;
+    private static final String DELETE_SQL = "DELETE FROM dna_records WHERE dna_hash = ?";
+
+    /**
+     * Stored sequence and verdict, read for fingerprint keys so a match can be confirmed against the sequence
+     */
+    public record StoredRecord(String dnaSequence, boolean isMutant) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveDnaRecordRepository(JdbcTemplate jdbcTemplate, Scheduler jdbcScheduler) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /**
+     * Finds the stored verdict of a DNA
+     * @param dnaHash dedup key of the DNA sequence
+     * @return true if mutant, false if human, empty if never verified
+     */
+    public Mono<Boolean> findVerdict(DnaHash dnaHash) {
+        return Mono.fromCallable(() -> jdbcTemplate.query(FIND_VERDICT_SQL,
+                resultSet -> resultSet.next() ? resultSet.getBoolean(1) : null, (Object) dnaHash.toBytes()))
+            .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Finds the stored sequence and verdict of a DNA
+     * @param dnaHash dedup key of the DNA sequence
+     * @return stored record, empty if never verified
+     */
+    public Mono<StoredRecord> findRecord(DnaHash dnaHash) {
+        return Mono.fromCallable(() -> jdbcTemplate.query(FIND_RECORD_SQL,
+                resultSet -> resultSet.next() ? new StoredRecord(resultSet.getString(1), resultSet.getBoolean(2)) : null,
+                (Object) dnaHash.toBytes()))
+            .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Stores a new verdict unless its hash is already stored, by this service or dna-demo.
+     * When both insert the same new hash at once, H2 makes the second wait for the first to commit and
+     * then reports a unique violation, which means the record is stored and is reported as not inserted.
+     * @param dnaHash dedup key of the DNA sequence
+     * @param dnaSequence DNA rows joined with '|'
+     * @param isMutant verification result
+     * @return true if this call stored the record
+     */
+    public Mono<Boolean> insertIfAbsent(DnaHash dnaHash, String dnaSequence, boolean isMutant) {
+        return Mono.fromCallable(() -> {
+                try {
+                    return jdbcTemplate.update(INSERT_IF_ABSENT_SQL,
+                        dnaHash.toBytes(), dnaSequence, isMutant, Timestamp.valueOf(LocalDateTime.now())) == 1;
+                } catch (DuplicateKeyException e) {
+                    return false;
+                }
+            })
+            .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Removes a verdict whose event could not be published
+     * @param dnaHash dedup key of the DNA sequence
+     */
+    public Mono<Void> delete(DnaHash dnaHash) {
+        return Mono.fromRunnable(() -> jdbcTemplate.update(DELETE_SQL, (Object) dnaHash.toBytes()))
+            .subscribeOn(jdbcScheduler)
+            .then();
+    }
+}
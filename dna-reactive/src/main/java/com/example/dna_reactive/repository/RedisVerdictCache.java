@@ -0,0 +1,71 @@
+package com.example.dna_reactive.repository;
+
+import com.example.dna_demo.config.VerdictRedisSerializer;
+import com.example.dna_demo.event.VerdictNotice;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_reactive.config.ReactiveProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * First dedup lookup, in front of the database: verdicts by DNA hash, stored as "1" (mutant) or "0" (human).
+ * These are the keys of dna-demo's shared verdict cache tier, so verdicts cached by either service are hits for both.
+ * The cache is only an accelerator, so Redis errors and unreadable values count as misses and the database stays the source of truth.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class RedisVerdictCache {
+
+    private static final String KEY_PREFIX = "dna:verdict:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveProperties properties;
+
+    /**
+     * @param dnaHash SHA-256 key of the DNA sequence
+     * @return cached verdict, empty on a miss or if Redis is unavailable
+     */
+    public Mono<Boolean> get(DnaHash dnaHash) {
+        return redisTemplate.opsForValue().get(KEY_PREFIX + dnaHash.toHex())
+            .map(VerdictRedisSerializer.INSTANCE::decode)
+            .onErrorResume(e -> {
+                log.warn("Verdict cache read failed for hash {}: {}", dnaHash, e.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * @param dnaHash SHA-256 key of the DNA sequence
+     * @param isMutant verdict to cache
+     */
+    public Mono<Void> put(DnaHash dnaHash, boolean isMutant) {
+        return redisTemplate.opsForValue().set(KEY_PREFIX + dnaHash.toHex(), isMutant ? "1" : "0", properties.verdictTtl())
+            .onErrorResume(e -> {
+                log.warn("Verdict cache write failed for hash {}: {}", dnaHash, e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Drops a verdict whose record was removed, here and from dna-demo's in-heap caches.
+     *
+     * @param dnaHash SHA-256 key of the DNA sequence
+     */
+    public Mono<Void> evict(DnaHash dnaHash) {
+        return redisTemplate.delete(KEY_PREFIX + dnaHash.toHex())
+            .then(redisTemplate.convertAndSend(VerdictNotice.CHANNEL,
+                VerdictNotice.encode(List.of(VerdictNotice.invalidation(dnaHash)))))
+            .onErrorResume(e -> {
+                log.warn("Verdict cache eviction failed for hash {}: {}", dnaHash, e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.dna_reactive.service;
+
+import com.example.dna_demo.config.HashProperties;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.event.DnaVerifiedEvent;
+import com.example.dna_demo.service.MutantDetector;
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+import com.example.dna_demo.util.DnaKey;
+import com.example.dna_reactive.event.ReactiveDnaEventPublisher;
+import com.example.dna_reactive.repository.ReactiveDnaRecordRepository;
+import com.example.dna_reactive.repository.RedisVerdictCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of dna-demo's {@code DnaService}, with the same idempotency:
+ * each DNA (per rule) is stored and published once, and known DNA returns its stored verdict.
+ * Dedup keys follow the same {@code dna.hash.*} settings, so both services find each other's records.
+ *
+ * No step holds a thread while waiting: Redis calls are asynchronous, hashing and detection run on
+ * the CPU-bound parallel scheduler, and JDBC calls on the bounded JDBC scheduler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDnaService {
+
+    private final MutantDetector mutantDetector;
+    private final ReactiveDnaRecordRepository dnaRecordRepository;
+    private final RedisVerdictCache verdictCache;
+    private final ReactiveDnaEventPublisher dnaEventPublisher;
+    private final HashProperties hashProperties;
+
+    /**
+     * Verifies a DNA matrix under a named rule set and saves the result.
+     *
+     * @param matrix Packed DNA matrix
+     * @param ruleSet Configured rule set name
+     * @return true if mutant, false if human; errors with IllegalArgumentException for an unknown rule set
+     */
+    public Mono<Boolean> verifyAndSave(DnaMatrix matrix, String ruleSet) {
+        Algorithm algorithm = hashProperties.algorithm();
+        return Mono.fromCallable(() -> mutantDetector.rule(ruleSet))
+            .flatMap(rule -> Mono.fromCallable(() -> DnaKey.of(matrix, rule, algorithm, hashProperties.canonical()))
+                .subscribeOn(Schedulers.parallel())
+                .flatMap(key -> verify(key, rule, ruleSet, algorithm)));
+    }
+
+    private Mono<Boolean> verify(DnaKey key, DetectionRule rule, String ruleSet, Algorithm algorithm) {
+        if (algorithm.verifiesSequence()) {
+            // Redis holds no sequence to confirm a fingerprint against, so, as in dna-demo, only the database answers
+            return storedOrNewFingerprint(key, rule, ruleSet);
+        }
+        return verdictCache.get(key.hash())
+            .switchIfEmpty(Mono.defer(() -> storedOrNewVerdict(key, rule, ruleSet)));
+    }
+
+    private Mono<Boolean> storedOrNewVerdict(DnaKey key, DetectionRule rule, String ruleSet) {
+        DnaHash dnaHash = key.hash();
+        return dnaRecordRepository.findVerdict(dnaHash)
+            .doOnNext(isMutant -> log.debug("DNA already verified, returning stored result for hash: {}", dnaHash))
+            .switchIfEmpty(Mono.defer(() -> verifyNew(key, rule, ruleSet, Algorithm.SHA_256)))
+            .flatMap(isMutant -> verdictCache.put(dnaHash, isMutant).thenReturn(isMutant));
+    }
+
+    private Mono<Boolean> storedOrNewFingerprint(DnaKey key, DetectionRule rule, String ruleSet) {
+        return dnaRecordRepository.findRecord(key.hash())
+            .flatMap(stored -> {
+                if (key.matrix().matchesSequence(stored.dnaSequence())) {
+                    return Mono.just(stored.isMutant());
+                }
+                // Another DNA owns this fingerprint: key this one by SHA-256 instead, as dna-demo does
+                log.warn("Fingerprint collision on hash {}, falling back to SHA-256", key.hash());
+                return Mono.fromCallable(() -> new DnaKey(key.matrix(), DnaHashUtil.hash(key.matrix(), rule)))
+                    .subscribeOn(Schedulers.parallel())
+                    .flatMap(fallback -> verify(fallback, rule, ruleSet, Algorithm.SHA_256));
+            })
+            .switchIfEmpty(Mono.defer(() -> verifyNew(key, rule, ruleSet, Algorithm.MURMUR3_128)));
+    }
+
+    private Mono<Boolean> verifyNew(DnaKey key, DetectionRule rule, String ruleSet, Algorithm algorithm) {
+        DnaHash dnaHash = key.hash();
+        return Mono.fromCallable(() -> mutantDetector.isMutant(key.matrix(), ruleSet))
+            .subscribeOn(Schedulers.parallel())
+            .flatMap(isMutant -> {
+                log.info("DNA verification result - Mutant: {}, Rule: {}, Hash: {}", isMutant, rule, dnaHash);
+                return dnaRecordRepository.insertIfAbsent(dnaHash, DnaHashUtil.dnaToString(key.matrix()), isMutant)
+                    .flatMap(inserted -> {
+                        if (inserted) {
+                            return publish(dnaHash, isMutant).thenReturn(isMutant);
+                        }
+                        if (algorithm.verifiesSequence()) {
+                            // Read the winner back: the same DNA is a hit, another DNA a collision
+                            return storedOrNewFingerprint(key, rule, ruleSet);
+                        }
+                        // Stored concurrently: its (identical) verdict stands, and the request that stored it publishes
+                        log.debug("DNA stored concurrently, skipping event for hash: {}", dnaHash);
+                        return Mono.just(isMutant);
+                    });
+            });
+    }
+
+    private Mono<Void> publish(DnaHash dnaHash, boolean isMutant) {
+        // Without a transaction spanning the publish, undo the insert so a retry publishes again;
+        // dna-demo may have cached the row in the meantime, so its copies are dropped too
+        return dnaEventPublisher.publish(new DnaVerifiedEvent(dnaHash.toHex(), isMutant))
+            .onErrorResume(e -> dnaRecordRepository.delete(dnaHash)
+                .then(verdictCache.evict(dnaHash))
+                .then(Mono.error(e)));
+    }
+}
@@ -0,0 +1,9 @@
+-- dna_records as migrated by dna-demo's Flyway scripts
+CREATE TABLE IF NOT EXISTS dna_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    dna_sequence TEXT NOT NULL,
+    is_mutant BOOLEAN NOT NULL,
+    dna_hash BINARY(32) NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_dna_hash ON dna_records (dna_hash);
@@ -0,0 +1,48 @@
+package com.example.dna_reactive.config;
+
+import com.example.dna_demo.event.DnaVerifiedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReactiveConfigTest {
+
+    private final ReactiveRedisTemplate<String, DnaVerifiedEvent> template =
+        new ReactiveConfig().reactiveRedisTemplate(mock(ReactiveRedisConnectionFactory.class));
+
+    @Test
+    void shouldWriteEventsInDnaDemoFormat() {
+        // When
+        ByteBuffer body = template.getSerializationContext().getValueSerializationPair()
+            .write(new DnaVerifiedEvent("abc123", true, 42L));
+
+        // Then: the properties GenericJackson2JsonRedisSerializer writes in dna-demo, tagged with the class
+        JsonNode json = JsonMapper.builder().build().readTree(StandardCharsets.UTF_8.decode(body).toString());
+        assertEquals(DnaVerifiedEvent.class.getName(), json.get("@class").asString());
+        assertEquals("abc123", json.get("dnaHash").asString());
+        assertTrue(json.get("mutant").asBoolean());
+        assertEquals(42L, json.get("timestamp").asLong());
+        assertEquals(4, json.size());
+    }
+
+    @Test
+    void shouldReadEventsBack() {
+        // Given
+        DnaVerifiedEvent event = new DnaVerifiedEvent("abc123", false, 42L);
+
+        // When
+        DnaVerifiedEvent read = template.getSerializationContext().getValueSerializationPair()
+            .read(template.getSerializationContext().getValueSerializationPair().write(event));
+
+        // Then
+        assertEquals(event, read);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.dna_reactive.repository;
+
+import com.example.dna_demo.util.DnaHash;
+import com.example.dna_demo.util.DnaHashUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveDnaRecordRepositoryTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+    private JdbcTemplate jdbcTemplate;
+    private ReactiveDnaRecordRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+            CREATE TABLE dna_records (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                created_at TIMESTAMP(6) NOT NULL,
+                dna_sequence TEXT NOT NULL,
+                is_mutant BOOLEAN NOT NULL,
+                dna_hash BINARY(32) NOT NULL)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_dna_hash ON dna_records (dna_hash)");
+        repository = new ReactiveDnaRecordRepository(jdbcTemplate, Schedulers.immediate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldInsertOnlyFirstRecordForHash() {
+        // Given
+        DnaHash dnaHash = DnaHashUtil.hash(MUTANT);
+        String sequence = DnaHashUtil.dnaToString(MUTANT);
+
+        // When / Then: the second insert of a stored hash is reported, not thrown
+        StepVerifier.create(repository.insertIfAbsent(dnaHash, sequence, true))
+            .expectNext(true)
+            .verifyComplete();
+        StepVerifier.create(repository.insertIfAbsent(dnaHash, sequence, false))
+            .expectNext(false)
+            .verifyComplete();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Integer.class));
+        StepVerifier.create(repository.findVerdict(dnaHash))
+            .expectNext(true)
+            .verifyComplete();
+    }
+}
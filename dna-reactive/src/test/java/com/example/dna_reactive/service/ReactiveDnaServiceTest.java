@@ -0,0 +1,209 @@
+package com.example.dna_reactive.service;
+
+import com.example.dna_demo.config.HashProperties;
+import com.example.dna_demo.detector.DetectionRule;
+import com.example.dna_demo.detector.DnaMatrix;
+import com.example.dna_demo.event.DnaVerifiedEvent;
+import com.example.dna_demo.service.MutantDetector;
+import com.example.dna_demo.util.DnaHashUtil;
+import com.example.dna_demo.util.DnaHashUtil.Algorithm;
+import com.example.dna_demo.util.DnaKey;
+import com.example.dna_reactive.event.ReactiveDnaEventPublisher;
+import com.example.dna_reactive.repository.ReactiveDnaRecordRepository;
+import com.example.dna_reactive.repository.ReactiveDnaRecordRepository.StoredRecord;
+import com.example.dna_reactive.repository.RedisVerdictCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveDnaServiceTest {
+
+    private static final DnaMatrix MUTANT_DNA =
+        DnaMatrix.of(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"});
+
+    @Mock
+    private MutantDetector mutantDetector;
+
+    @Mock
+    private ReactiveDnaRecordRepository dnaRecordRepository;
+
+    @Mock
+    private RedisVerdictCache verdictCache;
+
+    @Mock
+    private ReactiveDnaEventPublisher dnaEventPublisher;
+
+    private ReactiveDnaService dnaService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dnaService = service(Algorithm.SHA_256, false);
+        when(mutantDetector.rule(anyString())).thenReturn(DetectionRule.DEFAULT);
+        when(verdictCache.get(any())).thenReturn(Mono.empty());
+        when(verdictCache.put(any(), anyBoolean())).thenReturn(Mono.empty());
+        when(dnaRecordRepository.findVerdict(any())).thenReturn(Mono.empty());
+        when(dnaRecordRepository.findRecord(any())).thenReturn(Mono.empty());
+        when(dnaRecordRepository.insertIfAbsent(any(), anyString(), anyBoolean())).thenReturn(Mono.just(true));
+        when(dnaRecordRepository.delete(any())).thenReturn(Mono.empty());
+        when(verdictCache.evict(any())).thenReturn(Mono.empty());
+        when(dnaEventPublisher.publish(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void shouldSaveNewDnaPublishEventAndCacheVerdict() {
+        // Given
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(dnaRecordRepository).insertIfAbsent(any(), eq("ATGCGA|CAGTGC|TTATGT|AGAAGG|CCCCTA|TCACTG"), eq(true));
+        verify(dnaEventPublisher).publish(any(DnaVerifiedEvent.class));
+        verify(verdictCache).put(any(), eq(true));
+    }
+
+    @Test
+    void shouldReturnCachedVerdictWithoutTouchingDatabase() {
+        // Given
+        when(verdictCache.get(any())).thenReturn(Mono.just(false));
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectNext(false)
+            .verifyComplete();
+
+        verifyNoInteractions(dnaRecordRepository, dnaEventPublisher);
+        verify(mutantDetector, never()).isMutant(any(DnaMatrix.class), anyString());
+    }
+
+    @Test
+    void shouldReturnStoredVerdictAndRefillCache() {
+        // Given
+        when(dnaRecordRepository.findVerdict(any())).thenReturn(Mono.just(true));
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(dnaRecordRepository, never()).insertIfAbsent(any(), anyString(), anyBoolean());
+        verify(dnaEventPublisher, never()).publish(any());
+        verify(verdictCache).put(any(), eq(true));
+    }
+
+    @Test
+    void shouldReturnOwnVerdictWithoutPublishingWhenStoredConcurrently() {
+        // Given: dna-demo or another request stored the same DNA between the lookup and the insert
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+        when(dnaRecordRepository.insertIfAbsent(any(), anyString(), anyBoolean())).thenReturn(Mono.just(false));
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(dnaEventPublisher, never()).publish(any());
+        verify(dnaRecordRepository, never()).delete(any());
+        verify(verdictCache).put(any(), eq(true));
+    }
+
+    @Test
+    void shouldDeleteRecordWhenPublishingFails() {
+        // Given
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+        when(dnaEventPublisher.publish(any()))
+            .thenReturn(Mono.error(new RuntimeException("Event publishing failed")));
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectErrorMessage("Event publishing failed")
+            .verify();
+
+        verify(dnaRecordRepository).delete(any());
+        verify(verdictCache).evict(any());
+        verify(verdictCache, never()).put(any(), anyBoolean());
+    }
+
+    @Test
+    void shouldFailForUnknownRuleSet() {
+        // Given
+        when(mutantDetector.rule("unknown")).thenThrow(new IllegalArgumentException("Unknown rule set: unknown"));
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "unknown"))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        verifyNoInteractions(verdictCache, dnaRecordRepository, dnaEventPublisher);
+    }
+
+    @Test
+    void shouldKeyCanonicalOrientationLikeDnaDemo() {
+        // Given
+        dnaService = service(Algorithm.SHA_256, true);
+        DnaMatrix transposed = DnaMatrix.of(new String[]{"ACTACT", "TATGCC", "GGAACA", "CTTACC", "GGGGTT", "ACTGAG"});
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(transposed, "default"))
+            .expectNext(true)
+            .verifyComplete();
+
+        DnaKey expected = DnaKey.of(MUTANT_DNA, DetectionRule.DEFAULT, Algorithm.SHA_256, true);
+        verify(dnaRecordRepository).insertIfAbsent(eq(expected.hash()), eq(DnaHashUtil.dnaToString(expected.matrix())), eq(true));
+        verify(verdictCache).put(expected.hash(), true);
+    }
+
+    @Test
+    void shouldReturnStoredVerdictForConfirmedFingerprintWithoutRedis() {
+        // Given
+        dnaService = service(Algorithm.MURMUR3_128, false);
+        DnaKey key = DnaKey.of(MUTANT_DNA, DetectionRule.DEFAULT, Algorithm.MURMUR3_128, false);
+        when(dnaRecordRepository.findRecord(key.hash()))
+            .thenReturn(Mono.just(new StoredRecord(DnaHashUtil.dnaToString(MUTANT_DNA), true)));
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectNext(true)
+            .verifyComplete();
+
+        verifyNoInteractions(verdictCache, dnaEventPublisher);
+        verify(dnaRecordRepository, never()).insertIfAbsent(any(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void shouldFallBackToSha256OnFingerprintCollision() {
+        // Given: the fingerprint is stored for another DNA
+        dnaService = service(Algorithm.MURMUR3_128, false);
+        DnaKey key = DnaKey.of(MUTANT_DNA, DetectionRule.DEFAULT, Algorithm.MURMUR3_128, false);
+        when(dnaRecordRepository.findRecord(key.hash()))
+            .thenReturn(Mono.just(new StoredRecord("AAAAAA|AAAAAA|AAAAAA|AAAAAA|AAAAAA|AAAAAA", false)));
+        when(mutantDetector.isMutant(any(DnaMatrix.class), anyString())).thenReturn(true);
+
+        // When / Then
+        StepVerifier.create(dnaService.verifyAndSave(MUTANT_DNA, "default"))
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(dnaRecordRepository).insertIfAbsent(eq(DnaHashUtil.hash(MUTANT_DNA, DetectionRule.DEFAULT)), anyString(), eq(true));
+        verify(dnaRecordRepository, never()).insertIfAbsent(eq(key.hash()), anyString(), anyBoolean());
+        verify(dnaEventPublisher).publish(any(DnaVerifiedEvent.class));
+    }
+
+    private ReactiveDnaService service(Algorithm algorithm, boolean canonical) {
+        return new ReactiveDnaService(mutantDetector, dnaRecordRepository, verdictCache, dnaEventPublisher,
+            new HashProperties(algorithm, canonical));
+    }
+}
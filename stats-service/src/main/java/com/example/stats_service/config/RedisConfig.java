@@ -1,9 +1,12 @@
 package com.example.stats_service.config;
 
 import com.example.stats_service.event.DnaEventSubscriber;
+import org.springframework.boot.thread.Threading;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -11,7 +14,6 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -46,8 +48,9 @@ public class RedisConfig {
             .serializeKeysWith(
                 RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
             )
+            // Cached values are stats, 25 bytes each
             .serializeValuesWith(
-                RedisSerializationContext.SerializationPair.fromSerializer(new JdkSerializationRedisSerializer())
+                RedisSerializationContext.SerializationPair.fromSerializer(StatsResponseRedisSerializer.INSTANCE)
             )
             .disableCachingNullValues();
 
@@ -59,14 +62,22 @@ public class RedisConfig {
     /**
      * Message listener container for subscribing to DNA verification events.
      * Listens to the "dna-events" channel and routes messages to the subscriber.
+     * With spring.threads.virtual.enabled (Java 21+) each message is handled on a virtual thread,
+     * so listeners blocked on the database do not hold platform threads.
      */
     @Bean
     public RedisMessageListenerContainer messageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            DnaEventSubscriber subscriber) {
+            DnaEventSubscriber subscriber,
+            Environment environment) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         container.addMessageListener(subscriber, new ChannelTopic("dna-events"));
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dna-events-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
         return container;
     }
 }
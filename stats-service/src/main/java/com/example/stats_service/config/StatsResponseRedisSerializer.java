@@ -0,0 +1,56 @@
+package com.example.stats_service.config;
+
+import com.example.stats_service.dto.StatsResponse;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Redis value codec for cached {@link StatsResponse}: a version byte, then the mutant and human counts
+ * as 8-byte longs and the ratio as an 8-byte double, big-endian - 25 bytes, where JDK serialization takes
+ * 129 and ties the payload to the class layout.
+ *
+ * Values of another version, including JDK-serialized ones cached before this codec, read as null,
+ * which the cache treats as a miss: the stats are recomputed and cached again in the current version.
+ */
+public final class StatsResponseRedisSerializer implements RedisSerializer<StatsResponse> {
+
+    public static final StatsResponseRedisSerializer INSTANCE = new StatsResponseRedisSerializer();
+
+    static final byte VERSION = 1;
+    static final int BYTES = 1 + 3 * Long.BYTES;
+
+    private StatsResponseRedisSerializer() {
+    }
+
+    @Override
+    public byte[] serialize(StatsResponse stats) {
+        if (stats == null) {
+            return new byte[0];
+        }
+        return ByteBuffer.allocate(BYTES)
+            .put(VERSION)
+            .putLong(stats.countMutantDna())
+            .putLong(stats.countHumanDna())
+            .putDouble(stats.ratio())
+            .array();
+    }
+
+    @Override
+    public StatsResponse deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != VERSION) {
+            return null;
+        }
+        if (bytes.length != BYTES) {
+            throw new SerializationException("Cached stats must be " + BYTES + " bytes, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, BYTES - 1);
+        return new StatsResponse(buffer.getLong(), buffer.getLong(), buffer.getDouble());
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return StatsResponse.class;
+    }
+}
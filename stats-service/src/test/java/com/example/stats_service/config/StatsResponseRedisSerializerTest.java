@@ -0,0 +1,60 @@
+package com.example.stats_service.config;
+
+import com.example.stats_service.dto.StatsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsResponseRedisSerializerTest {
+
+    private final StatsResponseRedisSerializer serializer = StatsResponseRedisSerializer.INSTANCE;
+
+    @Test
+    void shouldReadBackWhatItWrote() {
+        // Given
+        StatsResponse stats = new StatsResponse(40, 100, 0.4);
+
+        // When
+        byte[] bytes = serializer.serialize(stats);
+
+        // Then
+        assertEquals(25, bytes.length);
+        assertEquals(StatsResponseRedisSerializer.VERSION, bytes[0]);
+        assertEquals(stats, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldKeepExtremeValues() {
+        // Given
+        StatsResponse stats = new StatsResponse(Long.MAX_VALUE, 0, Double.MIN_VALUE);
+
+        // When / Then
+        assertEquals(stats, serializer.deserialize(serializer.serialize(stats)));
+    }
+
+    @Test
+    void shouldReadOtherVersionsAsMiss() {
+        // Given: an entry cached with JDK serialization, and one from a later version of this codec
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(new StatsResponse(40, 100, 0.4));
+        byte[] later = serializer.serialize(new StatsResponse(40, 100, 0.4));
+        later[0] = StatsResponseRedisSerializer.VERSION + 1;
+
+        // When / Then
+        assertNull(serializer.deserialize(jdk));
+        assertNull(serializer.deserialize(later));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void shouldRejectTruncatedValue() {
+        // Given
+        byte[] bytes = serializer.serialize(new StatsResponse(40, 100, 0.4));
+
+        // When / Then
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 17)));
+    }
+}